@@ -0,0 +1,151 @@
+package ee.bitweb.core.api;
+
+import ee.bitweb.core.audit.AuditLogBenchmarkFixtures;
+import ee.bitweb.core.audit.AuditLogFilter;
+import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.client_ip.ClientIpFilter;
+import ee.bitweb.core.client_ip.ClientIpResolver;
+import ee.bitweb.core.client_ip.TrustedProxies;
+import ee.bitweb.core.exception.persistence.EntityNotFoundException;
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import ee.bitweb.core.trace.creator.TraceIdCreatorImpl;
+import ee.bitweb.core.trace.invoker.InvokerTraceIdFormConfig;
+import ee.bitweb.core.trace.invoker.http.HttpServletRequestTraceIdResolver;
+import ee.bitweb.core.trace.invoker.http.TraceIdFilter;
+import ee.bitweb.core.trace.invoker.http.TraceIdFilterConfig;
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Whole servlet request path: the library filters in their production order, the dispatcher servlet, a controller and
+ * on the error path {@link ControllerAdvisor}. Scenarios add the filters one auto-configuration at a time, so the
+ * difference between two scenarios is the cost of enabling one more of them.
+ * <p>
+ * Requests are dispatched in process through {@link MockMvc} rather than over a socket, so the numbers contain the
+ * library and Spring MVC overhead without network and connector noise. Outgoing Retrofit requests are measured by
+ * {@link ee.bitweb.core.retrofit.InterceptorChainBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilterChainBenchmark {
+
+    private static final String PATH = "/api/v1/users/{id}/documents";
+
+    @Param({"none", "trace", "trace_audit", "trace_audit_body", "full"})
+    private String filters;
+
+    @Param({"ok", "error"})
+    private String outcome;
+
+    @Param({"1024"})
+    private int bodySize;
+
+    private MockMvc mockMvc;
+    private byte[] body;
+    private String id;
+
+    @Setup
+    public void setup() {
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new BenchmarkController())
+                .setControllerAdvice(new ControllerAdvisor(context, new ControllerAdvisorProperties()))
+                .addFilters(createFilters(context).toArray(new Filter[0]))
+                .build();
+        body = AuditLogBenchmarkFixtures.createBody(bodySize);
+        id = "error".equals(outcome) ? BenchmarkController.MISSING_ID : "123";
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDCTraceIdContext.standard().clear();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse perform() throws Exception {
+        return mockMvc.perform(
+                post(PATH, id)
+                        .queryParam("page", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .header("User-Agent", "benchmark")
+                        .header("X-Forwarded-For", "192.0.2.43")
+                        .with(FilterChainBenchmark::fromLoopback)
+        ).andReturn().getResponse();
+    }
+
+    private List<Filter> createFilters(MDCTraceIdContext context) {
+        List<Filter> result = new ArrayList<>();
+
+        if ("full".equals(filters)) {
+            result.add(new ClientIpFilter(new ClientIpResolver(new TrustedProxies(List.of("127.0.0.0/8"))), "client_ip"));
+        }
+
+        if (!"none".equals(filters)) {
+            TraceIdFilterConfig config = new TraceIdFilterConfig();
+
+            result.add(
+                    new TraceIdFilter(
+                            config,
+                            context,
+                            new HttpServletRequestTraceIdResolver(
+                                    config.getHeaderName(),
+                                    context,
+                                    new TraceIdCreatorImpl(new InvokerTraceIdFormConfig())
+                            )
+                    )
+            );
+        }
+
+        if (filters.startsWith("trace_audit") || "full".equals(filters)) {
+            AuditLogProperties properties = AuditLogBenchmarkFixtures.createProperties(2);
+            List<AuditLogDataMapper> mappers = AuditLogBenchmarkFixtures.createMappers(properties);
+
+            if ("trace_audit".equals(filters)) {
+                mappers = mappers.stream().filter(mapper -> !mapper.isBodyMapper()).toList();
+            }
+
+            result.add(new AuditLogFilter(properties, mappers, container -> {}));
+        }
+
+        return result;
+    }
+
+    private static MockHttpServletRequest fromLoopback(MockHttpServletRequest request) {
+        request.setRemoteAddr("127.0.0.1");
+
+        return request;
+    }
+
+    @RestController
+    static class BenchmarkController {
+
+        static final String MISSING_ID = "missing";
+
+        @PostMapping(PATH)
+        public String save(@PathVariable("id") String id, @RequestBody String body) {
+            if (MISSING_ID.equals(id)) {
+                throw new EntityNotFoundException("User", "id", id);
+            }
+
+            return body;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.audit.capture.AuditLogRequestWrapper;
+import ee.bitweb.core.audit.capture.AuditLogResponseWrapper;
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single mapper on a request that has already been processed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuditLogDataMapperBenchmark {
+
+    @Param({"forwarded", "request_headers", "method", "url", "request_body", "response_body", "response_status", "trace_id"})
+    private String mapperKey;
+
+    @Param({"0", "1024", "65536"})
+    private int bodySize;
+
+    @Param({"2", "16"})
+    private int headerCount;
+
+    private AuditLogDataMapper mapper;
+    private AuditLogRequestWrapper request;
+    private AuditLogResponseWrapper response;
+
+    @Setup
+    public void setup() throws IOException {
+        AuditLogProperties properties = AuditLogBenchmarkFixtures.createProperties(headerCount);
+        byte[] body = AuditLogBenchmarkFixtures.createBody(bodySize);
+
+        mapper = AuditLogBenchmarkFixtures.createMappers(properties)
+                .stream()
+                .filter(m -> m.getKey().equals(mapperKey))
+                .findFirst()
+                .orElseThrow();
+
+        request = new AuditLogRequestWrapper(
+                AuditLogBenchmarkFixtures.createRequest(body, headerCount),
+                (int) properties.getMaxLoggableRequestSize()
+        );
+        response = new AuditLogResponseWrapper(
+                new MockHttpServletResponse(),
+                (int) properties.getMaxLoggableResponseSize()
+        );
+
+        request.getInputStream().readAllBytes();
+        response.setContentType("application/json");
+        response.getOutputStream().write(body);
+
+        MDCTraceIdContext.standard().set(AuditLogBenchmarkFixtures.TRACE_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDCTraceIdContext.standard().clear();
+    }
+
+    @Benchmark
+    public String getValue() {
+        return mapper.getValue(request, response);
+    }
+}
@@ -0,0 +1,85 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.audit.writers.*;
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole audit pipeline: request and response wrapping, all default mappers and the writer, around a chain that reads
+ * the request body and echoes it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuditLogFilterBenchmark {
+
+    @Param({"0", "1024", "65536"})
+    private int bodySize;
+
+    @Param({"2", "16"})
+    private int headerCount;
+
+    @Param({"noop", "logger", "json"})
+    private String writer;
+
+    private AuditLogFilter filter;
+    private byte[] body;
+    private FilterChain chain;
+
+    private volatile Map<String, String> lastRecord;
+
+    @Setup
+    public void setup() {
+        AuditLogProperties properties = AuditLogBenchmarkFixtures.createProperties(headerCount);
+
+        filter = new AuditLogFilter(
+                properties,
+                AuditLogBenchmarkFixtures.createMappers(properties),
+                createWriter()
+        );
+        body = AuditLogBenchmarkFixtures.createBody(bodySize);
+        chain = (request, response) -> {
+            byte[] content = request.getInputStream().readAllBytes();
+
+            response.setContentType("application/json");
+            response.getOutputStream().write(content);
+        };
+
+        MDCTraceIdContext.standard().set(AuditLogBenchmarkFixtures.TRACE_ID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDCTraceIdContext.standard().clear();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = AuditLogBenchmarkFixtures.createRequest(body, headerCount);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        return response;
+    }
+
+    private AuditLogWriteAdapter createWriter() {
+        return switch (writer) {
+            case "logger" -> new AuditLogLoggerWriterAdapter();
+            case "json" -> new AuditLogJsonWriterAdapter(
+                    JsonMapper.builder().build(),
+                    new LoggerAuditLogJsonSink(),
+                    AuditLogJsonFormat.JSON,
+                    "benchmark"
+            );
+            default -> container -> lastRecord = container;
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.audit.mappers.*;
+import ee.bitweb.core.audit.writers.AuditLogJsonFormat;
+import ee.bitweb.core.audit.writers.AuditLogJsonWriterAdapter;
+import ee.bitweb.core.audit.writers.AuditLogLoggerWriterAdapter;
+import ee.bitweb.core.audit.writers.LoggerAuditLogJsonSink;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writer cost for a typical audit record. The logger adapter modifies the record it is given, so every invocation
+ * writes a fresh copy; {@link #copyOnly()} measures that copy on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuditLogWriterBenchmark {
+
+    @Param({"0", "1024", "10240"})
+    private int bodySize;
+
+    private final Map<String, String> template = new HashMap<>();
+
+    private AuditLogLoggerWriterAdapter loggerWriter;
+    private AuditLogJsonWriterAdapter jsonWriter;
+
+    @Setup
+    public void setup() {
+        String body = new String(AuditLogBenchmarkFixtures.createBody(bodySize), StandardCharsets.US_ASCII);
+
+        template.put(RequestForwardingDataMapper.KEY, "{\"forwarded_for\":\"192.0.2.43\"}");
+        template.put(RequestHeadersMapper.KEY, "{\"User-Agent\":\"benchmark\"}");
+        template.put(RequestMethodMapper.KEY, "POST");
+        template.put(RequestUrlDataMapper.KEY, "/api/v1/users/123/documents?page=1&size=20");
+        template.put(RequestBodyMapper.KEY, bodySize == 0 ? null : body);
+        template.put(ResponseBodyMapper.KEY, bodySize == 0 ? null : body);
+        template.put(ResponseStatusMapper.KEY, "200");
+        template.put(TraceIdMapper.KEY, AuditLogBenchmarkFixtures.TRACE_ID);
+        template.put(AuditLogFilter.DURATION_KEY, "12");
+
+        loggerWriter = new AuditLogLoggerWriterAdapter();
+        jsonWriter = new AuditLogJsonWriterAdapter(
+                JsonMapper.builder().build(),
+                new LoggerAuditLogJsonSink(),
+                AuditLogJsonFormat.JSON,
+                "benchmark"
+        );
+    }
+
+    @Benchmark
+    public Map<String, String> copyOnly() {
+        return new HashMap<>(template);
+    }
+
+    @Benchmark
+    public void loggerWriter() {
+        loggerWriter.write(new HashMap<>(template));
+    }
+
+    @Benchmark
+    public void jsonWriter() {
+        jsonWriter.write(new HashMap<>(template));
+    }
+}
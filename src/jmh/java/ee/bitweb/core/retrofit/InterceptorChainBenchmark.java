@@ -0,0 +1,116 @@
+package ee.bitweb.core.retrofit;
+
+import ee.bitweb.core.audit.AuditLogBenchmarkFixtures;
+import ee.bitweb.core.retrofit.interceptor.TraceIdInterceptor;
+import ee.bitweb.core.retrofit.interceptor.circuitbreaker.CircuitBreakerInterceptor;
+import ee.bitweb.core.retrofit.interceptor.retry.RetryInterceptor;
+import ee.bitweb.core.retrofit.logging.RetrofitLoggingInterceptorImplementation;
+import ee.bitweb.core.retrofit.logging.mappers.*;
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import ee.bitweb.core.trace.invoker.InvokerTraceIdFormConfig;
+import ee.bitweb.core.trace.invoker.http.TraceIdFilterConfig;
+import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
+import okhttp3.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outgoing request path of a Retrofit API: the library interceptors in their production order inside a real OkHttp
+ * call. Scenarios add the interceptors one auto-configuration at a time, so the difference between two scenarios is the
+ * cost of enabling one more of them.
+ * <p>
+ * The last application interceptor answers with a canned response instead of going to the network, so the numbers
+ * contain the call and interceptor overhead without socket noise. Only successful responses are measured, as the
+ * backoff of a retried failure would dominate any interceptor cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterceptorChainBenchmark {
+
+    private static final String URL = "http://localhost/api/v1/users/123/documents";
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    @Param({"none", "trace", "trace_logging", "full"})
+    private String interceptors;
+
+    @Param({"1024"})
+    private int bodySize;
+
+    private OkHttpClient client;
+    private Request request;
+
+    @Setup
+    public void setup() {
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+        context.set("benchmark-trace-id");
+
+        byte[] body = AuditLogBenchmarkFixtures.createBody(bodySize);
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+
+        if (!"none".equals(interceptors) && !"trace".equals(interceptors)) {
+            builder.addInterceptor(new RetrofitLoggingInterceptorImplementation(createMappers(), container -> {}));
+        }
+
+        if ("full".equals(interceptors)) {
+            builder.addInterceptor(new RetryInterceptor(new RetrofitProperties.Retry()));
+            builder.addInterceptor(new CircuitBreakerInterceptor(new RetrofitProperties.CircuitBreaker()));
+        }
+
+        if (!"none".equals(interceptors)) {
+            builder.addInterceptor(
+                    new TraceIdInterceptor(
+                            new TraceIdFilterConfig(),
+                            new InvokerTraceIdFormConfig(),
+                            new ThreadTraceIdFormConfig(),
+                            context
+                    )
+            );
+        }
+
+        client = builder.addInterceptor(chain -> respond(chain.request(), body)).build();
+        request = new Request.Builder().url(URL).header("User-Agent", "benchmark").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDCTraceIdContext.standard().clear();
+        client.dispatcher().executorService().shutdown();
+    }
+
+    @Benchmark
+    public String execute() throws IOException {
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+
+    private static List<RetrofitLoggingMapper> createMappers() {
+        return List.of(
+                new RetrofitRequestMethodMapper(),
+                new RetrofitRequestUrlMapper(),
+                new RetrofitRequestHeadersMapper(Set.of()),
+                new RetrofitRequestBodySizeMapper(),
+                new RetrofitRequestBodyMapper(4096, Set.of()),
+                new RetrofitResponseStatusCodeMapper(),
+                new RetrofitResponseHeadersMapper(Set.of()),
+                new RetrofitResponseBodySizeMapper(),
+                new RetrofitResponseBodyMapper(Set.of(), 4096)
+        );
+    }
+
+    private static Response respond(Request request, byte[] body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header("Content-Type", JSON.toString())
+                .body(ResponseBody.create(body, JSON))
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package ee.bitweb.core.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpForwardedHeaderParserBenchmark {
+
+    @Param({"single", "chain", "extensions"})
+    private String shape;
+
+    private String header;
+    private List<String> headers;
+
+    @Setup
+    public void setup() {
+        header = switch (shape) {
+            case "single" -> "for=192.0.2.43";
+            case "chain" -> "for=192.0.2.43;proto=https;by=203.0.113.60;host=example.com, "
+                    + "for=\"[2001:db8:cafe::17]:4711\";proto=http, for=198.51.100.17";
+            case "extensions" -> "for=192.0.2.43;proto=https;secret=\"abc\";x-region=eu-north-1, "
+                    + "for=_hidden;by=_proxy;invalid, for=198.51.100.17;ext=1";
+            default -> throw new IllegalArgumentException(shape);
+        };
+        headers = List.of(header, "for=10.0.0.1;proto=https");
+    }
+
+    @Benchmark
+    public HttpForwardedHeaderParser.ForwardedHeader parse() {
+        return HttpForwardedHeaderParser.parse(header);
+    }
+
+    @Benchmark
+    public HttpForwardedHeaderParser.ForwardedHeader parseAndMerge() {
+        return HttpForwardedHeaderParser.parse(Collections.enumeration(headers));
+    }
+}
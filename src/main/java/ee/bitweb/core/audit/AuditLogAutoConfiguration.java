@@ -2,21 +2,36 @@ package ee.bitweb.core.audit;
 
 import tools.jackson.databind.json.JsonMapper;
 import ee.bitweb.core.audit.mappers.*;
-import ee.bitweb.core.audit.writers.AuditLogLoggerWriterAdapter;
-import ee.bitweb.core.audit.writers.AuditLogWriteAdapter;
+import ee.bitweb.core.audit.metrics.AuditLogMetrics;
+import ee.bitweb.core.audit.metrics.MicrometerAuditLogMetrics;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingPolicy;
+import ee.bitweb.core.audit.sampling.RuleBasedAuditLogSamplingPolicy;
+import ee.bitweb.core.audit.writers.*;
+import ee.bitweb.core.client_ip.ClientIpResolver;
+import ee.bitweb.core.exception.CoreException;
 import ee.bitweb.core.trace.context.TraceIdContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
+/**
+ * Data mappers and the sampling policy operate on servlet requests and are only registered together with the servlet
+ * {@link AuditLogFilter}, the reactive {@link AuditLogWebFilter} depends on the writer and metrics only.
+ */
 @Slf4j
 @Configuration
 @ConditionalOnProperty(name = AuditLogProperties.PREFIX + ".auto-configuration", havingValue="true")
@@ -25,80 +40,211 @@ public class AuditLogAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public AuditLogFilter auditLogFilter(
+    public AuditLogWriteAdapter auditLogWriteAdapter(
             AuditLogProperties properties,
-            List<AuditLogDataMapper> mappers,
-            AuditLogWriteAdapter writer
+            ObjectProvider<JsonMapper> jsonMapper
     ) {
-        log.info("Registering Audit Log Filter with writer {}", writer.getClass());
+        AuditLogProperties.Async async = properties.getAsync();
+        AuditLogWriteAdapter writer = createWriter(properties.getJson(), jsonMapper);
 
-        for (AuditLogDataMapper mapper : mappers) {
-            log.info("Applying Audit Log Data Mapper: {}", mapper.getClass());
+        if (!async.isEnabled()) {
+            return writer;
         }
 
-        return new AuditLogFilter(properties, mappers, writer);
-    }
+        log.info(
+                "Creating asynchronous Audit Log writer with buffer size {}, batch size {} and overflow policy {}",
+                async.getBufferSize(), async.getBatchSize(), async.getOverflowPolicy()
+        );
 
-    @Bean
-    @ConditionalOnMissingBean
-    public AuditLogWriteAdapter auditLogWriteAdapter() {
-        return new AuditLogLoggerWriterAdapter();
+        return new AsyncAuditLogWriteAdapter(
+                writer,
+                async.getBufferSize(),
+                async.getBatchSize(),
+                async.getOverflowPolicy(),
+                async.getBlockTimeout()
+        );
     }
 
+    private static AuditLogWriteAdapter createWriter(AuditLogProperties.Json json, ObjectProvider<JsonMapper> jsonMapper) {
+        if (!json.isEnabled()) {
+            return new AuditLogLoggerWriterAdapter();
+        }
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = RequestForwardingDataMapper.KEY)
-    public RequestForwardingDataMapper requestForwardingDataMapper(
-            AuditLogProperties properties,
-            JsonMapper mapper
-    ) {
-        return new RequestForwardingDataMapper(properties, mapper);
-    }
+        AuditLogJsonSink sink;
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = RequestHeadersMapper.KEY)
-    public RequestHeadersMapper requestHeadersMapper(
-            AuditLogProperties properties,
-            JsonMapper mapper
-    ) {
-        return new RequestHeadersMapper(properties, mapper);
-    }
+        if (json.getFile() != null) {
+            log.info("Creating {} Audit Log writer to file {}", json.getFormat(), json.getFile());
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = RequestMethodMapper.KEY)
-    public RequestMethodMapper requestMethodMapper() {
-        return new RequestMethodMapper();
-    }
+            try {
+                sink = new FileChannelAuditLogJsonSink(Path.of(json.getFile()));
+            } catch (IOException e) {
+                throw new CoreException(String.format("Unable to open audit log file %s", json.getFile()), e);
+            }
+        } else {
+            log.info("Creating {} Audit Log writer to logger {}", json.getFormat(), LoggerAuditLogJsonSink.LOGGER_NAME);
+            sink = new LoggerAuditLogJsonSink();
+        }
 
+        JsonMapper mapper = jsonMapper.getIfAvailable(() -> JsonMapper.builder().build());
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = RequestUrlDataMapper.KEY)
-    public RequestUrlDataMapper requestUrlDataMapper() {
-        return new RequestUrlDataMapper();
-    }
+        if (json.getHost() != null) {
+            return new AuditLogJsonWriterAdapter(mapper, sink, json.getFormat(), json.getHost());
+        }
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = ResponseBodyMapper.KEY)
-    public ResponseBodyMapper responseBodyMapper(AuditLogProperties properties) {
-        return new ResponseBodyMapper(properties);
+        return new AuditLogJsonWriterAdapter(mapper, sink, json.getFormat());
     }
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = ResponseStatusMapper.KEY)
-    public ResponseStatusMapper responseStatusMapper() {
-        return new ResponseStatusMapper();
+    @Configuration
+    @ConditionalOnClass(name = "jakarta.servlet.Filter")
+    static class ServletAuditLogConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuditLogSamplingPolicy auditLogSamplingPolicy(AuditLogProperties properties) {
+            if (!properties.getSampling().isEnabled()) {
+                return AuditLogSamplingPolicy.DEFAULT;
+            }
+
+            log.info("Registering rule based Audit Log sampling policy");
+
+            return new RuleBasedAuditLogSamplingPolicy(properties.getSampling());
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = RequestForwardingDataMapper.KEY)
+        public RequestForwardingDataMapper requestForwardingDataMapper(
+                AuditLogProperties properties,
+                JsonMapper mapper
+        ) {
+            return new RequestForwardingDataMapper(properties, mapper);
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = RequestHeadersMapper.KEY)
+        public RequestHeadersMapper requestHeadersMapper(
+                AuditLogProperties properties,
+                JsonMapper mapper
+        ) {
+            return new RequestHeadersMapper(properties, mapper);
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = ResponseHeadersMapper.KEY)
+        public ResponseHeadersMapper responseHeadersMapper(
+                AuditLogProperties properties,
+                JsonMapper mapper
+        ) {
+            return new ResponseHeadersMapper(properties, mapper);
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = ClientIpMapper.KEY)
+        public ClientIpMapper clientIpMapper(ObjectProvider<ClientIpResolver> resolver) {
+            return new ClientIpMapper(resolver.getIfAvailable());
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = RequestMethodMapper.KEY)
+        public RequestMethodMapper requestMethodMapper() {
+            return new RequestMethodMapper();
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = RequestUrlDataMapper.KEY)
+        public RequestUrlDataMapper requestUrlDataMapper() {
+            return new RequestUrlDataMapper();
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = ResponseBodyMapper.KEY)
+        public ResponseBodyMapper responseBodyMapper(AuditLogProperties properties) {
+            return new ResponseBodyMapper(properties);
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = ResponseStatusMapper.KEY)
+        public ResponseStatusMapper responseStatusMapper() {
+            return new ResponseStatusMapper();
+        }
+
+        @Bean
+        @ConditionalOnEnabledMapper(mapper = RequestBodyMapper.KEY)
+        public RequestBodyMapper requestBodyMapper(AuditLogProperties properties) {
+            return new RequestBodyMapper(properties);
+        }
+
+        @Bean
+        @Conditional(TraceIdMapperEligible.class)
+        public TraceIdMapper traceIdMapper(TraceIdContext context) {
+            return new TraceIdMapper(context);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuditLogFilter auditLogFilter(
+                AuditLogProperties properties,
+                List<AuditLogDataMapper> mappers,
+                AuditLogWriteAdapter writer,
+                AuditLogSamplingPolicy samplingPolicy,
+                ObjectProvider<AuditLogMetrics> metrics
+        ) {
+            log.info("Registering Audit Log Filter with writer {}", writer.getClass());
+
+            for (AuditLogDataMapper mapper : mappers) {
+                log.info("Applying Audit Log Data Mapper: {}", mapper.getClass());
+            }
+
+            return new AuditLogFilter(
+                    properties,
+                    mappers,
+                    writer,
+                    samplingPolicy,
+                    metrics.getIfAvailable(() -> AuditLogMetrics.NOOP)
+            );
+        }
     }
 
-    @Bean
-    @ConditionalOnEnabledMapper(mapper = RequestBodyMapper.KEY)
-    public RequestBodyMapper requestBodyMapper(AuditLogProperties properties) {
-        return new RequestBodyMapper(properties);
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveAuditLogConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuditLogWebFilter auditLogWebFilter(
+                AuditLogProperties properties,
+                AuditLogWriteAdapter writer,
+                ObjectProvider<AuditLogMetrics> metrics
+        ) {
+            log.info("Registering Audit Log WebFilter with writer {}", writer.getClass());
+
+            return new AuditLogWebFilter(properties, writer, metrics.getIfAvailable(() -> AuditLogMetrics.NOOP));
+        }
     }
 
-    @Bean
-    @Conditional(TraceIdMapperEligible.class)
-    public TraceIdMapper traceIdMapper(TraceIdContext context) {
-        return new TraceIdMapper(context);
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(name = AuditLogProperties.PREFIX + ".metrics.enabled", havingValue = "true")
+    static class AuditLogMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuditLogMetrics auditLogMetrics(
+                ObjectProvider<MeterRegistry> registry,
+                ObjectProvider<AuditLogDataMapper> mappers,
+                AuditLogWriteAdapter writer
+        ) {
+            MeterRegistry meterRegistry = registry.getIfAvailable();
+
+            if (meterRegistry == null) {
+                log.warn("Audit Log metrics are enabled, but no MeterRegistry is available");
+
+                return AuditLogMetrics.NOOP;
+            }
+
+            log.info("Registering Audit Log metrics");
+
+            return new MicrometerAuditLogMetrics(meterRegistry, mappers.orderedStream().toList(), writer);
+        }
     }
 
     static class TraceIdMapperEligible extends AnyNestedCondition {
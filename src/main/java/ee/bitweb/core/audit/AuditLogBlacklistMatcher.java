@@ -0,0 +1,275 @@
+package ee.bitweb.core.audit;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Blacklist compiled once from {@link AuditLogProperties#getBlacklist()}. Supported entry forms:
+ * <ul>
+ *     <li>{@code /actuator/} - plain fragment, request is blacklisted when the URI contains it. Characters such as
+ *     {@code *} have no special meaning, so entries written before patterns were supported keep matching as
+ *     before</li>
+ *     <li>{@code ant:/internal/**} - Ant style pattern marked with the {@value #PATTERN_MARKER} prefix, matched
+ *     against the whole URI</li>
+ *     <li>{@code GET /status} - any of the above prefixed with an HTTP method, applied only to that method</li>
+ * </ul>
+ * All plain fragments of a rule group are matched in a single pass with an Aho-Corasick automaton. Results of Ant
+ * pattern evaluation are kept in a small bounded cache.
+ */
+public final class AuditLogBlacklistMatcher {
+
+    static final int CACHE_SIZE = 1024;
+
+    static final String PATTERN_MARKER = "ant:";
+
+    private static final String ANY_METHOD = "";
+
+    private final Map<String, RuleGroup> groups;
+    private final boolean hasMethodRules;
+    private final Map<String, Boolean> patternCache = new ConcurrentHashMap<>();
+
+    public AuditLogBlacklistMatcher(Collection<String> entries) {
+        Map<String, List<String>> fragments = new HashMap<>();
+        Map<String, List<String>> patterns = new HashMap<>();
+        AntPathMatcher pathMatcher = new AntPathMatcher();
+
+        for (String entry : entries) {
+            if (entry == null || entry.isBlank()) {
+                continue;
+            }
+
+            String method = ANY_METHOD;
+            String value = entry.strip();
+            int separator = value.indexOf(' ');
+
+            if (separator > 0 && isMethod(value, separator)) {
+                method = value.substring(0, separator).toUpperCase(Locale.ROOT);
+                value = value.substring(separator + 1).strip();
+            }
+
+            if (value.startsWith(PATTERN_MARKER)) {
+                patterns.computeIfAbsent(method, k -> new ArrayList<>()).add(value.substring(PATTERN_MARKER.length()));
+            } else {
+                fragments.computeIfAbsent(method, k -> new ArrayList<>()).add(value);
+            }
+        }
+
+        Set<String> methods = new HashSet<>(fragments.keySet());
+        methods.addAll(patterns.keySet());
+
+        Map<String, RuleGroup> compiled = new HashMap<>();
+        for (String method : methods) {
+            compiled.put(method, new RuleGroup(
+                    FragmentAutomaton.compile(fragments.getOrDefault(method, List.of())),
+                    List.copyOf(patterns.getOrDefault(method, List.of())),
+                    pathMatcher
+            ));
+        }
+
+        this.groups = Map.copyOf(compiled);
+        this.hasMethodRules = methods.size() > (methods.contains(ANY_METHOD) ? 1 : 0);
+    }
+
+    public boolean isBlacklisted(String method, String uri) {
+        if (groups.isEmpty() || uri == null) {
+            return false;
+        }
+
+        RuleGroup any = groups.get(ANY_METHOD);
+        if (any != null && any.fragments.matches(uri)) {
+            return true;
+        }
+
+        RuleGroup methodGroup = hasMethodRules && method != null ? groups.get(method.toUpperCase(Locale.ROOT)) : null;
+        if (methodGroup != null && methodGroup.fragments.matches(uri)) {
+            return true;
+        }
+
+        boolean anyPatterns = any != null && !any.patterns.isEmpty();
+        boolean methodPatterns = methodGroup != null && !methodGroup.patterns.isEmpty();
+        if (!anyPatterns && !methodPatterns) {
+            return false;
+        }
+
+        String key = methodPatterns ? method.toUpperCase(Locale.ROOT) + ' ' + uri : uri;
+        Boolean cached = patternCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean result = (anyPatterns && any.matchesPattern(uri)) || (methodPatterns && methodGroup.matchesPattern(uri));
+
+        if (patternCache.size() >= CACHE_SIZE) {
+            patternCache.clear();
+        }
+        patternCache.put(key, result);
+
+        return result;
+    }
+
+    int getCacheSize() {
+        return patternCache.size();
+    }
+
+    private static boolean isMethod(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isLetter(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final class RuleGroup {
+
+        private final FragmentAutomaton fragments;
+        private final List<String> patterns;
+        private final AntPathMatcher pathMatcher;
+
+        private RuleGroup(FragmentAutomaton fragments, List<String> patterns, AntPathMatcher pathMatcher) {
+            this.fragments = fragments;
+            this.patterns = patterns;
+            this.pathMatcher = pathMatcher;
+        }
+
+        private boolean matchesPattern(String uri) {
+            for (String pattern : patterns) {
+                if (pathMatcher.match(pattern, uri)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Aho-Corasick automaton compiled into a dense transition table over the characters that occur in the fragments.
+     * Characters outside that alphabet always lead back to the root state.
+     */
+    static final class FragmentAutomaton {
+
+        private static final FragmentAutomaton EMPTY = new FragmentAutomaton(new char[0], new int[0], new boolean[]{false});
+
+        private final char[] alphabet;
+        private final int[] transitions;
+        private final boolean[] terminal;
+
+        private FragmentAutomaton(char[] alphabet, int[] transitions, boolean[] terminal) {
+            this.alphabet = alphabet;
+            this.transitions = transitions;
+            this.terminal = terminal;
+        }
+
+        static FragmentAutomaton compile(List<String> fragments) {
+            if (fragments.isEmpty()) {
+                return EMPTY;
+            }
+            if (fragments.stream().anyMatch(String::isEmpty)) {
+                return new FragmentAutomaton(new char[0], new int[0], new boolean[]{true});
+            }
+
+            TreeSet<Character> characters = new TreeSet<>();
+            fragments.forEach(fragment -> fragment.chars().forEach(c -> characters.add((char) c)));
+
+            char[] alphabet = new char[characters.size()];
+            int index = 0;
+            for (char c : characters) {
+                alphabet[index++] = c;
+            }
+
+            int width = alphabet.length;
+            List<int[]> trie = new ArrayList<>();
+            List<Boolean> terminal = new ArrayList<>();
+            trie.add(newRow(width));
+            terminal.add(false);
+
+            for (String fragment : fragments) {
+                int state = 0;
+                for (int i = 0; i < fragment.length(); i++) {
+                    int symbol = Arrays.binarySearch(alphabet, fragment.charAt(i));
+                    if (trie.get(state)[symbol] == -1) {
+                        trie.get(state)[symbol] = trie.size();
+                        trie.add(newRow(width));
+                        terminal.add(false);
+                    }
+                    state = trie.get(state)[symbol];
+                }
+                terminal.set(state, true);
+            }
+
+            int states = trie.size();
+            int[] transitions = new int[states * width];
+            boolean[] accepting = new boolean[states];
+            int[] failure = new int[states];
+            Deque<Integer> queue = new ArrayDeque<>();
+
+            for (int symbol = 0; symbol < width; symbol++) {
+                int next = trie.get(0)[symbol];
+                if (next == -1) {
+                    transitions[symbol] = 0;
+                } else {
+                    transitions[symbol] = next;
+                    failure[next] = 0;
+                    queue.add(next);
+                }
+            }
+            accepting[0] = terminal.get(0);
+
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                accepting[state] = terminal.get(state) || accepting[failure[state]];
+
+                for (int symbol = 0; symbol < width; symbol++) {
+                    int next = trie.get(state)[symbol];
+                    if (next == -1) {
+                        transitions[state * width + symbol] = transitions[failure[state] * width + symbol];
+                    } else {
+                        transitions[state * width + symbol] = next;
+                        failure[next] = transitions[failure[state] * width + symbol];
+                        queue.add(next);
+                    }
+                }
+            }
+
+            return new FragmentAutomaton(alphabet, transitions, accepting);
+        }
+
+        boolean matches(String value) {
+            if (terminal[0]) {
+                return true;
+            }
+
+            int width = alphabet.length;
+            if (width == 0) {
+                return false;
+            }
+
+            char first = alphabet[0];
+            char last = alphabet[width - 1];
+            int state = 0;
+
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                int symbol = c < first || c > last ? -1 : Arrays.binarySearch(alphabet, c);
+
+                state = symbol < 0 ? 0 : transitions[state * width + symbol];
+                if (terminal[state]) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private static int[] newRow(int width) {
+            int[] row = new int[width];
+            Arrays.fill(row, -1);
+
+            return row;
+        }
+    }
+}
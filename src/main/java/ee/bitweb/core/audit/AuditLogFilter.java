@@ -1,24 +1,27 @@
 package ee.bitweb.core.audit;
 
+import ee.bitweb.core.audit.capture.AuditLogRequestWrapper;
+import ee.bitweb.core.audit.capture.AuditLogResponseWrapper;
+import ee.bitweb.core.audit.capture.BodyCapturePolicy;
 import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.audit.metrics.AuditLogMetrics;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingDecision;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingPolicy;
 import ee.bitweb.core.audit.writers.AuditLogWriteAdapter;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Order(Integer.MIN_VALUE + 21)
-@RequiredArgsConstructor
 public class AuditLogFilter implements Filter {
 
     public static final String DURATION_KEY = "duration";
@@ -26,6 +29,58 @@ public class AuditLogFilter implements Filter {
     private final AuditLogProperties properties;
     private final List<AuditLogDataMapper> mappers;
     private final AuditLogWriteAdapter writer;
+    private final BodyCapturePolicy capturePolicy;
+    private final AuditLogBlacklistMatcher blacklist;
+    private final AuditLogSamplingPolicy samplingPolicy;
+    private final AuditLogMetrics metrics;
+    private final AuditLogRecord.Layout layout;
+    private final boolean[] customMapping;
+
+    public AuditLogFilter(AuditLogProperties properties, List<AuditLogDataMapper> mappers, AuditLogWriteAdapter writer) {
+        this(properties, mappers, writer, AuditLogSamplingPolicy.DEFAULT);
+    }
+
+    public AuditLogFilter(
+            AuditLogProperties properties,
+            List<AuditLogDataMapper> mappers,
+            AuditLogWriteAdapter writer,
+            AuditLogSamplingPolicy samplingPolicy
+    ) {
+        this(properties, mappers, writer, samplingPolicy, AuditLogMetrics.NOOP);
+    }
+
+    public AuditLogFilter(
+            AuditLogProperties properties,
+            List<AuditLogDataMapper> mappers,
+            AuditLogWriteAdapter writer,
+            AuditLogSamplingPolicy samplingPolicy,
+            AuditLogMetrics metrics
+    ) {
+        this.properties = properties;
+        this.mappers = mappers;
+        this.writer = writer;
+        this.samplingPolicy = samplingPolicy;
+        this.metrics = metrics;
+        this.capturePolicy = new BodyCapturePolicy(
+                properties.getLoggableContentTypes(),
+                properties.getIgnoredContentTypes()
+        );
+        this.blacklist = new AuditLogBlacklistMatcher(properties.getBlacklist());
+        this.layout = AuditLogRecord.Layout.of(mappers.stream().map(AuditLogDataMapper::getKey).toList());
+        this.customMapping = new boolean[mappers.size()];
+
+        for (int i = 0; i < mappers.size(); i++) {
+            customMapping[i] = overridesMap(mappers.get(i));
+
+            if (overridesDeprecatedMap(mappers.get(i))) {
+                log.warn(
+                        "Audit log mapper {} overrides map(ContentCachingRequestWrapper, ContentCachingResponseWrapper, Map), "
+                                + "which is no longer called, override map(HttpServletRequest, HttpServletResponse, Map) instead",
+                        mappers.get(i).getClass().getName()
+                );
+            }
+        }
+    }
 
     @Override
     public void doFilter(
@@ -34,8 +89,9 @@ public class AuditLogFilter implements Filter {
             FilterChain chain
     ) throws IOException, ServletException {
         if (request instanceof HttpServletRequest httpRequest) {
-            if (isBlacklisted(httpRequest)) {
+            if (blacklist.isBlacklisted(httpRequest.getMethod(), httpRequest.getRequestURI())) {
                 log.debug("Request is blacklisted for request logging, will skip further processing.");
+                metrics.recordBlacklisted();
                 chain.doFilter(request, response);
 
                 return;
@@ -51,40 +107,116 @@ public class AuditLogFilter implements Filter {
             FilterChain chain
     ) throws ServletException, IOException {
         long start = System.currentTimeMillis();
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(
+        AuditLogRequestWrapper requestWrapper = new AuditLogRequestWrapper(
                 (HttpServletRequest) request,
-                (int) properties.getMaxLoggableRequestSize()
+                (int) properties.getMaxLoggableRequestSize(),
+                capturePolicy
         );
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(
-                (HttpServletResponse)  response
+        AuditLogResponseWrapper responseWrapper = new AuditLogResponseWrapper(
+                (HttpServletResponse) response,
+                (int) properties.getMaxLoggableResponseSize(),
+                capturePolicy
         );
 
-        chain.doFilter(requestWrapper, responseWrapper);
+        try {
+            chain.doFilter(requestWrapper, responseWrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            try {
+                audit(requestWrapper, responseWrapper, start, e);
+            } catch (Exception auditException) {
+                log.error("Error occured while creating audit log record for failed request", auditException);
+            }
+
+            throw e;
+        }
+
+        audit(requestWrapper, responseWrapper, start, null);
+    }
+
+    private void audit(
+            AuditLogRequestWrapper request,
+            AuditLogResponseWrapper response,
+            long start,
+            Throwable error
+    ) {
+        response.flushWriter();
+
+        boolean measure = metrics.isEnabled();
+        AuditLogSamplingDecision decision = samplingPolicy.decide(request, response, error);
 
-        Map<String, String> dataContainer = new HashMap<>();
+        if (measure) {
+            metrics.recordRequestBody(request.getTotalSize(), request.isTruncated());
+            metrics.recordResponseBody(response.getTotalSize(), response.isTruncated());
+            metrics.recordSampling(decision);
+        }
+
+        if (decision == AuditLogSamplingDecision.SKIP) {
+            log.debug("Request is not sampled for request logging, will skip writing audit record.");
 
-        for (AuditLogDataMapper mapper: mappers) {
-            mapper.map(requestWrapper, responseWrapper, dataContainer);
+            return;
         }
-        responseWrapper.copyBodyToResponse();
+
+        AuditLogRecord record = new AuditLogRecord(layout);
+
+        for (int i = 0; i < mappers.size(); i++) {
+            AuditLogDataMapper mapper = mappers.get(i);
+
+            if (decision == AuditLogSamplingDecision.HEADERS_ONLY && mapper.isBodyMapper()) {
+                continue;
+            }
+
+            long mapperStart = measure ? System.nanoTime() : 0;
+
+            if (customMapping[i]) {
+                mapper.map(request, response, record);
+            } else {
+                record.set(i, mapper.getValue(request, response));
+            }
+
+            if (measure) {
+                metrics.recordMapper(mapper, System.nanoTime() - mapperStart);
+            }
+        }
+
+        record.setStatus(response.getStatus());
+        record.setRequestSize(request.getTotalSize());
+        record.setResponseSize(response.getTotalSize());
 
         if (properties.isIncludeDuration()) {
-            dataContainer.put(DURATION_KEY, String.valueOf(System.currentTimeMillis() - start));
+            record.setDuration(System.currentTimeMillis() - start);
         }
+        long writeStart = measure ? System.nanoTime() : 0;
+        boolean written = false;
         try {
-            writer.write(dataContainer);
+            writer.write(record);
+            written = true;
         } catch (Exception e) {
             log.error("Error occured while writing to audit log", e);
+        } finally {
+            if (measure) {
+                metrics.recordWrite(System.nanoTime() - writeStart, written);
+            }
         }
     }
 
-    private boolean isBlacklisted(HttpServletRequest request) {
-        for (String blacklistedUrl : properties.getBlacklist()) {
-            if (request.getRequestURI().contains(blacklistedUrl)) {
-                return true;
-            }
+    private static boolean overridesMap(AuditLogDataMapper mapper) {
+        try {
+            return mapper.getClass()
+                    .getMethod("map", HttpServletRequest.class, HttpServletResponse.class, Map.class)
+                    .getDeclaringClass() != AuditLogDataMapper.class;
+        } catch (NoSuchMethodException e) {
+            return true;
         }
+    }
 
-        return false;
+    @SuppressWarnings("removal")
+    private static boolean overridesDeprecatedMap(AuditLogDataMapper mapper) {
+        try {
+            return mapper.getClass()
+                    .getMethod("map", ContentCachingRequestWrapper.class, ContentCachingResponseWrapper.class, Map.class)
+                    .getDeclaringClass() != AuditLogDataMapper.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 }
@@ -1,15 +1,24 @@
 package ee.bitweb.core.audit;
 
 import ee.bitweb.core.audit.mappers.*;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingDecision;
+import ee.bitweb.core.audit.writers.AuditLogJsonFormat;
+import ee.bitweb.core.audit.writers.AuditLogOverflowPolicy;
+import ee.bitweb.core.validator.FileTypeEnum;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -56,8 +65,137 @@ public class AuditLogProperties {
             )
     );
 
+    @NotNull
+    private List<@NotBlank String> loggableContentTypes = new ArrayList<>();
+
+    @NotNull
+    private List<@NotBlank String> ignoredContentTypes = new ArrayList<>(
+            List.of(
+                    "application/octet-stream",
+                    FileTypeEnum.PDF.getMime(),
+                    FileTypeEnum.ZIP.getMime(),
+                    FileTypeEnum.XLSX.getMime(),
+                    "image/*",
+                    "audio/*",
+                    "video/*",
+                    "multipart/*",
+                    "text/event-stream"
+            )
+    );
+
+    /**
+     * Requests whose URI contains one of the entries are not audited. Entries prefixed with {@code ant:} are Ant style
+     * patterns matched against the whole URI, and an entry may start with an HTTP method, e.g. {@code GET ant:/files/**}.
+     */
     @NotNull
     private List<String> blacklist = new ArrayList<>(List.of("/actuator/"));
 
     private boolean includeDuration = true;
+
+    @Valid
+    private Async async = new Async();
+
+    @Valid
+    private Sampling sampling = new Sampling();
+
+    @Valid
+    private Json json = new Json();
+
+    @Valid
+    private Metrics metrics = new Metrics();
+
+    @Getter
+    @Setter
+    @Validated
+    public static class Async {
+
+        private boolean enabled = false;
+
+        @Positive
+        private int bufferSize = 8192;
+
+        @Positive
+        private int batchSize = 256;
+
+        @NotNull
+        private AuditLogOverflowPolicy overflowPolicy = AuditLogOverflowPolicy.DROP_NEWEST;
+
+        @NotNull
+        private Duration blockTimeout = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+
+        /**
+         * Publishes audit pipeline metrics to the application MeterRegistry, requires Micrometer on the classpath.
+         */
+        private boolean enabled = false;
+    }
+
+    @Getter
+    @Setter
+    @Validated
+    public static class Json {
+
+        private boolean enabled = false;
+
+        @NotNull
+        private AuditLogJsonFormat format = AuditLogJsonFormat.JSON;
+
+        /**
+         * File the records are appended to, when not set records are logged to the AuditJsonLogger logger.
+         */
+        private String file;
+
+        /**
+         * Host reported in GELF records, defaults to the local host name.
+         */
+        private String host;
+    }
+
+    @Getter
+    @Setter
+    @Validated
+    public static class Sampling {
+
+        private boolean enabled = false;
+
+        private boolean alwaysLogErrors = true;
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double defaultRate = 1.0;
+
+        @NotNull
+        private AuditLogSamplingDecision exhaustedDecision = AuditLogSamplingDecision.HEADERS_ONLY;
+
+        @Valid
+        @NotNull
+        private List<Rule> rules = new ArrayList<>();
+
+        @Getter
+        @Setter
+        @Validated
+        public static class Rule {
+
+            @NotBlank
+            private String path;
+
+            @NotNull
+            private List<@NotNull Integer> statuses = new ArrayList<>();
+
+            @DecimalMin("0.0")
+            @DecimalMax("1.0")
+            private double rate = 1.0;
+
+            /**
+             * Requests per second audited in full for each endpoint (HTTP method and handler path pattern) matched by
+             * the rule, 0 for no limit.
+             */
+            @PositiveOrZero
+            private int maxPerSecond = 0;
+        }
+    }
 }
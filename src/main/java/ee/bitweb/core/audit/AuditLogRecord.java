@@ -0,0 +1,319 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.exception.CoreException;
+
+import java.util.*;
+
+/**
+ * Audit log record with a fixed slot per mapper key, resolved once at startup by {@link Layout}. Values of known keys
+ * are stored in an array indexed by slot, duration, status and body sizes are kept as primitives. The record is also a
+ * {@code Map<String, String>} so existing {@link ee.bitweb.core.audit.writers.AuditLogWriteAdapter} implementations
+ * keep working, keys outside the layout are stored in a lazily created overflow map.
+ */
+public final class AuditLogRecord extends AbstractMap<String, String> {
+
+    public static final long UNSET = -1;
+
+    private final Layout layout;
+    private final String[] values;
+    private final boolean[] present;
+    private int presentCount;
+    private Map<String, String> overflow;
+
+    private long duration = UNSET;
+    private int status = (int) UNSET;
+    private long requestSize = UNSET;
+    private long responseSize = UNSET;
+
+    public AuditLogRecord(Layout layout) {
+        this.layout = layout;
+        this.values = new String[layout.size()];
+        this.present = new boolean[layout.size()];
+    }
+
+    public void set(int slot, String value) {
+        values[slot] = value;
+
+        if (!present[slot]) {
+            present[slot] = true;
+            presentCount++;
+        }
+    }
+
+    public String get(int slot) {
+        if (!present[slot]) {
+            return null;
+        }
+
+        if (slot == layout.durationSlot && values[slot] == null && duration != UNSET) {
+            return String.valueOf(duration);
+        }
+
+        return values[slot];
+    }
+
+    public boolean isSet(int slot) {
+        return present[slot];
+    }
+
+    public Layout getLayout() {
+        return layout;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+        values[layout.durationSlot] = null;
+
+        if (!present[layout.durationSlot]) {
+            present[layout.durationSlot] = true;
+            presentCount++;
+        }
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public long getRequestSize() {
+        return requestSize;
+    }
+
+    public void setRequestSize(long requestSize) {
+        this.requestSize = requestSize;
+    }
+
+    public long getResponseSize() {
+        return responseSize;
+    }
+
+    public void setResponseSize(long responseSize) {
+        this.responseSize = responseSize;
+    }
+
+    @Override
+    public int size() {
+        return presentCount + (overflow == null ? 0 : overflow.size());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = layout.indexOf(key);
+
+        if (slot != -1) {
+            return present[slot];
+        }
+
+        return overflow != null && overflow.containsKey(key);
+    }
+
+    @Override
+    public String get(Object key) {
+        int slot = layout.indexOf(key);
+
+        if (slot != -1) {
+            return get(slot);
+        }
+
+        return overflow == null ? null : overflow.get(key);
+    }
+
+    @Override
+    public String put(String key, String value) {
+        int slot = layout.indexOf(key);
+
+        if (slot != -1) {
+            String previous = get(slot);
+            set(slot, value);
+
+            return previous;
+        }
+
+        if (overflow == null) {
+            overflow = new HashMap<>(4);
+        }
+
+        return overflow.put(key, value);
+    }
+
+    @Override
+    public String remove(Object key) {
+        int slot = layout.indexOf(key);
+
+        if (slot != -1) {
+            return clear(slot);
+        }
+
+        return overflow == null ? null : overflow.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(present, false);
+        presentCount = 0;
+        duration = UNSET;
+        status = (int) UNSET;
+        requestSize = UNSET;
+        responseSize = UNSET;
+        overflow = null;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new EntrySet();
+    }
+
+    private String clear(int slot) {
+        if (!present[slot]) {
+            return null;
+        }
+
+        String previous = get(slot);
+        values[slot] = null;
+        present[slot] = false;
+        presentCount--;
+
+        if (slot == layout.durationSlot) {
+            duration = UNSET;
+        }
+
+        return previous;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>> {
+
+        @Override
+        public int size() {
+            return AuditLogRecord.this.size();
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+        private int next = nextSlot(0);
+        private int last = -1;
+        private Iterator<Entry<String, String>> overflowIterator;
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+
+            return overflowIterator().hasNext();
+        }
+
+        @Override
+        public Entry<String, String> next() {
+            if (next < values.length) {
+                last = next;
+                next = nextSlot(next + 1);
+
+                return new SimpleImmutableEntry<>(layout.keys[last], get(last));
+            }
+
+            last = -1;
+
+            return overflowIterator().next();
+        }
+
+        @Override
+        public void remove() {
+            if (last != -1) {
+                clear(last);
+                last = -1;
+            } else {
+                overflowIterator().remove();
+            }
+        }
+
+        private Iterator<Entry<String, String>> overflowIterator() {
+            if (overflowIterator == null) {
+                overflowIterator = overflow == null
+                        ? Collections.emptyIterator()
+                        : overflow.entrySet().iterator();
+            }
+
+            return overflowIterator;
+        }
+
+        private int nextSlot(int from) {
+            for (int i = from; i < present.length; i++) {
+                if (present[i]) {
+                    return i;
+                }
+            }
+
+            return values.length;
+        }
+    }
+
+    /**
+     * Slot assignment for audit record keys. Keys are assigned slots in the order given, the duration key always gets
+     * a slot of its own.
+     */
+    public static final class Layout {
+
+        private final String[] keys;
+        private final Map<String, Integer> slots;
+        private final int durationSlot;
+
+        private Layout(String[] keys, Map<String, Integer> slots) {
+            this.keys = keys;
+            this.slots = slots;
+            this.durationSlot = slots.get(AuditLogFilter.DURATION_KEY);
+        }
+
+        public static Layout of(List<String> keys) {
+            List<String> all = new ArrayList<>(keys.size() + 1);
+            Map<String, Integer> slots = new HashMap<>();
+
+            for (String key : keys) {
+                if (slots.containsKey(key)) {
+                    throw new CoreException(String.format("Audit log mappers contain duplicate key %s", key));
+                }
+
+                slots.put(key, all.size());
+                all.add(key);
+            }
+
+            if (!slots.containsKey(AuditLogFilter.DURATION_KEY)) {
+                slots.put(AuditLogFilter.DURATION_KEY, all.size());
+                all.add(AuditLogFilter.DURATION_KEY);
+            }
+
+            return new Layout(all.toArray(new String[0]), Map.copyOf(slots));
+        }
+
+        public int size() {
+            return keys.length;
+        }
+
+        public String getKey(int slot) {
+            return keys[slot];
+        }
+
+        public int indexOf(Object key) {
+            Integer slot = key instanceof String ? slots.get(key) : null;
+
+            return slot == null ? -1 : slot;
+        }
+
+        public int getDurationSlot() {
+            return durationSlot;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.audit.capture.AuditLogServerHttpRequest;
+import ee.bitweb.core.audit.capture.AuditLogServerHttpResponse;
+import ee.bitweb.core.audit.capture.BodyCapturePolicy;
+import ee.bitweb.core.audit.capture.DataBufferCapture;
+import ee.bitweb.core.audit.mappers.*;
+import ee.bitweb.core.audit.metrics.AuditLogMetrics;
+import ee.bitweb.core.audit.writers.AuditLogWriteAdapter;
+import ee.bitweb.core.trace.invoker.reactive.TraceIdWebFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link AuditLogFilter}. Bodies are captured from the {@code DataBuffer} streams as they pass
+ * through, and the record is written once the exchange completes, fails or is cancelled.
+ * <p>
+ * Data mappers operate on servlet requests, so only the values of the built-in mappers listed in
+ * {@link #SUPPORTED_KEYS} are produced. The trace id is read from the Reactor context populated by
+ * {@link TraceIdWebFilter}.
+ */
+@Slf4j
+@Order(Integer.MIN_VALUE + 21)
+public class AuditLogWebFilter implements WebFilter {
+
+    public static final List<String> SUPPORTED_KEYS = List.of(
+            RequestMethodMapper.KEY,
+            RequestUrlDataMapper.KEY,
+            ResponseStatusMapper.KEY,
+            RequestBodyMapper.KEY,
+            ResponseBodyMapper.KEY,
+            ClientIpMapper.KEY,
+            TraceIdMapper.KEY
+    );
+
+    private final AuditLogProperties properties;
+    private final AuditLogWriteAdapter writer;
+    private final AuditLogMetrics metrics;
+    private final BodyCapturePolicy capturePolicy;
+    private final AuditLogBlacklistMatcher blacklist;
+    private final AuditLogRecord.Layout layout;
+    private final String[] keys;
+
+    public AuditLogWebFilter(AuditLogProperties properties, AuditLogWriteAdapter writer) {
+        this(properties, writer, AuditLogMetrics.NOOP);
+    }
+
+    public AuditLogWebFilter(AuditLogProperties properties, AuditLogWriteAdapter writer, AuditLogMetrics metrics) {
+        this.properties = properties;
+        this.writer = writer;
+        this.metrics = metrics;
+        this.capturePolicy = new BodyCapturePolicy(
+                properties.getLoggableContentTypes(),
+                properties.getIgnoredContentTypes()
+        );
+        this.blacklist = new AuditLogBlacklistMatcher(properties.getBlacklist());
+
+        List<String> enabled = new ArrayList<>();
+        for (String key : properties.getMappers()) {
+            if (SUPPORTED_KEYS.contains(key)) {
+                enabled.add(key);
+            } else {
+                log.info("Audit Log Data Mapper {} is not supported on reactive stack, it will be skipped", key);
+            }
+        }
+        if (!enabled.contains(TraceIdMapper.KEY)) {
+            enabled.add(TraceIdMapper.KEY);
+        }
+
+        this.keys = enabled.toArray(new String[0]);
+        this.layout = AuditLogRecord.Layout.of(enabled);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        if (blacklist.isBlacklisted(request.getMethod().name(), request.getURI().getRawPath())) {
+            log.debug("Request is blacklisted for request logging, will skip further processing.");
+            metrics.recordBlacklisted();
+
+            return chain.filter(exchange);
+        }
+
+        long start = System.currentTimeMillis();
+        AuditLogServerHttpRequest requestDecorator = new AuditLogServerHttpRequest(
+                request,
+                (int) properties.getMaxLoggableRequestSize(),
+                capturePolicy
+        );
+        AuditLogServerHttpResponse responseDecorator = new AuditLogServerHttpResponse(
+                exchange.getResponse(),
+                (int) properties.getMaxLoggableResponseSize(),
+                capturePolicy
+        );
+        ServerWebExchange decorated = exchange.mutate()
+                .request(requestDecorator)
+                .response(responseDecorator)
+                .build();
+
+        return Mono.deferContextual(context -> chain.filter(decorated).doFinally(signal -> {
+            try {
+                audit(requestDecorator, responseDecorator, start, TraceIdWebFilter.getTraceId(context), signal);
+            } catch (Exception e) {
+                log.error("Error occured while creating audit log record", e);
+            }
+        }));
+    }
+
+    private void audit(
+            AuditLogServerHttpRequest request,
+            AuditLogServerHttpResponse response,
+            long start,
+            String traceId,
+            SignalType signal
+    ) {
+        DataBufferCapture requestBody = request.getCapture();
+        DataBufferCapture responseBody = response.getCapture();
+        boolean measure = metrics.isEnabled();
+
+        if (measure) {
+            metrics.recordRequestBody(requestBody.getTotalSize(), requestBody.isTruncated());
+            metrics.recordResponseBody(responseBody.getTotalSize(), responseBody.isTruncated());
+        }
+
+        int status = getStatus(response, signal);
+        AuditLogRecord record = new AuditLogRecord(layout);
+
+        for (int i = 0; i < keys.length; i++) {
+            record.set(i, switch (keys[i]) {
+                case RequestMethodMapper.KEY -> request.getMethod().name();
+                case RequestUrlDataMapper.KEY -> request.getURI().toString();
+                case ResponseStatusMapper.KEY -> String.valueOf(status);
+                case RequestBodyMapper.KEY -> getBody(requestBody);
+                case ResponseBodyMapper.KEY -> getBody(responseBody);
+                case ClientIpMapper.KEY -> getRemoteAddress(request);
+                case TraceIdMapper.KEY -> traceId;
+                default -> null;
+            });
+        }
+
+        record.setStatus(status);
+        record.setRequestSize(requestBody.getTotalSize());
+        record.setResponseSize(responseBody.getTotalSize());
+
+        if (properties.isIncludeDuration()) {
+            record.setDuration(System.currentTimeMillis() - start);
+        }
+        long writeStart = measure ? System.nanoTime() : 0;
+        boolean written = false;
+        try {
+            writer.write(record);
+            written = true;
+        } catch (Exception e) {
+            log.error("Error occured while writing to audit log", e);
+        } finally {
+            if (measure) {
+                metrics.recordWrite(System.nanoTime() - writeStart, written);
+            }
+        }
+    }
+
+    private static int getStatus(AuditLogServerHttpResponse response, SignalType signal) {
+        HttpStatusCode status = response.getStatusCode();
+
+        if (status != null) {
+            return status.value();
+        }
+
+        // error handlers further up the chain have not set the status yet
+        return signal == SignalType.ON_ERROR ? 500 : 200;
+    }
+
+    private static String getBody(DataBufferCapture capture) {
+        if (capture.getTotalSize() > 0 && (capture.isCaptureSkipped() || !capture.isProbablyText())) {
+            return BodySummary.create(capture.getContentType(), capture.getTotalSize());
+        }
+
+        String content = capture.getCapturedBody();
+
+        if (!StringUtils.hasText(content)) {
+            return null;
+        }
+
+        if (capture.isTruncated()) {
+            return String.format("%s ... Content size: %s bytes", content, capture.getTotalSize());
+        }
+
+        return content;
+    }
+
+    private static String getRemoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+
+        if (address == null) {
+            return null;
+        }
+
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
@@ -0,0 +1,190 @@
+package ee.bitweb.core.audit.capture;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Request wrapper which tees the first {@code limit} bytes of the request body into a {@link CaptureBuffer} while the
+ * body itself streams through to the application untouched. Only the captured prefix is ever decoded.
+ */
+public class AuditLogRequestWrapper extends HttpServletRequestWrapper {
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+
+    private final CaptureBuffer capture;
+
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+
+    public AuditLogRequestWrapper(HttpServletRequest request, int limit) {
+        this(request, limit, BodyCapturePolicy.captureAll());
+    }
+
+    public AuditLogRequestWrapper(HttpServletRequest request, int limit, BodyCapturePolicy policy) {
+        super(request);
+        capture = new CaptureBuffer(limit);
+
+        if (!policy.isCapturable(request.getContentType())) {
+            capture.discard();
+        }
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CapturingInputStream(super.getInputStream(), capture);
+        }
+
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getCharset()));
+        }
+
+        return reader;
+    }
+
+    public String getCapturedBody() {
+        if (capture.getTotalSize() == 0 && !capture.isDiscarded() && isFormPost()) {
+            writeParametersToCapture();
+        }
+
+        return capture.toString(getCharset());
+    }
+
+    public int getCapturedSize() {
+        return capture.getCapturedSize();
+    }
+
+    public long getTotalSize() {
+        return capture.getTotalSize();
+    }
+
+    public boolean isTruncated() {
+        return capture.isTruncated();
+    }
+
+    public boolean isCaptureSkipped() {
+        return capture.isDiscarded();
+    }
+
+    public boolean isProbablyText() {
+        return capture.isProbablyText();
+    }
+
+    public Charset getCharset() {
+        return resolveCharset(getCharacterEncoding());
+    }
+
+    static Charset resolveCharset(String encoding) {
+        if (encoding == null) {
+            return StandardCharsets.UTF_8;
+        }
+
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private boolean isFormPost() {
+        String contentType = getContentType();
+
+        return contentType != null
+                && contentType.regionMatches(true, 0, FORM_CONTENT_TYPE, 0, FORM_CONTENT_TYPE.length())
+                && "POST".equalsIgnoreCase(getMethod());
+    }
+
+    private void writeParametersToCapture() {
+        Charset charset = getCharset();
+        StringBuilder builder = new StringBuilder();
+
+        for (Iterator<Map.Entry<String, String[]>> entries = getParameterMap().entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<String, String[]> entry = entries.next();
+            String name = URLEncoder.encode(entry.getKey(), charset);
+            String[] values = entry.getValue();
+
+            for (int i = 0; i < values.length; i++) {
+                builder.append(name);
+                if (values[i] != null) {
+                    builder.append('=').append(URLEncoder.encode(values[i], charset));
+                }
+                if (i != values.length - 1) {
+                    builder.append('&');
+                }
+            }
+
+            if (entries.hasNext()) {
+                builder.append('&');
+            }
+        }
+
+        byte[] bytes = builder.toString().getBytes(charset);
+        capture.write(bytes, 0, bytes.length);
+    }
+
+    private static class CapturingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final CaptureBuffer capture;
+
+        CapturingInputStream(ServletInputStream delegate, CaptureBuffer capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = delegate.read();
+
+            if (b != -1) {
+                capture.write(b);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int count = delegate.read(bytes, offset, length);
+
+            if (count > 0) {
+                capture.write(bytes, offset, count);
+            }
+
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            delegate.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package ee.bitweb.core.audit.capture;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * Response wrapper which writes the body straight through to the client while teeing the first {@code limit} bytes
+ * into a {@link CaptureBuffer}. Unlike a content caching wrapper the body is never held in memory as a whole, so
+ * streaming and large responses keep their time to first byte.
+ * <p>
+ * Characters written through {@link #getWriter()} are encoded by an encoder that is dropped together with its pending
+ * characters when the response is reset or an error is sent, so a discarded body never reaches the client after the
+ * new one.
+ */
+public class AuditLogResponseWrapper extends HttpServletResponseWrapper {
+
+    private final CaptureBuffer capture;
+    private final BodyCapturePolicy policy;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private EncodingWriter encodingWriter;
+    private boolean suppressFlush;
+    private boolean captureDecided;
+
+    public AuditLogResponseWrapper(HttpServletResponse response, int limit) {
+        this(response, limit, BodyCapturePolicy.captureAll());
+    }
+
+    public AuditLogResponseWrapper(HttpServletResponse response, int limit, BodyCapturePolicy policy) {
+        super(response);
+        this.capture = new CaptureBuffer(limit);
+        this.policy = policy;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+
+        return getCapturingOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+
+            encodingWriter = new EncodingWriter();
+            writer = new PrintWriter(encodingWriter);
+        }
+
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        discardWriterBuffer();
+        capture.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        discardWriterBuffer();
+        capture.reset();
+        capture.restore();
+        captureDecided = false;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        super.sendError(sc);
+        discardWriterBuffer();
+        capture.reset();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        super.sendError(sc, msg);
+        discardWriterBuffer();
+        capture.reset();
+    }
+
+    public String getCapturedBody() {
+        flushWriter();
+
+        return capture.toString(getCharset());
+    }
+
+    public int getCapturedSize() {
+        flushWriter();
+
+        return capture.getCapturedSize();
+    }
+
+    public long getTotalSize() {
+        flushWriter();
+
+        return capture.getTotalSize();
+    }
+
+    public boolean isTruncated() {
+        flushWriter();
+
+        return capture.isTruncated();
+    }
+
+    public boolean isCaptureSkipped() {
+        return capture.isDiscarded();
+    }
+
+    public boolean isProbablyText() {
+        flushWriter();
+
+        return capture.isProbablyText();
+    }
+
+    public Charset getCharset() {
+        return AuditLogRequestWrapper.resolveCharset(getCharacterEncoding());
+    }
+
+    private void decideCapture() {
+        if (captureDecided) {
+            return;
+        }
+
+        captureDecided = true;
+        if (!policy.isCapturable(getContentType())) {
+            capture.discard();
+        }
+    }
+
+    private void discardWriterBuffer() {
+        if (encodingWriter != null) {
+            encodingWriter.discard();
+        }
+    }
+
+    private ServletOutputStream getCapturingOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream(), capture);
+        }
+
+        return outputStream;
+    }
+
+    /**
+     * Pushes characters buffered by the writer to the underlying response without committing it.
+     */
+    public void flushWriter() {
+        if (writer == null) {
+            return;
+        }
+
+        suppressFlush = true;
+        try {
+            writer.flush();
+        } finally {
+            suppressFlush = false;
+        }
+    }
+
+    /**
+     * Writer whose encoder, and the characters it has not yet flushed, can be thrown away. A new encoder is created
+     * on the next write, picking up the character encoding set after a reset.
+     */
+    private class EncodingWriter extends Writer {
+
+        private OutputStreamWriter encoder;
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            getEncoder().write(chars, offset, length);
+        }
+
+        @Override
+        public void write(String str, int offset, int length) throws IOException {
+            getEncoder().write(str, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (encoder != null) {
+                encoder.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (encoder != null) {
+                encoder.close();
+            } else {
+                getCapturingOutputStream().close();
+            }
+        }
+
+        void discard() {
+            encoder = null;
+        }
+
+        private OutputStreamWriter getEncoder() throws IOException {
+            if (encoder == null) {
+                encoder = new OutputStreamWriter(getCapturingOutputStream(), getCharset());
+            }
+
+            return encoder;
+        }
+    }
+
+    private class CapturingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final CaptureBuffer capture;
+
+        CapturingOutputStream(ServletOutputStream delegate, CaptureBuffer capture) {
+            this.delegate = delegate;
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            decideCapture();
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            decideCapture();
+            capture.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!suppressFlush) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ee.bitweb.core.audit.capture;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive counterpart of {@link AuditLogRequestWrapper}, tees the first {@code limit} bytes of the request body into
+ * a {@link DataBufferCapture} while it streams through to the handler.
+ */
+public class AuditLogServerHttpRequest extends ServerHttpRequestDecorator {
+
+    private final DataBufferCapture capture;
+
+    public AuditLogServerHttpRequest(ServerHttpRequest delegate, int limit, BodyCapturePolicy policy) {
+        super(delegate);
+        this.capture = new DataBufferCapture(limit, policy);
+        this.capture.decide(delegate.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    @Override
+    public Flux<DataBuffer> getBody() {
+        return super.getBody().map(capture::write);
+    }
+
+    public DataBufferCapture getCapture() {
+        return capture;
+    }
+}
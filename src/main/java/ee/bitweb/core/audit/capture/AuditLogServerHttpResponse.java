@@ -0,0 +1,54 @@
+package ee.bitweb.core.audit.capture;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link AuditLogResponseWrapper}, tees the first {@code limit} bytes of the response body
+ * into a {@link DataBufferCapture} on their way to the client. Single buffer bodies stay a {@link Mono}, so the
+ * server can still set the content length for them.
+ */
+public class AuditLogServerHttpResponse extends ServerHttpResponseDecorator {
+
+    private final DataBufferCapture capture;
+
+    public AuditLogServerHttpResponse(ServerHttpResponse delegate, int limit, BodyCapturePolicy policy) {
+        super(delegate);
+        this.capture = new DataBufferCapture(limit, policy);
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        decideCapture();
+
+        if (body instanceof Mono<? extends DataBuffer> mono) {
+            return super.writeWith(mono.map(capture::write));
+        }
+
+        return super.writeWith(Flux.<DataBuffer>from(body).map(capture::write));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        decideCapture();
+
+        return super.writeAndFlushWith(
+                Flux.from(body).map(publisher -> Flux.<DataBuffer>from(publisher).map(capture::write))
+        );
+    }
+
+    public DataBufferCapture getCapture() {
+        decideCapture();
+
+        return capture;
+    }
+
+    private void decideCapture() {
+        capture.decide(getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+}
@@ -0,0 +1,78 @@
+package ee.bitweb.core.audit.capture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Decides by content type whether a request or response body is worth capturing for the audit log. Patterns are media
+ * types without parameters, {@code type/*} matches every subtype. An empty allow list allows every content type that
+ * is not explicitly ignored.
+ */
+public final class BodyCapturePolicy {
+
+    private static final BodyCapturePolicy CAPTURE_ALL = new BodyCapturePolicy(List.of(), List.of());
+
+    private final List<String> allowed;
+    private final List<String> ignored;
+
+    public BodyCapturePolicy(Collection<String> allowed, Collection<String> ignored) {
+        this.allowed = normalize(allowed);
+        this.ignored = normalize(ignored);
+    }
+
+    public static BodyCapturePolicy captureAll() {
+        return CAPTURE_ALL;
+    }
+
+    public boolean isCapturable(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return true;
+        }
+
+        String mediaType = toMediaType(contentType);
+
+        if (matchesAny(ignored, mediaType)) {
+            return false;
+        }
+
+        return allowed.isEmpty() || matchesAny(allowed, mediaType);
+    }
+
+    private static boolean matchesAny(List<String> patterns, String mediaType) {
+        for (String pattern : patterns) {
+            if (matches(pattern, mediaType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean matches(String pattern, String mediaType) {
+        if (pattern.endsWith("/*")) {
+            int typeLength = pattern.length() - 1;
+
+            return mediaType.length() > typeLength && mediaType.regionMatches(0, pattern, 0, typeLength);
+        }
+
+        return pattern.equals(mediaType);
+    }
+
+    private static String toMediaType(String contentType) {
+        int end = contentType.indexOf(';');
+
+        return (end == -1 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> normalize(Collection<String> patterns) {
+        List<String> result = new ArrayList<>(patterns.size());
+
+        for (String pattern : patterns) {
+            result.add(toMediaType(pattern));
+        }
+
+        return List.copyOf(result);
+    }
+}
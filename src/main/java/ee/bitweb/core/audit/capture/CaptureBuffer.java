@@ -0,0 +1,161 @@
+package ee.bitweb.core.audit.capture;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Keeps the first {@code limit} bytes written to it and only counts the rest. The backing array is grown lazily, so
+ * requests and responses without a body never allocate one.
+ */
+public final class CaptureBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final int TEXT_PROBE_SIZE = 64;
+
+    private final int limit;
+
+    private boolean discarded;
+
+    private byte[] buffer = EMPTY;
+    private int size;
+    private long total;
+
+    public CaptureBuffer(int limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    public void write(int b) {
+        total++;
+
+        if (!discarded && size < limit) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+    }
+
+    public void write(byte[] bytes, int offset, int length) {
+        total += length;
+
+        int captured = discarded ? 0 : Math.min(length, limit - size);
+        if (captured > 0) {
+            ensureCapacity(size + captured);
+            System.arraycopy(bytes, offset, buffer, size, captured);
+            size += captured;
+        }
+    }
+
+    /**
+     * Copies from the remaining bytes of the source without moving its position.
+     */
+    public void write(ByteBuffer source) {
+        int length = source.remaining();
+        total += length;
+
+        int captured = discarded ? 0 : Math.min(length, limit - size);
+        if (captured > 0) {
+            ensureCapacity(size + captured);
+            source.get(source.position(), buffer, size, captured);
+            size += captured;
+        }
+    }
+
+    /**
+     * Decodes the captured bytes. When the content was truncated, a character split by the limit is left out instead
+     * of being decoded into a replacement character.
+     */
+    public String toString(Charset charset) {
+        if (!isTruncated()) {
+            return new String(buffer, 0, size, charset);
+        }
+
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer decoded = CharBuffer.allocate((int) Math.ceil(size * (double) decoder.maxCharsPerByte()) + 1);
+
+        // without end of input an incomplete trailing sequence stays undecoded
+        decoder.decode(ByteBuffer.wrap(buffer, 0, size), decoded, false);
+
+        return decoded.flip().toString();
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public int getCapturedSize() {
+        return size;
+    }
+
+    public long getTotalSize() {
+        return total;
+    }
+
+    /**
+     * @return true when the content did not fit into the limit, a discarded capture is never reported as truncated
+     */
+    public boolean isTruncated() {
+        return !discarded && total > size;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void reset() {
+        size = 0;
+        total = 0;
+    }
+
+    /**
+     * Stops capturing and releases already captured bytes, further writes are only counted.
+     */
+    public void discard() {
+        discarded = true;
+        size = 0;
+        buffer = EMPTY;
+    }
+
+    /**
+     * Resumes capturing up to the original limit after {@link #discard()}.
+     */
+    public void restore() {
+        discarded = false;
+    }
+
+    public boolean isDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Inspects the start of the captured content for control characters that do not appear in textual content.
+     */
+    public boolean isProbablyText() {
+        int probe = Math.min(size, TEXT_PROBE_SIZE);
+
+        for (int i = 0; i < probe; i++) {
+            int b = buffer[i] & 0xFF;
+
+            if (b == 0x7F || (b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= buffer.length) {
+            return;
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, buffer.length << 1);
+        buffer = Arrays.copyOf(buffer, Math.min(Math.max(capacity, required), limit));
+    }
+}
@@ -0,0 +1,89 @@
+package ee.bitweb.core.audit.capture;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tees {@link DataBuffer}s of a reactive body into a {@link CaptureBuffer} as they pass by. Buffers are read in place
+ * without moving their read position, so the body is never aggregated and downstream consumers see it untouched.
+ */
+public final class DataBufferCapture {
+
+    private final CaptureBuffer capture;
+    private final BodyCapturePolicy policy;
+
+    private String contentType;
+    private boolean captureDecided;
+
+    public DataBufferCapture(int limit, BodyCapturePolicy policy) {
+        this.capture = new CaptureBuffer(limit);
+        this.policy = policy;
+    }
+
+    /**
+     * Decides by content type whether the body is captured or only counted, only the first call has an effect.
+     */
+    public void decide(String contentType) {
+        if (captureDecided) {
+            return;
+        }
+
+        captureDecided = true;
+        this.contentType = contentType;
+
+        if (!policy.isCapturable(contentType)) {
+            capture.discard();
+        }
+    }
+
+    public DataBuffer write(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                capture.write(iterator.next());
+            }
+        }
+
+        return buffer;
+    }
+
+    public String getCapturedBody() {
+        return capture.toString(getCharset());
+    }
+
+    public long getTotalSize() {
+        return capture.getTotalSize();
+    }
+
+    public boolean isTruncated() {
+        return capture.isTruncated();
+    }
+
+    public boolean isCaptureSkipped() {
+        return capture.isDiscarded();
+    }
+
+    public boolean isProbablyText() {
+        return capture.isProbablyText();
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Charset getCharset() {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+
+        try {
+            Charset charset = MediaType.parseMediaType(contentType).getCharset();
+
+            return charset != null ? charset : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ee.bitweb.core.audit.mappers;
 
+import ee.bitweb.core.audit.AuditLogFilter;
 import ee.bitweb.core.exception.CoreException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,16 +9,40 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.util.Map;
 
+/**
+ * Maps one value of the audited request and response to the audit record.
+ * <p>
+ * {@link AuditLogFilter} passes its own capturing wrappers rather than Spring's content caching wrappers, so
+ * {@link #map(HttpServletRequest, HttpServletResponse, Map)} is the method it calls. Mappers that overrode
+ * {@link #map(ContentCachingRequestWrapper, ContentCachingResponseWrapper, Map)} still compile, but have to move the
+ * override to the servlet typed method to be used by the filter.
+ */
 public interface AuditLogDataMapper {
 
     String getValue(HttpServletRequest request, HttpServletResponse response);
     String getKey();
 
-    default void map(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response, Map<String, String> container) {
+    /**
+     * Body mappers are left out when an audit record is degraded to headers only.
+     */
+    default boolean isBodyMapper() {
+        return false;
+    }
+
+    default void map(HttpServletRequest request, HttpServletResponse response, Map<String, String> container) {
         if (container.containsKey(getKey())) {
             throw new CoreException(String.format("Audit log container already contains value for key %s", getKey()));
         }
 
         container.put(getKey(), getValue(request, response));
     }
+
+    /**
+     * @deprecated no longer called by {@link AuditLogFilter}, override
+     * {@link #map(HttpServletRequest, HttpServletResponse, Map)} instead
+     */
+    @Deprecated(forRemoval = true)
+    default void map(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response, Map<String, String> container) {
+        map((HttpServletRequest) request, (HttpServletResponse) response, container);
+    }
 }
@@ -0,0 +1,12 @@
+package ee.bitweb.core.audit.mappers;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BodySummary {
+
+    public static String create(String contentType, long size) {
+        return String.format("Content not logged. Content type: %s, Content size: %s bytes", contentType, size);
+    }
+}
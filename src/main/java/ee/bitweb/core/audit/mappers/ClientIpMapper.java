@@ -0,0 +1,40 @@
+package ee.bitweb.core.audit.mappers;
+
+import ee.bitweb.core.client_ip.ClientIpResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Logs the client address resolved by {@link ClientIpResolver}, or the remote address when client IP resolution is not
+ * configured.
+ */
+public class ClientIpMapper implements AuditLogDataMapper {
+
+    public static final String KEY = "client_ip";
+
+    private final ClientIpResolver resolver;
+
+    public ClientIpMapper() {
+        this(null);
+    }
+
+    public ClientIpMapper(ClientIpResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public String getValue(HttpServletRequest request, HttpServletResponse response) {
+        if (resolver == null) {
+            String resolved = ClientIpResolver.getResolved(request);
+
+            return resolved != null ? resolved : request.getRemoteAddr();
+        }
+
+        return resolver.resolve(request);
+    }
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+}
@@ -0,0 +1,82 @@
+package ee.bitweb.core.audit.mappers;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Header names to capture, resolved once from configuration. Names are deduplicated case-insensitively and whether a
+ * header is sensitive is decided up front, so capturing does no per-request lookups.
+ */
+final class HeaderSelection {
+
+    private final String[] names;
+    private final boolean[] sensitive;
+
+    HeaderSelection(Collection<String> headers, Set<String> sensitiveHeaders) {
+        Set<String> seen = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> unique = new ArrayList<>(headers.size());
+
+        for (String header : headers) {
+            if (seen.add(header)) {
+                unique.add(header);
+            }
+        }
+
+        this.names = unique.toArray(new String[0]);
+        this.sensitive = new boolean[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            sensitive[i] = sensitiveHeaders.contains(names[i]);
+        }
+    }
+
+    static Set<String> caseInsensitiveSet(Collection<String> values) {
+        Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        result.addAll(values);
+
+        return Collections.unmodifiableSet(result);
+    }
+
+    int size() {
+        return names.length;
+    }
+
+    String getName(int index) {
+        return names[index];
+    }
+
+    boolean isSensitive(int index) {
+        return sensitive[index];
+    }
+
+    /**
+     * Appends a header value to a {@code |} separated list, sensitive values are replaced with their length.
+     */
+    static void appendValue(StringBuilder builder, String value, boolean sensitive) {
+        if (!builder.isEmpty()) {
+            builder.append('|');
+        }
+
+        if (sensitive) {
+            builder.append("Len(").append(value.length()).append(')');
+        } else {
+            builder.append(value);
+        }
+    }
+
+    static String writeObject(JsonMapper mapper, Consumer<JsonGenerator> fields) {
+        StringWriter writer = new StringWriter(128);
+
+        try (JsonGenerator generator = mapper.createGenerator(writer)) {
+            generator.writeStartObject();
+            fields.accept(generator);
+            generator.writeEndObject();
+        }
+
+        return writer.toString();
+    }
+}
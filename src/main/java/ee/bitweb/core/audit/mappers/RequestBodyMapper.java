@@ -1,6 +1,7 @@
 package ee.bitweb.core.audit.mappers;
 
 import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.capture.AuditLogRequestWrapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,10 @@ public class RequestBodyMapper implements AuditLogDataMapper{
 
     @Override
     public String getValue(HttpServletRequest request, HttpServletResponse response) {
+        if (request instanceof AuditLogRequestWrapper wrapper) {
+            return getCapturedValue(wrapper);
+        }
+
         if (request instanceof ContentCachingRequestWrapper wrapper) {
             String content = new String(wrapper.getContentAsByteArray());
 
@@ -32,9 +37,32 @@ public class RequestBodyMapper implements AuditLogDataMapper{
         return null;
     }
 
+    @Override
+    public boolean isBodyMapper() {
+        return true;
+    }
+
     @Override
     public String getKey() {
 
         return KEY;
     }
+
+    private String getCapturedValue(AuditLogRequestWrapper wrapper) {
+        if (wrapper.getTotalSize() > 0 && (wrapper.isCaptureSkipped() || !wrapper.isProbablyText())) {
+            return BodySummary.create(wrapper.getContentType(), wrapper.getTotalSize());
+        }
+
+        String content = wrapper.getCapturedBody();
+
+        if (!StringUtils.hasText(content)) {
+            return null;
+        }
+
+        if (wrapper.isTruncated()) {
+            return String.format("%s ... Content size: %s bytes", content, wrapper.getTotalSize());
+        }
+
+        return content;
+    }
 }
@@ -1,20 +1,18 @@
 package ee.bitweb.core.audit.mappers;
 
+import tools.jackson.core.JsonGenerator;
 import tools.jackson.databind.json.JsonMapper;
 import ee.bitweb.core.audit.AuditLogProperties;
 import ee.bitweb.core.util.HttpForwardedHeaderParser;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
-@RequiredArgsConstructor
 public class RequestForwardingDataMapper implements AuditLogDataMapper {
 
     public static final String KEY = "forwarded";
@@ -28,26 +26,35 @@ public class RequestForwardingDataMapper implements AuditLogDataMapper {
     private static final String FORWARDED_HEADER = "Forwarded";
     private static final String X_FORWARDED_FOR_HEADER = "X-Forwarded-For";
 
-    private final AuditLogProperties properties;
     private final JsonMapper mapper;
+    private final boolean forwardedSensitive;
+    private final boolean xForwardedForSensitive;
 
-    public String getValue(HttpServletRequest request, HttpServletResponse response) {
-        Map<String, String> value = new HashMap<>();
-
-        String forwardedFor = createHeaderValues(request, X_FORWARDED_FOR_HEADER);
-        if (forwardedFor != null) {
-            value.put(X_FORWARDED_FOR, forwardedFor);
-        }
+    public RequestForwardingDataMapper(AuditLogProperties properties, JsonMapper mapper) {
+        Set<String> sensitiveHeaders = HeaderSelection.caseInsensitiveSet(properties.getSensitiveHeaders());
 
-        if (request.getHeader(FORWARDED_HEADER) != null) {
-            value.put(KEY, createHeaderValues(request, FORWARDED_HEADER));
-            if (!isSensitive(FORWARDED_HEADER)) {
-                parseAndAddForwardedMetadata(request, value);
-            }
-        }
+        this.mapper = mapper;
+        this.forwardedSensitive = sensitiveHeaders.contains(FORWARDED_HEADER);
+        this.xForwardedForSensitive = sensitiveHeaders.contains(X_FORWARDED_FOR_HEADER);
+    }
 
+    public String getValue(HttpServletRequest request, HttpServletResponse response) {
         try {
-            return mapper.writeValueAsString(value);
+            return HeaderSelection.writeObject(mapper, generator -> {
+                String forwardedFor = createHeaderValues(request, X_FORWARDED_FOR_HEADER, xForwardedForSensitive);
+                if (forwardedFor != null) {
+                    generator.writeName(X_FORWARDED_FOR);
+                    generator.writeString(forwardedFor);
+                }
+
+                if (request.getHeader(FORWARDED_HEADER) != null) {
+                    generator.writeName(KEY);
+                    generator.writeString(createHeaderValues(request, FORWARDED_HEADER, forwardedSensitive));
+                    if (!forwardedSensitive) {
+                        parseAndWriteForwardedMetadata(request, generator);
+                    }
+                }
+            });
         } catch (Exception e) {
             log.warn("There was an error while parsing request headers");
         }
@@ -55,18 +62,23 @@ public class RequestForwardingDataMapper implements AuditLogDataMapper {
         return null;
     }
 
-    void parseAndAddForwardedMetadata(HttpServletRequest request, Map<String, String> data) {
+    void parseAndWriteForwardedMetadata(HttpServletRequest request, JsonGenerator generator) {
         var result = HttpForwardedHeaderParser.parse(request.getHeaders(FORWARDED_HEADER));
-        data.put(FORWARDED_BY, String.join("|", result.getBy()));
-        data.put(FORWARDED_FOR, String.join("|", result.getAFor()));
-        data.put(FORWARDED_HOST, String.join("|", result.getHost()));
-        data.put(FORWARDED_PROTO, String.join("|", result.getProto()));
-        data.put(
-                FORWARDED_EXTENSIONS,
-                result.getExtensions().stream().map(
-                        HttpForwardedHeaderParser.ForwardedExtension::toString
-                ).collect(Collectors.joining("|"))
-        );
+
+        writeJoined(generator, FORWARDED_BY, result.getBy());
+        writeJoined(generator, FORWARDED_FOR, result.getAFor());
+        writeJoined(generator, FORWARDED_HOST, result.getHost());
+        writeJoined(generator, FORWARDED_PROTO, result.getProto());
+
+        StringBuilder extensions = new StringBuilder();
+        for (HttpForwardedHeaderParser.ForwardedExtension extension : result.getExtensions()) {
+            if (!extensions.isEmpty()) {
+                extensions.append('|');
+            }
+            extensions.append(extension.getKey()).append('=').append(extension.getValue());
+        }
+        generator.writeName(FORWARDED_EXTENSIONS);
+        generator.writeString(extensions.toString());
     }
 
     @Override
@@ -74,27 +86,20 @@ public class RequestForwardingDataMapper implements AuditLogDataMapper {
         return KEY;
     }
 
-    private String createHeaderValues(HttpServletRequest request, String key) {
-        StringBuilder builder = new StringBuilder();
+    private static void writeJoined(JsonGenerator generator, String name, List<String> values) {
+        generator.writeName(name);
+        generator.writeString(String.join("|", values));
+    }
+
+    private static String createHeaderValues(HttpServletRequest request, String key, boolean sensitive) {
         Enumeration<String> headerValues = request.getHeaders(key);
         if (!headerValues.hasMoreElements()) return null;
 
+        StringBuilder builder = new StringBuilder();
         while (headerValues.hasMoreElements()) {
-            if (!builder.isEmpty()) {
-                builder.append("|");
-            }
-            String headerValue = headerValues.nextElement();
-            if (isSensitive(key)) {
-                headerValue = String.format("Len(%s)", headerValue.length());
-            }
-
-            builder.append(headerValue);
+            HeaderSelection.appendValue(builder, headerValues.nextElement(), sensitive);
         }
 
         return builder.toString();
     }
-
-    private boolean isSensitive(String header) {
-        return properties.getSensitiveHeaders().stream().anyMatch(a -> a.equalsIgnoreCase(header));
-    }
 }
@@ -4,36 +4,39 @@ import tools.jackson.databind.json.JsonMapper;
 import ee.bitweb.core.audit.AuditLogProperties;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.Map;
 
 @Slf4j
-@RequiredArgsConstructor
 public class RequestHeadersMapper implements AuditLogDataMapper {
 
-    private final AuditLogProperties properties;
-    private final JsonMapper mapper;
-
     public static final String KEY = "request_headers";
 
-    public String getValue(HttpServletRequest request, HttpServletResponse response) {
-        Map<String, String> result = new HashMap<>();
-
-        for (String additionalHeader : properties.getRequestHeaders()) {
-            String headerValue = request.getHeader(additionalHeader);
+    private final JsonMapper mapper;
+    private final HeaderSelection headers;
+
+    public RequestHeadersMapper(AuditLogProperties properties, JsonMapper mapper) {
+        this.mapper = mapper;
+        this.headers = new HeaderSelection(
+                properties.getRequestHeaders(),
+                HeaderSelection.caseInsensitiveSet(properties.getSensitiveHeaders())
+        );
+    }
 
-            if (!StringUtils.hasText(headerValue)) continue;
+    public String getValue(HttpServletRequest request, HttpServletResponse response) {
+        try {
+            return HeaderSelection.writeObject(mapper, generator -> {
+                for (int i = 0; i < headers.size(); i++) {
+                    String name = headers.getName(i);
 
-            result.put(additionalHeader, createHeaderValues(request, additionalHeader));
-        }
+                    if (!StringUtils.hasText(request.getHeader(name))) continue;
 
-        try {
-            return mapper.writeValueAsString(result);
+                    generator.writeName(name);
+                    generator.writeString(createHeaderValues(request, name, headers.isSensitive(i)));
+                }
+            });
         } catch (Exception e) {
             log.warn("There was an error while parsing request headers");
         }
@@ -45,21 +48,13 @@ public class RequestHeadersMapper implements AuditLogDataMapper {
         return KEY;
     }
 
-    private String createHeaderValues(HttpServletRequest request, String key) {
-        StringBuilder builder = new StringBuilder();
+    private static String createHeaderValues(HttpServletRequest request, String key, boolean sensitive) {
         Enumeration<String> headerValues = request.getHeaders(key);
         if (!headerValues.hasMoreElements()) return null;
 
+        StringBuilder builder = new StringBuilder();
         while (headerValues.hasMoreElements()) {
-            if (!builder.isEmpty()) {
-                builder.append("|");
-            }
-            String headerValue = headerValues.nextElement();
-            if (properties.getSensitiveHeaders().stream().anyMatch(a -> a.equalsIgnoreCase(key))) {
-                headerValue = String.format("Len(%s)", headerValue.length());
-            }
-
-            builder.append(headerValue);
+            HeaderSelection.appendValue(builder, headerValues.nextElement(), sensitive);
         }
 
         return builder.toString();
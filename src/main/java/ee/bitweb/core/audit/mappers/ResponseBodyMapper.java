@@ -1,6 +1,7 @@
 package ee.bitweb.core.audit.mappers;
 
 import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.capture.AuditLogResponseWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -19,6 +20,10 @@ public class ResponseBodyMapper implements AuditLogDataMapper {
     private final AuditLogProperties properties;
 
     public String getValue(HttpServletRequest request, HttpServletResponse response) {
+        if (response instanceof AuditLogResponseWrapper wrapper) {
+            return getCapturedValue(wrapper);
+        }
+
         String responseBody = "";
 
         ContentCachingResponseWrapper responseWrapper = (ContentCachingResponseWrapper) response;
@@ -42,4 +47,23 @@ public class ResponseBodyMapper implements AuditLogDataMapper {
     public String getKey() {
         return KEY;
     }
+
+    @Override
+    public boolean isBodyMapper() {
+        return true;
+    }
+
+    private String getCapturedValue(AuditLogResponseWrapper wrapper) {
+        if (wrapper.getTotalSize() > 0 && (wrapper.isCaptureSkipped() || !wrapper.isProbablyText())) {
+            return BodySummary.create(wrapper.getContentType(), wrapper.getTotalSize());
+        }
+
+        String responseBody = wrapper.getCapturedBody();
+
+        if (wrapper.isTruncated()) {
+            return String.format("%s ... Content size: %s bytes", responseBody, wrapper.getTotalSize());
+        }
+
+        return responseBody;
+    }
 }
@@ -0,0 +1,60 @@
+package ee.bitweb.core.audit.mappers;
+
+import tools.jackson.databind.json.JsonMapper;
+import ee.bitweb.core.audit.AuditLogProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+
+/**
+ * Captures the response headers listed in {@link AuditLogProperties#getResponseHeaders()}. Not enabled by default,
+ * add {@value #KEY} to the configured mappers to use it.
+ */
+@Slf4j
+public class ResponseHeadersMapper implements AuditLogDataMapper {
+
+    public static final String KEY = "response_headers";
+
+    private final JsonMapper mapper;
+    private final HeaderSelection headers;
+
+    public ResponseHeadersMapper(AuditLogProperties properties, JsonMapper mapper) {
+        this.mapper = mapper;
+        this.headers = new HeaderSelection(
+                properties.getResponseHeaders(),
+                HeaderSelection.caseInsensitiveSet(properties.getSensitiveHeaders())
+        );
+    }
+
+    public String getValue(HttpServletRequest request, HttpServletResponse response) {
+        try {
+            return HeaderSelection.writeObject(mapper, generator -> {
+                for (int i = 0; i < headers.size(); i++) {
+                    String name = headers.getName(i);
+                    Collection<String> values = response.getHeaders(name);
+
+                    if (values == null || values.isEmpty()) continue;
+
+                    StringBuilder builder = new StringBuilder();
+                    for (String value : values) {
+                        HeaderSelection.appendValue(builder, value, headers.isSensitive(i));
+                    }
+
+                    generator.writeName(name);
+                    generator.writeString(builder.toString());
+                }
+            });
+        } catch (Exception e) {
+            log.warn("There was an error while parsing response headers");
+        }
+
+        return null;
+    }
+
+    @Override
+    public String getKey() {
+        return KEY;
+    }
+}
@@ -0,0 +1,35 @@
+package ee.bitweb.core.audit.metrics;
+
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingDecision;
+
+/**
+ * Measurements published by {@link ee.bitweb.core.audit.AuditLogFilter}. When metrics are disabled the filter uses
+ * {@link #NOOP} and does not read the clock at all.
+ */
+public interface AuditLogMetrics {
+
+    AuditLogMetrics NOOP = new AuditLogMetrics() {};
+
+    default boolean isEnabled() {
+        return false;
+    }
+
+    default void recordBlacklisted() {
+    }
+
+    default void recordSampling(AuditLogSamplingDecision decision) {
+    }
+
+    default void recordRequestBody(long size, boolean truncated) {
+    }
+
+    default void recordResponseBody(long size, boolean truncated) {
+    }
+
+    default void recordMapper(AuditLogDataMapper mapper, long nanos) {
+    }
+
+    default void recordWrite(long nanos, boolean success) {
+    }
+}
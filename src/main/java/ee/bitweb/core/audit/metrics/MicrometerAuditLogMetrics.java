@@ -0,0 +1,157 @@
+package ee.bitweb.core.audit.metrics;
+
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingDecision;
+import ee.bitweb.core.audit.writers.AsyncAuditLogWriteAdapter;
+import ee.bitweb.core.audit.writers.AuditLogWriteAdapter;
+import io.micrometer.core.instrument.*;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer backed {@link AuditLogMetrics}. All meters are registered up front so recording never touches the
+ * registry.
+ */
+public class MicrometerAuditLogMetrics implements AuditLogMetrics {
+
+    public static final String PREFIX = "audit";
+
+    private final Map<String, Timer> mapperTimers;
+    private final Timer writeSuccessTimer;
+    private final Timer writeFailureTimer;
+    private final DistributionSummary requestBodySize;
+    private final DistributionSummary responseBodySize;
+    private final Counter requestTruncations;
+    private final Counter responseTruncations;
+    private final Counter blacklisted;
+    private final Map<AuditLogSamplingDecision, Counter> samplingDecisions;
+
+    public MicrometerAuditLogMetrics(
+            MeterRegistry registry,
+            List<AuditLogDataMapper> mappers,
+            AuditLogWriteAdapter writer
+    ) {
+        mapperTimers = new HashMap<>();
+        for (AuditLogDataMapper mapper : mappers) {
+            mapperTimers.put(mapper.getKey(), Timer.builder(PREFIX + ".mapper.duration")
+                    .description("Time spent by an audit log mapper")
+                    .tag("mapper", mapper.getKey())
+                    .register(registry));
+        }
+
+        writeSuccessTimer = writeTimer(registry, "success");
+        writeFailureTimer = writeTimer(registry, "failure");
+
+        requestBodySize = bodySize(registry, "request");
+        responseBodySize = bodySize(registry, "response");
+        requestTruncations = truncations(registry, "request");
+        responseTruncations = truncations(registry, "response");
+
+        blacklisted = Counter.builder(PREFIX + ".requests.skipped")
+                .description("Requests left out of the audit log")
+                .tag("reason", "blacklisted")
+                .register(registry);
+
+        samplingDecisions = new EnumMap<>(AuditLogSamplingDecision.class);
+        for (AuditLogSamplingDecision decision : AuditLogSamplingDecision.values()) {
+            samplingDecisions.put(decision, Counter.builder(PREFIX + ".requests.sampled")
+                    .description("Sampling decisions of audited requests")
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+
+        if (writer instanceof AsyncAuditLogWriteAdapter async) {
+            bindAsyncWriter(registry, async);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordBlacklisted() {
+        blacklisted.increment();
+    }
+
+    @Override
+    public void recordSampling(AuditLogSamplingDecision decision) {
+        samplingDecisions.get(decision).increment();
+    }
+
+    @Override
+    public void recordRequestBody(long size, boolean truncated) {
+        requestBodySize.record(size);
+
+        if (truncated) {
+            requestTruncations.increment();
+        }
+    }
+
+    @Override
+    public void recordResponseBody(long size, boolean truncated) {
+        responseBodySize.record(size);
+
+        if (truncated) {
+            responseTruncations.increment();
+        }
+    }
+
+    @Override
+    public void recordMapper(AuditLogDataMapper mapper, long nanos) {
+        Timer timer = mapperTimers.get(mapper.getKey());
+
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void recordWrite(long nanos, boolean success) {
+        if (success) {
+            writeSuccessTimer.record(nanos, TimeUnit.NANOSECONDS);
+        } else {
+            writeFailureTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void bindAsyncWriter(MeterRegistry registry, AsyncAuditLogWriteAdapter writer) {
+        Gauge.builder(PREFIX + ".writer.async.pending", writer, AsyncAuditLogWriteAdapter::getPendingCount)
+                .description("Audit log records waiting in the asynchronous writer buffer")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".writer.async.dropped", writer, AsyncAuditLogWriteAdapter::getDroppedCount)
+                .description("Audit log records dropped because the asynchronous writer buffer was full")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + ".writer.async.failures", writer, AsyncAuditLogWriteAdapter::getFailedCount)
+                .description("Audit log records the asynchronous writer failed to write")
+                .register(registry);
+    }
+
+    private static Timer writeTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(PREFIX + ".writer.duration")
+                .description("Time spent writing an audit log record")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static DistributionSummary bodySize(MeterRegistry registry, String direction) {
+        return DistributionSummary.builder(PREFIX + ".body.size")
+                .description("Size of audited bodies")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    private static Counter truncations(MeterRegistry registry, String direction) {
+        return Counter.builder(PREFIX + ".body.truncated")
+                .description("Audited bodies larger than the loggable size")
+                .tag("direction", direction)
+                .register(registry);
+    }
+}
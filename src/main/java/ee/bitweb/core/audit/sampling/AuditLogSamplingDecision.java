@@ -0,0 +1,19 @@
+package ee.bitweb.core.audit.sampling;
+
+public enum AuditLogSamplingDecision {
+
+    /**
+     * Audit record is written with all configured mappers applied.
+     */
+    FULL,
+
+    /**
+     * Audit record is written without request and response bodies.
+     */
+    HEADERS_ONLY,
+
+    /**
+     * No audit record is written.
+     */
+    SKIP
+}
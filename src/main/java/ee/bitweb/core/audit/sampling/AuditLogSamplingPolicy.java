@@ -0,0 +1,24 @@
+package ee.bitweb.core.audit.sampling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides after the request has been processed whether and at which fidelity it is written to the audit log.
+ */
+public interface AuditLogSamplingPolicy {
+
+    /**
+     * Audits every request that completes without an exception, which is the behaviour without sampling.
+     */
+    AuditLogSamplingPolicy DEFAULT = (request, response, error) -> error == null
+            ? AuditLogSamplingDecision.FULL
+            : AuditLogSamplingDecision.SKIP;
+
+    /**
+     * @param request processed request
+     * @param response response of the request
+     * @param error exception thrown by the filter chain, {@code null} when the request completed normally
+     */
+    AuditLogSamplingDecision decide(HttpServletRequest request, HttpServletResponse response, Throwable error);
+}
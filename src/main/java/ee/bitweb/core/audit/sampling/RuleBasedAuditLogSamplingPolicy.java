@@ -0,0 +1,116 @@
+package ee.bitweb.core.audit.sampling;
+
+import ee.bitweb.core.audit.AuditLogProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampling policy configured by {@link AuditLogProperties.Sampling}. Failed requests (status 400 and above or an
+ * exception) are always audited in full when {@code alwaysLogErrors} is set. Other requests are matched against the
+ * rules in order, the first rule whose path pattern and status match determines the sample rate and the optional
+ * rate limit. Requests over the rate limit are degraded to {@code exhaustedDecision}.
+ * <p>
+ * The rate limit applies per endpoint, that is per HTTP method and handler path pattern resolved by Spring MVC. Requests
+ * without a resolved pattern, and endpoints beyond the first {@value #MAX_ENDPOINTS_PER_RULE} of a rule, share one
+ * limit per rule and method.
+ */
+@Slf4j
+public class RuleBasedAuditLogSamplingPolicy implements AuditLogSamplingPolicy {
+
+    static final int MAX_ENDPOINTS_PER_RULE = 1024;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean alwaysLogErrors;
+    private final double defaultRate;
+    private final AuditLogSamplingDecision exhaustedDecision;
+    private final List<CompiledRule> rules;
+
+    public RuleBasedAuditLogSamplingPolicy(AuditLogProperties.Sampling properties) {
+        this.alwaysLogErrors = properties.isAlwaysLogErrors();
+        this.defaultRate = properties.getDefaultRate();
+        this.exhaustedDecision = properties.getExhaustedDecision();
+        this.rules = new ArrayList<>(properties.getRules().size());
+
+        for (AuditLogProperties.Sampling.Rule rule : properties.getRules()) {
+            log.info(
+                    "Applying Audit Log sampling rule for path {} and statuses {} with rate {} and limit {}/s",
+                    rule.getPath(), rule.getStatuses(), rule.getRate(), rule.getMaxPerSecond()
+            );
+            rules.add(new CompiledRule(
+                    rule.getPath(),
+                    Set.copyOf(rule.getStatuses()),
+                    rule.getRate(),
+                    rule.getMaxPerSecond()
+            ));
+        }
+    }
+
+    @Override
+    public AuditLogSamplingDecision decide(HttpServletRequest request, HttpServletResponse response, Throwable error) {
+        int status = response.getStatus();
+
+        if (alwaysLogErrors && (error != null || status >= 400)) {
+            return AuditLogSamplingDecision.FULL;
+        }
+
+        CompiledRule rule = findRule(request.getRequestURI(), status);
+        double rate = rule != null ? rule.rate : defaultRate;
+
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return AuditLogSamplingDecision.SKIP;
+        }
+
+        if (rule != null && rule.maxPerSecond > 0 && !rule.getBucket(request).tryAcquire()) {
+            return exhaustedDecision;
+        }
+
+        return AuditLogSamplingDecision.FULL;
+    }
+
+    private CompiledRule findRule(String uri, int status) {
+        for (CompiledRule rule : rules) {
+            if ((rule.statuses.isEmpty() || rule.statuses.contains(status)) && pathMatcher.match(rule.path, uri)) {
+                return rule;
+            }
+        }
+
+        return null;
+    }
+
+    @RequiredArgsConstructor
+    private static class CompiledRule {
+
+        private final String path;
+        private final Set<Integer> statuses;
+        private final double rate;
+        private final int maxPerSecond;
+        private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+        private TokenBucket getBucket(HttpServletRequest request) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + ' ' + (pattern instanceof String value ? value : path);
+
+            TokenBucket bucket = buckets.get(endpoint);
+            if (bucket != null) {
+                return bucket;
+            }
+
+            if (buckets.size() >= MAX_ENDPOINTS_PER_RULE) {
+                endpoint = request.getMethod() + ' ' + path;
+            }
+
+            return buckets.computeIfAbsent(endpoint, key -> new TokenBucket(maxPerSecond, maxPerSecond));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ee.bitweb.core.audit.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the only state is the theoretical arrival time
+ * of the next permit, so acquiring a permit is a single compare-and-set.
+ */
+class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong nextArrival;
+
+    TokenBucket(int permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Permits per second and burst must be positive");
+        }
+
+        this.interval = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.tolerance = interval * (burst - 1L);
+        this.nextArrival = new AtomicLong(System.nanoTime());
+    }
+
+    boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long now) {
+        while (true) {
+            long current = nextArrival.get();
+            long start = current - now > 0 ? current : now;
+
+            if (start - now > tolerance) {
+                return false;
+            }
+
+            if (nextArrival.compareAndSet(current, start + interval)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package ee.bitweb.core.audit.writers;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands audit containers off to a bounded ring buffer which is drained in batches by a dedicated consumer thread, so
+ * the request thread does not pay for the actual write. Records that do not fit into the buffer are handled according
+ * to the configured {@link AuditLogOverflowPolicy}. Closing drains the buffer and then closes the delegate when it
+ * is {@link AutoCloseable}.
+ */
+@Slf4j
+public class AsyncAuditLogWriteAdapter implements AuditLogWriteAdapter, AutoCloseable {
+
+    public static final String THREAD_NAME = "audit-log-writer";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Getter
+    private final AuditLogWriteAdapter delegate;
+    private final BoundedRingBuffer<Map<String, String>> buffer;
+    private final int batchSize;
+    private final AuditLogOverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicBoolean consumerParked = new AtomicBoolean();
+    private final Thread consumer;
+
+    private volatile boolean running = true;
+
+    public AsyncAuditLogWriteAdapter(
+            AuditLogWriteAdapter delegate,
+            int bufferSize,
+            int batchSize,
+            AuditLogOverflowPolicy overflowPolicy,
+            Duration blockTimeout
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.delegate = delegate;
+        this.buffer = new BoundedRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+
+        consumer = new Thread(this::consume, THREAD_NAME);
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void write(Map<String, String> container) {
+        if (!running) {
+            droppedCount.incrementAndGet();
+
+            return;
+        }
+
+        if (enqueue(container)) {
+            signalConsumer();
+        } else {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+
+        try {
+            consumer.join(TimeUnit.NANOSECONDS.toMillis(blockTimeoutNanos) + 5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!buffer.isEmpty()) {
+            log.warn("Audit log writer stopped with {} pending records", buffer.size());
+        }
+
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.error("Error occurred while closing audit log writer {}", delegate, e);
+            }
+        }
+    }
+
+    private boolean enqueue(Map<String, String> container) {
+        if (buffer.offer(container)) {
+            return true;
+        }
+
+        return switch (overflowPolicy) {
+            case DROP_NEWEST -> false;
+            case DROP_OLDEST -> replaceOldest(container);
+            case BLOCK -> awaitCapacity(container);
+        };
+    }
+
+    private boolean replaceOldest(Map<String, String> container) {
+        while (!buffer.offer(container)) {
+            if (buffer.poll() != null) {
+                droppedCount.incrementAndGet();
+            }
+        }
+
+        return true;
+    }
+
+    private boolean awaitCapacity(Map<String, String> container) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+
+        do {
+            signalConsumer();
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+
+            if (buffer.offer(container)) {
+                return true;
+            }
+        } while (running && System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted());
+
+        return false;
+    }
+
+    private void signalConsumer() {
+        if (consumerParked.get()) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void consume() {
+        List<Map<String, String>> batch = new ArrayList<>(batchSize);
+
+        while (running || !buffer.isEmpty()) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                park();
+                continue;
+            }
+
+            flush(batch);
+        }
+    }
+
+    private void park() {
+        consumerParked.set(true);
+
+        try {
+            if (running && buffer.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        } finally {
+            consumerParked.set(false);
+        }
+    }
+
+    private void flush(List<Map<String, String>> batch) {
+        try {
+            delegate.writeBatch(batch);
+        } catch (Exception e) {
+            failedCount.addAndGet(batch.size());
+            log.error("Error occurred while writing batch of {} records to audit log", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+}
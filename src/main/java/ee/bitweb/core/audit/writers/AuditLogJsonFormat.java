@@ -0,0 +1,16 @@
+package ee.bitweb.core.audit.writers;
+
+public enum AuditLogJsonFormat {
+
+    /**
+     * One flat JSON object per record with the audit record keys as field names.
+     */
+    JSON,
+
+    /**
+     * GELF 1.1 payload, audit record keys are written as additional fields prefixed with an underscore the same way
+     * logback-gelf writes MDC values, so records sent over a GELF input look like those of
+     * {@link ee.bitweb.core.logging.SilencedGelfTcpAppender}.
+     */
+    GELF
+}
@@ -0,0 +1,19 @@
+package ee.bitweb.core.audit.writers;
+
+import java.io.IOException;
+
+/**
+ * Destination of serialized audit records. Implementations must be safe for concurrent use.
+ */
+public interface AuditLogJsonSink extends AutoCloseable {
+
+    /**
+     * @param bytes UTF-8 encoded record without a line terminator
+     * @param length number of valid bytes in {@code bytes}
+     */
+    void write(byte[] bytes, int length) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
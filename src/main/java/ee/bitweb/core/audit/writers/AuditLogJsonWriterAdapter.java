@@ -0,0 +1,174 @@
+package ee.bitweb.core.audit.writers;
+
+import ee.bitweb.core.audit.AuditLogFilter;
+import ee.bitweb.core.audit.AuditLogRecord;
+import ee.bitweb.core.audit.mappers.RequestMethodMapper;
+import ee.bitweb.core.audit.mappers.RequestUrlDataMapper;
+import ee.bitweb.core.audit.mappers.ResponseStatusMapper;
+import ee.bitweb.core.exception.CoreException;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializes audit records straight into JSON with a streaming generator and hands the bytes to an
+ * {@link AuditLogJsonSink}. Unlike {@link AuditLogLoggerWriterAdapter} it neither copies nor replaces the MDC and the
+ * record is not modified.
+ * <p>
+ * Record keys that would clash with the fields written by the adapter itself, or that are forbidden by the format
+ * (GELF does not allow {@code _id}), are written with the {@value #RESERVED_KEY_PREFIX} prefix.
+ */
+@Slf4j
+public class AuditLogJsonWriterAdapter implements AuditLogWriteAdapter, AutoCloseable {
+
+    private static final int GELF_INFO_LEVEL = 6;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    static final String RESERVED_KEY_PREFIX = "record_";
+
+    private final JsonMapper mapper;
+    private final AuditLogJsonSink sink;
+    private final AuditLogJsonFormat format;
+    private final String host;
+    private final Set<String> reservedKeys;
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    public AuditLogJsonWriterAdapter(JsonMapper mapper, AuditLogJsonSink sink, AuditLogJsonFormat format) {
+        this(mapper, sink, format, resolveHost());
+    }
+
+    public AuditLogJsonWriterAdapter(JsonMapper mapper, AuditLogJsonSink sink, AuditLogJsonFormat format, String host) {
+        this.mapper = mapper;
+        this.sink = sink;
+        this.format = format;
+        this.host = host;
+        this.reservedKeys = format == AuditLogJsonFormat.GELF
+                ? Set.of("id", AuditLogLoggerWriterAdapter.AUDIT_KEY)
+                : Set.of("timestamp", AuditLogLoggerWriterAdapter.AUDIT_KEY);
+    }
+
+    @Override
+    public void write(Map<String, String> container) {
+        Buffer buffer = buffers.get();
+        buffer.reset();
+
+        try (JsonGenerator generator = mapper.createGenerator(buffer)) {
+            if (format == AuditLogJsonFormat.GELF) {
+                writeGelf(generator, container);
+            } else {
+                writeJson(generator, container);
+            }
+        }
+
+        try {
+            sink.write(buffer.array(), buffer.size());
+        } catch (IOException e) {
+            throw new CoreException("Unable to write audit log record", e);
+        } finally {
+            if (buffer.array().length > MAX_RETAINED_BUFFER_SIZE) {
+                buffers.remove();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        sink.close();
+    }
+
+    private void writeJson(JsonGenerator generator, Map<String, String> container) {
+        generator.writeStartObject();
+        generator.writeName("timestamp");
+        generator.writeNumber(System.currentTimeMillis());
+        generator.writeName(AuditLogLoggerWriterAdapter.AUDIT_KEY);
+        generator.writeString("1");
+
+        for (Map.Entry<String, String> entry : container.entrySet()) {
+            generator.writeName(toName(entry.getKey()));
+            writeValue(generator, container, entry);
+        }
+
+        generator.writeEndObject();
+    }
+
+    private void writeGelf(JsonGenerator generator, Map<String, String> container) {
+        generator.writeStartObject();
+        generator.writeName("version");
+        generator.writeString("1.1");
+        generator.writeName("host");
+        generator.writeString(host);
+        generator.writeName("short_message");
+        generator.writeString(createShortMessage(container));
+        generator.writeName("timestamp");
+        generator.writeNumber(BigDecimal.valueOf(System.currentTimeMillis(), 3));
+        generator.writeName("level");
+        generator.writeNumber(GELF_INFO_LEVEL);
+        generator.writeName("_" + AuditLogLoggerWriterAdapter.AUDIT_KEY);
+        generator.writeString("1");
+
+        for (Map.Entry<String, String> entry : container.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+
+            generator.writeName("_" + toName(entry.getKey()));
+            writeValue(generator, container, entry);
+        }
+
+        generator.writeEndObject();
+    }
+
+    private String toName(String key) {
+        return reservedKeys.contains(key) ? RESERVED_KEY_PREFIX + key : key;
+    }
+
+    private static void writeValue(JsonGenerator generator, Map<String, String> container, Map.Entry<String, String> entry) {
+        if (container instanceof AuditLogRecord record
+                && AuditLogFilter.DURATION_KEY.equals(entry.getKey())
+                && record.getDuration() != AuditLogRecord.UNSET) {
+            generator.writeNumber(record.getDuration());
+        } else if (entry.getValue() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(entry.getValue());
+        }
+    }
+
+    private static String createShortMessage(Map<String, String> container) {
+        return String.format(
+                "Method(%s) URL(%s) Status(%s) Duration(%s ms)",
+                container.getOrDefault(RequestMethodMapper.KEY, "-"),
+                container.getOrDefault(RequestUrlDataMapper.KEY, "-"),
+                container.getOrDefault(ResponseStatusMapper.KEY, "-"),
+                container.getOrDefault(AuditLogFilter.DURATION_KEY, "-")
+        );
+    }
+
+    private static String resolveHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            log.warn("Unable to resolve local host name for GELF audit records", e);
+
+            return "unknown";
+        }
+    }
+
+    private static class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(1024);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
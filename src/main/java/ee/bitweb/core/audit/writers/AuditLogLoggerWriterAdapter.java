@@ -96,7 +96,7 @@ public class AuditLogLoggerWriterAdapter implements AuditLogWriteAdapter {
                 return Collections.emptyMap();
             }
 
-            Map<String, String> debug = new HashMap<>();
+            Map<String, String> debug = new HashMap<>(keys.size() + 2, 1f);
 
             for (String key : keys) {
                 if (container.containsKey(key)) {
@@ -0,0 +1,19 @@
+package ee.bitweb.core.audit.writers;
+
+public enum AuditLogOverflowPolicy {
+
+    /**
+     * Discards the oldest queued record to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards the record that could not be queued.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Waits for free space up to the configured timeout, discarding the new record if none became available.
+     */
+    BLOCK
+}
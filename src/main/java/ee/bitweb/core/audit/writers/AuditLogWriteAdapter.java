@@ -1,8 +1,15 @@
 package ee.bitweb.core.audit.writers;
 
+import java.util.List;
 import java.util.Map;
 
 public interface AuditLogWriteAdapter {
 
     void write(Map<String, String> container);
+
+    default void writeBatch(List<Map<String, String>> containers) {
+        for (Map<String, String> container : containers) {
+            write(container);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package ee.bitweb.core.audit.writers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends records to a file, one record per line. Writes go straight to the channel, the caller is expected to batch
+ * (see {@link AsyncAuditLogWriteAdapter}) when throughput matters.
+ */
+public class FileChannelAuditLogJsonSink implements AuditLogJsonSink {
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final FileChannel channel;
+
+    public FileChannelAuditLogJsonSink(Path path) throws IOException {
+        this.channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+        );
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int length) throws IOException {
+        ByteBuffer[] buffers = {ByteBuffer.wrap(bytes, 0, length), ByteBuffer.wrap(LINE_SEPARATOR)};
+
+        while (buffers[1].hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
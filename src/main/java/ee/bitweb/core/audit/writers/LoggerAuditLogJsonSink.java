@@ -0,0 +1,32 @@
+package ee.bitweb.core.audit.writers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Logs every record as the message of an info level event on a dedicated logger, MDC is left untouched. Route the
+ * logger to an appender with a {@code %msg%n} pattern to get one JSON document per line.
+ */
+public class LoggerAuditLogJsonSink implements AuditLogJsonSink {
+
+    public static final String LOGGER_NAME = "AuditJsonLogger";
+
+    private final Logger log;
+
+    public LoggerAuditLogJsonSink() {
+        this(LOGGER_NAME);
+    }
+
+    public LoggerAuditLogJsonSink(String loggerName) {
+        this.log = LoggerFactory.getLogger(loggerName);
+    }
+
+    @Override
+    public void write(byte[] bytes, int length) {
+        if (log.isInfoEnabled()) {
+            log.info(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+}
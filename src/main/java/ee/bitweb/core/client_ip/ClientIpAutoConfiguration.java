@@ -0,0 +1,37 @@
+package ee.bitweb.core.client_ip;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties({ClientIpProperties.class})
+@ConditionalOnProperty(value = ClientIpProperties.PREFIX + ".auto-configuration", havingValue = "true")
+@ConditionalOnClass(name = "jakarta.servlet.Filter")
+public class ClientIpAutoConfiguration {
+
+    private final ClientIpProperties properties;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ClientIpResolver clientIpResolver() {
+        log.info("Creating default ClientIpResolver bean with trusted proxies {}", properties.getTrustedProxies());
+
+        return new ClientIpResolver(new TrustedProxies(properties.getTrustedProxies()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ClientIpFilter clientIpFilter(ClientIpResolver resolver) {
+        log.info("Creating default ClientIpFilter bean");
+
+        return new ClientIpFilter(resolver, properties.getMdcKey());
+    }
+}
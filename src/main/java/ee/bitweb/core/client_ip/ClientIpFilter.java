@@ -0,0 +1,46 @@
+package ee.bitweb.core.client_ip;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+
+/**
+ * Resolves the client address once at the start of the chain, so later filters, audit log and rate limiting read it
+ * from the request attribute instead of parsing the forwarding headers again.
+ */
+@Order(Integer.MIN_VALUE + 19)
+@RequiredArgsConstructor
+public class ClientIpFilter implements Filter {
+
+    private final ClientIpResolver resolver;
+    private final String mdcKey;
+
+    @Override
+    public void doFilter(
+            ServletRequest request, ServletResponse response, FilterChain chain
+    ) throws IOException, ServletException {
+        boolean published = false;
+
+        if (request instanceof HttpServletRequest httpServletRequest) {
+            String clientIp = resolver.resolve(httpServletRequest);
+
+            if (clientIp != null && StringUtils.hasText(mdcKey)) {
+                MDC.put(mdcKey, clientIp);
+                published = true;
+            }
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (published) {
+                MDC.remove(mdcKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ee.bitweb.core.client_ip;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ee.bitweb.core.client_ip.ClientIpProperties.PREFIX;
+
+@Setter
+@Getter
+@Validated
+@ConfigurationProperties(PREFIX)
+public class ClientIpProperties {
+
+    static final String PREFIX = "ee.bitweb.core.client-ip";
+
+    private boolean autoConfiguration = false;
+
+    /**
+     * Addresses or CIDR ranges of proxies whose forwarding headers are trusted, e.g. {@code 10.0.0.0/8} or
+     * {@code fd00::/8}.
+     */
+    private List<@NotBlank String> trustedProxies = new ArrayList<>(List.of("127.0.0.0/8", "::1/128"));
+
+    /**
+     * MDC key the resolved client address is published under for the duration of the request, blank disables it.
+     */
+    private String mdcKey = "client_ip";
+}
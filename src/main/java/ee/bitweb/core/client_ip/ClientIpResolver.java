@@ -0,0 +1,137 @@
+package ee.bitweb.core.client_ip;
+
+import ee.bitweb.core.util.HttpForwardedHeaderParser;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Resolves the address of the client that originated the request. The forwarding chain (the {@code for} parameters of
+ * {@code Forwarded}, or {@code X-Forwarded-For} when the former is absent) together with the remote address is walked
+ * right to left, skipping hops that belong to {@link TrustedProxies}. The first untrusted hop is the client. Forwarding
+ * headers are ignored entirely when the request did not arrive from a trusted proxy, since anyone can set them.
+ * <p>
+ * The result is stored as a request attribute, so every consumer of the same request gets the same answer and the
+ * chain is parsed only once.
+ */
+public class ClientIpResolver {
+
+    public static final String ATTRIBUTE = ClientIpResolver.class.getName() + ".CLIENT_IP";
+
+    static final String FORWARDED_HEADER = "Forwarded";
+    static final String X_FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final TrustedProxies trustedProxies;
+
+    public ClientIpResolver(TrustedProxies trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    /**
+     * @return address resolved earlier for this request by {@link #resolve(HttpServletRequest)}, or null
+     */
+    public static String getResolved(ServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof String ip ? ip : null;
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String resolved = getResolved(request);
+
+        if (resolved == null) {
+            resolved = resolveChain(request);
+
+            if (resolved != null) {
+                request.setAttribute(ATTRIBUTE, resolved);
+            }
+        }
+
+        return resolved;
+    }
+
+    private String resolveChain(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+
+        if (trustedProxies.isEmpty() || !trustedProxies.isTrusted(client)) {
+            return client;
+        }
+
+        List<String> hops = getForwardedHops(request);
+
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = stripPort(hops.get(i));
+            byte[] address = TrustedProxies.parseLiteral(hop);
+
+            if (address == null) {
+                // obfuscated identifier or "unknown", the hop before it is the closest known address
+                return client;
+            }
+
+            client = hop;
+
+            if (!trustedProxies.isTrusted(address)) {
+                return client;
+            }
+        }
+
+        return client;
+    }
+
+    private static List<String> getForwardedHops(HttpServletRequest request) {
+        List<String> hops = new ArrayList<>();
+        Enumeration<String> forwarded = request.getHeaders(FORWARDED_HEADER);
+
+        if (forwarded != null && forwarded.hasMoreElements()) {
+            while (forwarded.hasMoreElements()) {
+                String value = forwarded.nextElement();
+
+                if (value != null && !value.isBlank()) {
+                    hops.addAll(HttpForwardedHeaderParser.parse(value).getAFor());
+                }
+            }
+
+            return hops;
+        }
+
+        Enumeration<String> xForwardedFor = request.getHeaders(X_FORWARDED_FOR_HEADER);
+        while (xForwardedFor != null && xForwardedFor.hasMoreElements()) {
+            String value = xForwardedFor.nextElement();
+            int start = 0;
+
+            while (value != null && start <= value.length()) {
+                int end = value.indexOf(',', start);
+                if (end == -1) {
+                    end = value.length();
+                }
+
+                String hop = value.substring(start, end).strip();
+                if (!hop.isEmpty()) {
+                    hops.add(hop);
+                }
+                start = end + 1;
+            }
+        }
+
+        return hops;
+    }
+
+    /**
+     * Removes brackets and port from forms like {@code [2001:db8::1]:4711} and {@code 192.0.2.43:47011}.
+     */
+    static String stripPort(String hop) {
+        if (hop.startsWith("[")) {
+            int end = hop.indexOf(']');
+
+            return end == -1 ? hop : hop.substring(1, end);
+        }
+
+        int colon = hop.indexOf(':');
+        if (colon != -1 && hop.indexOf(':', colon + 1) == -1) {
+            return hop.substring(0, colon);
+        }
+
+        return hop;
+    }
+}
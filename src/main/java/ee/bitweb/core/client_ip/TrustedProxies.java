@@ -0,0 +1,230 @@
+package ee.bitweb.core.client_ip;
+
+import ee.bitweb.core.exception.CoreException;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Set of trusted proxy ranges compiled once into binary prefix tries, one for IPv4 and one for IPv6. A lookup walks at
+ * most 32 or 128 nodes and stops at the first range that covers the address.
+ * <p>
+ * Only address literals are accepted, host names are never resolved.
+ */
+public final class TrustedProxies {
+
+    private static final int IPV4_BITS = 32;
+    private static final int IPV6_BITS = 128;
+    private static final int IPV4_MAPPED_PREFIX = 96;
+
+    private final PrefixTrie ipv4;
+    private final PrefixTrie ipv6;
+
+    public TrustedProxies(Collection<String> ranges) {
+        PrefixTrie.Builder ipv4Builder = new PrefixTrie.Builder();
+        PrefixTrie.Builder ipv6Builder = new PrefixTrie.Builder();
+
+        for (String range : ranges) {
+            if (range == null || range.isBlank()) {
+                continue;
+            }
+
+            String value = range.strip();
+            int separator = value.indexOf('/');
+            String address = separator == -1 ? value : value.substring(0, separator);
+
+            byte[] bytes = parseLiteral(address);
+            if (bytes == null) {
+                throw new CoreException(String.format("Invalid trusted proxy range %s", range));
+            }
+
+            int bits = bytes.length == 4 ? IPV4_BITS : IPV6_BITS;
+            int prefix = separator == -1 ? bits : parsePrefix(range, value.substring(separator + 1));
+
+            if (bytes.length == 4 && address.indexOf(':') != -1 && separator != -1) {
+                // IPv4-mapped IPv6 range, e.g. ::ffff:10.0.0.0/104
+                prefix -= IPV4_MAPPED_PREFIX;
+            }
+            if (prefix < 0 || prefix > bits) {
+                throw new CoreException(String.format("Invalid trusted proxy range %s", range));
+            }
+
+            (bytes.length == 4 ? ipv4Builder : ipv6Builder).add(bytes, prefix);
+        }
+
+        this.ipv4 = ipv4Builder.build();
+        this.ipv6 = ipv6Builder.build();
+    }
+
+    public boolean isTrusted(String address) {
+        if (address == null) {
+            return false;
+        }
+
+        return isTrusted(parseLiteral(address));
+    }
+
+    public boolean isTrusted(byte[] address) {
+        if (address == null) {
+            return false;
+        }
+
+        return address.length == 4 ? ipv4.contains(address) : ipv6.contains(address);
+    }
+
+    public boolean isEmpty() {
+        return ipv4.isEmpty() && ipv6.isEmpty();
+    }
+
+    /**
+     * Parses an IPv4 or IPv6 address literal without any name resolution.
+     *
+     * @return 4 or 16 address bytes, IPv4-mapped IPv6 addresses are returned as IPv4, or null when value is not an
+     * address literal
+     */
+    public static byte[] parseLiteral(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        if (value.indexOf(':') == -1) {
+            return parseIpv4(value);
+        }
+
+        int zone = value.indexOf('%');
+        String address = zone == -1 ? value : value.substring(0, zone);
+
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+
+            if (Character.digit(c, 16) == -1 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+
+        try {
+            // a string consisting of hex digits, colons and dots is always treated as a literal, never looked up
+            return InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static byte[] parseIpv4(String value) {
+        byte[] result = new byte[4];
+        int octet = 0;
+        int current = -1;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == '.') {
+                if (current == -1 || octet == 3) {
+                    return null;
+                }
+                result[octet++] = (byte) current;
+                current = -1;
+            } else if (c >= '0' && c <= '9') {
+                current = current == -1 ? c - '0' : current * 10 + (c - '0');
+
+                if (current > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+
+        if (current == -1 || octet != 3) {
+            return null;
+        }
+        result[octet] = (byte) current;
+
+        return result;
+    }
+
+    private static int parsePrefix(String range, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new CoreException(String.format("Invalid trusted proxy range %s", range), e);
+        }
+    }
+
+    /**
+     * Binary trie stored in flat arrays, node {@code n} has its children at {@code children[2n]} and
+     * {@code children[2n + 1]}, 0 meaning no child since the root is never a child.
+     */
+    static final class PrefixTrie {
+
+        private final int[] children;
+        private final boolean[] terminal;
+
+        private PrefixTrie(int[] children, boolean[] terminal) {
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        boolean isEmpty() {
+            return !terminal[0] && children[0] == 0 && children[1] == 0;
+        }
+
+        boolean contains(byte[] address) {
+            int node = 0;
+            int bits = address.length * 8;
+
+            for (int i = 0; i < bits; i++) {
+                if (terminal[node]) {
+                    return true;
+                }
+
+                int bit = (address[i >>> 3] >>> (7 - (i & 7))) & 1;
+                node = children[2 * node + bit];
+
+                if (node == 0) {
+                    return false;
+                }
+            }
+
+            return terminal[node];
+        }
+
+        static final class Builder {
+
+            private int[] children = new int[32];
+            private boolean[] terminal = new boolean[16];
+            private int size = 1;
+
+            void add(byte[] address, int prefix) {
+                int node = 0;
+
+                for (int i = 0; i < prefix && !terminal[node]; i++) {
+                    int bit = (address[i >>> 3] >>> (7 - (i & 7))) & 1;
+                    int index = 2 * node + bit;
+
+                    if (children[index] == 0) {
+                        children[index] = newNode();
+                    }
+                    node = children[index];
+                }
+
+                terminal[node] = true;
+            }
+
+            PrefixTrie build() {
+                return new PrefixTrie(Arrays.copyOf(children, size * 2), Arrays.copyOf(terminal, size));
+            }
+
+            private int newNode() {
+                if (size == terminal.length) {
+                    terminal = Arrays.copyOf(terminal, size * 2);
+                    children = Arrays.copyOf(children, size * 4);
+                }
+
+                return size++;
+            }
+        }
+    }
+}
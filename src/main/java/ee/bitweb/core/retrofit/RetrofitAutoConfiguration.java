@@ -6,6 +6,8 @@ import ee.bitweb.core.retrofit.interceptor.auth.AuthTokenInjectInterceptor;
 import ee.bitweb.core.retrofit.interceptor.auth.TokenProvider;
 import ee.bitweb.core.retrofit.interceptor.auth.criteria.AuthTokenCriteria;
 import ee.bitweb.core.retrofit.interceptor.auth.criteria.WhitelistCriteria;
+import ee.bitweb.core.retrofit.interceptor.circuitbreaker.CircuitBreakerInterceptor;
+import ee.bitweb.core.retrofit.interceptor.retry.RetryInterceptor;
 import ee.bitweb.core.retrofit.logging.NoopRetrofitLoggingInterceptor;
 import ee.bitweb.core.retrofit.logging.RetrofitLoggingInterceptor;
 import ee.bitweb.core.retrofit.logging.RetrofitLoggingInterceptorImplementation;
@@ -13,6 +15,9 @@ import ee.bitweb.core.retrofit.logging.mappers.*;
 import ee.bitweb.core.retrofit.logging.writers.RetrofitLogLoggerWriterAdapter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -25,6 +30,7 @@ import retrofit2.converter.jackson.JacksonConverterFactory;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 @Slf4j
@@ -34,6 +40,8 @@ import java.util.regex.Pattern;
 @EnableConfigurationProperties({RetrofitProperties.class})
 public class RetrofitAutoConfiguration {
 
+    public static final String ROOT_CLIENT_BEAN_NAME = "defaultRetrofitOkHttpClient";
+
     @Bean
     @ConditionalOnMissingBean(Converter.Factory.class)
     public Converter.Factory defaultJacksonConverterFactory(ObjectMapper mapper) {
@@ -75,6 +83,32 @@ public class RetrofitAutoConfiguration {
         return criteria;
     }
 
+    @Bean
+    @ConditionalOnProperty(value = RetrofitProperties.PREFIX + ".retry.auto-configuration", havingValue = "true")
+    public RetryInterceptor defaultRetryInterceptor(RetrofitProperties properties) {
+        RetrofitProperties.Retry retry = properties.getRetry();
+
+        log.info(
+                "Creating Retry Interceptor for Retrofit with {} attempts for methods {} on statuses {}",
+                retry.getMaxAttempts(), retry.getMethods(), retry.getStatuses()
+        );
+
+        return new RetryInterceptor(retry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = RetrofitProperties.PREFIX + ".circuit-breaker.auto-configuration", havingValue = "true")
+    public CircuitBreakerInterceptor defaultCircuitBreakerInterceptor(RetrofitProperties properties) {
+        RetrofitProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+
+        log.info(
+                "Creating Circuit Breaker Interceptor for Retrofit with window of {} calls, failure rate threshold {}% and slow call rate threshold {}%",
+                circuitBreaker.getWindowSize(), circuitBreaker.getFailureRateThreshold(), circuitBreaker.getSlowCallRateThreshold()
+        );
+
+        return new CircuitBreakerInterceptor(circuitBreaker);
+    }
+
     @Bean("defaultRetrofitLoggingInterceptor")
     @Primary
     public RetrofitLoggingInterceptor defaultRetrofitLoggingInterceptor(
@@ -175,4 +209,51 @@ public class RetrofitAutoConfiguration {
                 retrofitProperties.getLogging().getMaxLoggableResponseBodySize().intValue()
         );
     }
+
+    /**
+     * Root client all Retrofit APIs are derived from, looked up by name so unrelated {@link OkHttpClient} beans of the
+     * application neither replace it nor make it ambiguous. Its dispatcher and connection pool are shut down together
+     * with the application context, but only when it was created here.
+     */
+    @Configuration
+    @ConditionalOnMissingBean(name = ROOT_CLIENT_BEAN_NAME)
+    static class RootClientConfiguration {
+
+        @Bean(destroyMethod = "shutdown")
+        RootClientLifecycle defaultRetrofitOkHttpClientLifecycle(RetrofitProperties properties) {
+            RetrofitProperties.ConnectionPool pool = properties.getConnectionPool();
+            RetrofitProperties.Dispatcher limits = properties.getDispatcher();
+
+            log.info(
+                    "Creating shared Retrofit OkHttpClient with {} idle connections kept alive for {} ms, max {} requests and {} requests per host",
+                    pool.getMaxIdleConnections(), pool.getKeepAlive(), limits.getMaxRequests(), limits.getMaxRequestsPerHost()
+            );
+
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(limits.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(limits.getMaxRequestsPerHost());
+
+            return new RootClientLifecycle(
+                    new OkHttpClient.Builder()
+                            .connectionPool(new ConnectionPool(pool.getMaxIdleConnections(), pool.getKeepAlive(), TimeUnit.MILLISECONDS))
+                            .dispatcher(dispatcher)
+                            .build()
+            );
+        }
+
+        @Bean(name = ROOT_CLIENT_BEAN_NAME, destroyMethod = "")
+        public OkHttpClient defaultRetrofitOkHttpClient(RootClientLifecycle lifecycle) {
+            return lifecycle.client();
+        }
+    }
+
+    record RootClientLifecycle(OkHttpClient client) {
+
+        void shutdown() {
+            log.info("Shutting down shared Retrofit OkHttpClient");
+
+            client.dispatcher().executorService().shutdown();
+            client.connectionPool().evictAll();
+        }
+    }
 }
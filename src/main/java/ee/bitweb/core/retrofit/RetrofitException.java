@@ -21,6 +21,13 @@ public class RetrofitException extends CoreException {
         this.errorBody = responseBody;
     }
 
+    public RetrofitException(String message, String url, HttpStatus status, String responseBody, Throwable cause) {
+        super(String.format("%s : %s", message, generateRequestMessage(url, status, responseBody)), cause);
+        this.url = url;
+        this.httpStatus = status;
+        this.errorBody = responseBody;
+    }
+
     public static <T> RetrofitException of(String message, Call<T> request, retrofit2.Response<T> response) {
         return new RetrofitException(
                 message,
@@ -30,6 +37,21 @@ public class RetrofitException extends CoreException {
         );
     }
 
+    public static <T> RetrofitException of(
+            String message,
+            Call<T> request,
+            retrofit2.Response<T> response,
+            Throwable cause
+    ) {
+        return new RetrofitException(
+                message,
+                extractUrl(request),
+                extractStatus(response),
+                extractErrorBody(response),
+                cause
+        );
+    }
+
     private static String generateRequestMessage(String url, HttpStatus status, String errorBody) {
         return String.format(
                 "Request url: %s, status: %s, body: %s",
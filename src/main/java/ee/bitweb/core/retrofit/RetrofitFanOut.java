@@ -0,0 +1,232 @@
+package ee.bitweb.core.retrofit;
+
+import lombok.extern.slf4j.Slf4j;
+import retrofit2.Call;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs a group of independent Retrofit calls concurrently under one overall deadline.
+ * <pre>{@code
+ * RetrofitFanOut fanOut = new RetrofitFanOut(executor, Duration.ofSeconds(2), RetrofitFanOut.Mode.FAIL_FAST);
+ * RetrofitFanOut.Result<User> user = fanOut.addRaw(userApi.get(id));
+ * RetrofitFanOut.Result<List<Order>> orders = fanOut.add(orderApi.list(id));
+ * fanOut.execute();
+ *
+ * return new Summary(user.get(), orders.get());
+ * }</pre>
+ * Calls still running when the deadline passes are cancelled, and the deadline is also set on every call itself, so
+ * a straggler stops using its connection even while blocked in I/O. In {@link Mode#FAIL_FAST} mode the first failure
+ * cancels the remaining calls and is thrown from {@link #execute()}, in {@link Mode#COLLECT_PARTIAL} mode every call
+ * runs to completion or the deadline and failures are reported per {@link Result}.
+ * <p>
+ * Calls are executed with {@link RetrofitRequestExecutor}, so they carry the trace id of the calling thread. An
+ * instance is meant for a single {@link #execute()}.
+ */
+@Slf4j
+public class RetrofitFanOut {
+
+    static final String DEADLINE_EXCEEDED_ERROR = "DEADLINE_EXCEEDED_ERROR";
+    static final String CANCELLED_REQUEST_ERROR = "CANCELLED_REQUEST_ERROR";
+    static final String INTERRUPTED_ERROR = "INTERRUPTED_ERROR";
+
+    public enum Mode {
+        FAIL_FAST,
+        COLLECT_PARTIAL
+    }
+
+    private final Executor executor;
+    private final Duration deadline;
+    private final Mode mode;
+    private final List<Result<?>> results = new ArrayList<>();
+
+    private boolean executed;
+
+    public RetrofitFanOut(Executor executor, Duration deadline, Mode mode) {
+        this.executor = executor;
+        this.deadline = deadline;
+        this.mode = mode;
+    }
+
+    /**
+     * Adds a call whose body is unwrapped as by {@link RetrofitRequestExecutor#execute(Call)}.
+     */
+    public <T> Result<T> add(Call<Response<T>> call) {
+        return register(call, RetrofitRequestExecutor::executeAsync);
+    }
+
+    /**
+     * Adds a call whose body is returned as by {@link RetrofitRequestExecutor#executeRaw(Call)}.
+     */
+    public <T> Result<T> addRaw(Call<T> call) {
+        return register(call, RetrofitRequestExecutor::executeRawAsync);
+    }
+
+    /**
+     * Starts all added calls and waits until they are complete or the deadline has passed.
+     *
+     * @throws RetrofitException in {@link Mode#FAIL_FAST} mode, the first failure or a deadline exceeded error
+     */
+    public void execute() {
+        if (executed) {
+            throw new IllegalStateException("Fan-out has already been executed");
+        }
+        executed = true;
+
+        long deadlineNanoTime = System.nanoTime() + deadline.toNanos();
+        CompletableFuture<Result<?>> firstFailure = new CompletableFuture<>();
+
+        for (Result<?> result : results) {
+            result.start(executor, deadlineNanoTime);
+
+            if (mode == Mode.FAIL_FAST) {
+                result.future.whenComplete((value, e) -> {
+                    if (e != null) {
+                        firstFailure.complete(result);
+                    }
+                });
+            }
+        }
+
+        CompletableFuture<?> all = CompletableFuture.allOf(
+                results.stream().map(result -> result.future).toArray(CompletableFuture[]::new)
+        ).handle((value, e) -> null);
+
+        String cancelReason = CANCELLED_REQUEST_ERROR;
+        try {
+            CompletableFuture.anyOf(all, firstFailure).get(
+                    Math.max(0, deadlineNanoTime - System.nanoTime()),
+                    TimeUnit.NANOSECONDS
+            );
+        } catch (TimeoutException e) {
+            log.warn("Fan-out of {} requests exceeded deadline of {}", results.size(), deadline);
+            cancelReason = DEADLINE_EXCEEDED_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelReason = INTERRUPTED_ERROR;
+        } catch (ExecutionException e) {
+            // not reached, failures are reported per result
+        }
+
+        cancelAll(cancelReason);
+
+        if (mode == Mode.FAIL_FAST) {
+            Result<?> failed = firstFailure.getNow(null);
+
+            if (failed == null) {
+                failed = results.stream().filter(result -> result.getError() != null).findFirst().orElse(null);
+            }
+            if (failed != null) {
+                throw failed.getError();
+            }
+        }
+    }
+
+    public List<Result<?>> getResults() {
+        return List.copyOf(results);
+    }
+
+    private <C extends Call<?>, T> Result<T> register(
+            C call,
+            BiFunction<C, Executor, CompletableFuture<T>> execution
+    ) {
+        if (executed) {
+            throw new IllegalStateException("Fan-out has already been executed");
+        }
+
+        Result<T> result = new Result<>(call, target -> execution.apply(call, target));
+        results.add(result);
+
+        return result;
+    }
+
+    private void cancelAll(String reason) {
+        for (Result<?> result : results) {
+            result.cancel(reason);
+        }
+    }
+
+    /**
+     * Outcome of a single call of the fan-out, available after {@link #execute()} has returned.
+     */
+    public static final class Result<T> {
+
+        private final Call<?> call;
+        private final Function<Executor, CompletableFuture<T>> execution;
+
+        private CompletableFuture<T> future;
+        private volatile String cancelReason;
+        private RetrofitException error;
+
+        private Result(Call<?> call, Function<Executor, CompletableFuture<T>> execution) {
+            this.call = call;
+            this.execution = execution;
+        }
+
+        /**
+         * @return the response body
+         * @throws RetrofitException when the call failed, was cancelled or did not finish before the deadline
+         */
+        public T get() {
+            RetrofitException failure = getError();
+
+            if (failure != null) {
+                throw failure;
+            }
+
+            return future.join();
+        }
+
+        public boolean isSuccessful() {
+            return future != null && future.isDone() && !future.isCompletedExceptionally();
+        }
+
+        /**
+         * @return failure of the call, or null when it succeeded or has not completed
+         */
+        public RetrofitException getError() {
+            if (error == null && future != null && future.isCompletedExceptionally()) {
+                error = resolveError();
+            }
+
+            return error;
+        }
+
+        private void start(Executor executor, long deadlineNanoTime) {
+            try {
+                call.timeout().deadlineNanoTime(deadlineNanoTime);
+            } catch (RuntimeException e) {
+                // request could not be created, executing the call reports the failure
+            }
+            future = execution.apply(executor);
+        }
+
+        private void cancel(String reason) {
+            if (!future.isDone()) {
+                cancelReason = reason;
+                future.cancel(true);
+            }
+        }
+
+        private RetrofitException resolveError() {
+            try {
+                future.join();
+
+                return null;
+            } catch (CancellationException e) {
+                return RetrofitException.of(cancelReason != null ? cancelReason : CANCELLED_REQUEST_ERROR, call, null);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RetrofitException retrofitException) {
+                    return retrofitException;
+                }
+
+                return RetrofitException.of(RetrofitRequestExecutor.REQUEST_ERROR, call, null);
+            }
+        }
+    }
+}
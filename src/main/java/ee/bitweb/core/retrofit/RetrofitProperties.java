@@ -3,8 +3,12 @@ package ee.bitweb.core.retrofit;
 import ee.bitweb.core.retrofit.builder.LoggingLevel;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -37,6 +41,18 @@ public class RetrofitProperties {
     @Valid
     private Timeout timeout = new Timeout();
 
+    @Valid
+    private ConnectionPool connectionPool = new ConnectionPool();
+
+    @Valid
+    private Dispatcher dispatcher = new Dispatcher();
+
+    @Valid
+    private Retry retry = new Retry();
+
+    @Valid
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
     @Getter
     @Setter
     @Validated
@@ -98,4 +114,169 @@ public class RetrofitProperties {
 
         private Long write = 10_000L;
     }
+
+    /**
+     * Connection pool of the root client shared by all Retrofit APIs created by the Spring aware builder.
+     */
+    @Getter
+    @Setter
+    @Validated
+    public static class ConnectionPool {
+
+        @NotNull
+        @Positive
+        private Integer maxIdleConnections = 5;
+
+        /**
+         * Time in milliseconds an idle connection is kept open.
+         */
+        @NotNull
+        @Positive
+        private Long keepAlive = 300_000L;
+    }
+
+    /**
+     * Limits of asynchronous calls, shared by all Retrofit APIs created by the Spring aware builder.
+     */
+    @Getter
+    @Setter
+    @Validated
+    public static class Dispatcher {
+
+        @NotNull
+        @Positive
+        private Integer maxRequests = 64;
+
+        @NotNull
+        @Positive
+        private Integer maxRequestsPerHost = 5;
+    }
+
+    @Getter
+    @Setter
+    @Validated
+    public static class Retry {
+
+        private boolean autoConfiguration;
+
+        /**
+         * Total number of attempts, including the first one.
+         */
+        @NotNull
+        @Positive
+        private Integer maxAttempts = 3;
+
+        /**
+         * Upper bound in milliseconds of the delay before the first retry, doubled by {@code multiplier} for every
+         * following retry. The actual delay is drawn uniformly between zero and the bound.
+         */
+        @NotNull
+        @Positive
+        private Long initialBackoff = 100L;
+
+        @NotNull
+        @Positive
+        private Long maxBackoff = 2_000L;
+
+        @NotNull
+        @Positive
+        private Double multiplier = 2.0;
+
+        /**
+         * Longest Retry-After delay in milliseconds that is waited for, responses asking for more are not retried.
+         */
+        @NotNull
+        @PositiveOrZero
+        private Long maxRetryAfter = 10_000L;
+
+        private boolean retryOnIoError = true;
+
+        private List<@NotNull Integer> statuses = new ArrayList<>(List.of(502, 503, 504));
+
+        private List<@NotBlank String> methods = new ArrayList<>(List.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE"));
+
+        @Valid
+        private Budget budget = new Budget();
+
+        /**
+         * Retry budget kept per host: every request adds {@code ratio} tokens up to {@code maxTokens} and every retry
+         * takes one, so retries stay below that share of the traffic once the initial tokens are spent.
+         */
+        @Getter
+        @Setter
+        @Validated
+        public static class Budget {
+
+            @NotNull
+            @PositiveOrZero
+            private Double ratio = 0.1;
+
+            @NotNull
+            @PositiveOrZero
+            private Integer maxTokens = 10;
+        }
+    }
+
+    @Getter
+    @Setter
+    @Validated
+    public static class CircuitBreaker {
+
+        private boolean autoConfiguration;
+
+        /**
+         * Number of last calls of a host the failure and slow call rates are calculated from.
+         */
+        @NotNull
+        @Positive
+        private Integer windowSize = 20;
+
+        /**
+         * Number of calls that must be recorded before the circuit can open.
+         */
+        @NotNull
+        @Positive
+        private Integer minimumCalls = 10;
+
+        /**
+         * Percentage of failed calls at which the circuit opens.
+         */
+        @NotNull
+        @Min(1)
+        @Max(100)
+        private Integer failureRateThreshold = 50;
+
+        /**
+         * Percentage of slow calls at which the circuit opens.
+         */
+        @NotNull
+        @Min(1)
+        @Max(100)
+        private Integer slowCallRateThreshold = 80;
+
+        /**
+         * Time in milliseconds after which a call is counted as slow.
+         */
+        @NotNull
+        @Positive
+        private Long slowCallDuration = 5_000L;
+
+        /**
+         * Time in milliseconds an open circuit fails calls before probe calls are let through.
+         */
+        @NotNull
+        @Positive
+        private Long waitInOpenState = 10_000L;
+
+        @NotNull
+        @Positive
+        private Integer permittedCallsInHalfOpenState = 3;
+
+        private List<@NotNull Integer> statuses = new ArrayList<>(List.of(500, 502, 503, 504));
+
+        @AssertTrue(message = "minimum calls cannot be larger than window size")
+        public boolean isValidMinimumCalls() {
+            return windowSize == null || minimumCalls == null || minimumCalls <= windowSize;
+        }
+    }
 }
@@ -1,15 +1,24 @@
 package ee.bitweb.core.retrofit;
 
+import ee.bitweb.core.retrofit.interceptor.circuitbreaker.CircuitBreakerOpenException;
+import ee.bitweb.core.trace.thread.decorator.MDCSnapshot;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import retrofit2.Call;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class RetrofitRequestExecutor {
 
-    private static final String REQUEST_ERROR = "REQUEST_ERROR";
+    static final String REQUEST_ERROR = "REQUEST_ERROR";
+    static final String CIRCUIT_BREAKER_OPEN_ERROR = "CIRCUIT_BREAKER_OPEN_ERROR";
     private static final String UNSUCCESSFUL_REQUEST_ERROR = "UNSUCCESSFUL_REQUEST_ERROR";
     private static final String EMPTY_RESPONSE_BODY_ERROR = "EMPTY_RESPONSE_BODY_ERROR";
 
@@ -27,12 +36,88 @@ public class RetrofitRequestExecutor {
         return doRequest(request).body();
     }
 
+    /**
+     * Asynchronous counterpart of {@link #execute(Call)}, the request is executed on the given executor.
+     *
+     * @see #executeRawAsync(Call, Executor)
+     */
+    public static <T> CompletableFuture<T> executeAsync(Call<Response<T>> request, Executor executor) {
+        return doRequestAsync(request, executor, RetrofitRequestExecutor::execute);
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #executeRaw(Call)}. The MDC of the calling thread, and with it the trace id,
+     * is installed on the executing thread for the duration of the request, so interceptors and dependent stages that
+     * run on completion see the same context as a blocking call would. Failures complete the future with the same
+     * {@link RetrofitException} the blocking call throws. Cancelling the future cancels the call.
+     * <p>
+     * Every request occupies a thread of the executor while it runs, an executor creating virtual threads suits this
+     * best where available.
+     */
+    public static <T> CompletableFuture<T> executeRawAsync(Call<T> request, Executor executor) {
+        return doRequestAsync(request, executor, RetrofitRequestExecutor::executeRaw);
+    }
+
+    private static <C extends Call<?>, T> CompletableFuture<T> doRequestAsync(
+            C request,
+            Executor executor,
+            Function<C, T> execution
+    ) {
+        MDCSnapshot captured = MDCSnapshot.capture();
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        future.whenComplete((result, e) -> {
+            if (future.isCancelled()) {
+                request.cancel();
+            }
+        });
+
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+
+                MDCSnapshot previous = MDCSnapshot.capture();
+                captured.install();
+
+                try {
+                    future.complete(execution.apply(request));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
+                } finally {
+                    if (previous.isEmpty()) {
+                        MDC.clear();
+                    } else {
+                        previous.install();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(RetrofitException.of(REQUEST_ERROR, request, null, e));
+        }
+
+        return future;
+    }
+
     private static <T> retrofit2.Response<T> doRequest(Call<T> request) {
         retrofit2.Response<T> response;
         try {
             response = request.execute();
+        } catch (CircuitBreakerOpenException e) {
+            log.warn("Request not executed: {}", e.getMessage());
+            throw RetrofitException.of(CIRCUIT_BREAKER_OPEN_ERROR, request, null);
         } catch (Exception e) {
-            log.error("Request failed: ", e);
+            if (request.isCanceled()) {
+                log.debug("Request cancelled: {}", e.getMessage());
+            } else {
+                log.error("Request failed: ", e);
+            }
+
             throw RetrofitException.of(REQUEST_ERROR, request, null);
         }
 
@@ -45,11 +45,38 @@ public class RetrofitApiBuilder<T> {
         );
     }
 
+    /**
+     * Derives the client from {@code rootClient}, so its connection pool, dispatcher and TLS session cache are shared
+     * with every other API created from the same root.
+     */
+    public static <T> RetrofitApiBuilder<T> create(
+            String baseUrl,
+            Class<T> definition,
+            RetrofitLoggingInterceptor loggingInterceptor,
+            OkHttpClient rootClient
+    ) {
+        return new RetrofitApiBuilder<>(
+                baseUrl,
+                definition,
+                loggingInterceptor,
+                rootClient.newBuilder()
+        );
+    }
+
     private RetrofitApiBuilder(String url, Class<T> definition, RetrofitLoggingInterceptor loggingInterceptor) {
+        this(url, definition, loggingInterceptor, new OkHttpClient.Builder());
+    }
+
+    private RetrofitApiBuilder(
+            String url,
+            Class<T> definition,
+            RetrofitLoggingInterceptor loggingInterceptor,
+            OkHttpClient.Builder httpClientBuilder
+    ) {
         this.url = url;
         this.definition = definition;
 
-        clientBuilder = createDefaultBuilder(loggingInterceptor);
+        clientBuilder = createDefaultBuilder(loggingInterceptor, httpClientBuilder);
     }
 
     public RetrofitApiBuilder<T> emptyInterceptors() {
@@ -163,9 +190,10 @@ public class RetrofitApiBuilder<T> {
                 .build().create(definition);
     }
 
-    private OkHttpClient.Builder createDefaultBuilder(RetrofitLoggingInterceptor loggingInterceptor) {
-        var httpClientBuilder = new OkHttpClient.Builder();
-
+    private OkHttpClient.Builder createDefaultBuilder(
+            RetrofitLoggingInterceptor loggingInterceptor,
+            OkHttpClient.Builder httpClientBuilder
+    ) {
         if (loggingInterceptor != null) {
             httpClientBuilder.interceptors().add(loggingInterceptor);
         }
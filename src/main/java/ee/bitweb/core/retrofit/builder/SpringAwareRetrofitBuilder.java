@@ -1,10 +1,13 @@
 package ee.bitweb.core.retrofit.builder;
 
+import ee.bitweb.core.retrofit.RetrofitAutoConfiguration;
 import ee.bitweb.core.retrofit.RetrofitProperties;
 import ee.bitweb.core.retrofit.interceptor.InterceptorBean;
 import ee.bitweb.core.retrofit.logging.RetrofitLoggingInterceptor;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import retrofit2.Converter;
@@ -14,7 +17,6 @@ import java.util.List;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @ConditionalOnProperty(value = "ee.bitweb.core.retrofit.auto-configuration", havingValue = "true")
 public class SpringAwareRetrofitBuilder {
 
@@ -22,13 +24,43 @@ public class SpringAwareRetrofitBuilder {
     private final Converter.Factory defaultConverterFactory;
     private final RetrofitProperties properties;
     private final RetrofitLoggingInterceptor defaultLoggingInterceptor;
+    private final OkHttpClient rootClient;
+
+    /**
+     * @deprecated derives APIs from a client of its own instead of the shared root client, use
+     * {@link #SpringAwareRetrofitBuilder(List, Converter.Factory, RetrofitProperties, RetrofitLoggingInterceptor, OkHttpClient)}
+     */
+    @Deprecated
+    public SpringAwareRetrofitBuilder(
+            List<InterceptorBean> defaultInterceptors,
+            Converter.Factory defaultConverterFactory,
+            RetrofitProperties properties,
+            RetrofitLoggingInterceptor defaultLoggingInterceptor
+    ) {
+        this(defaultInterceptors, defaultConverterFactory, properties, defaultLoggingInterceptor, new OkHttpClient());
+    }
+
+    @Autowired
+    public SpringAwareRetrofitBuilder(
+            List<InterceptorBean> defaultInterceptors,
+            Converter.Factory defaultConverterFactory,
+            RetrofitProperties properties,
+            RetrofitLoggingInterceptor defaultLoggingInterceptor,
+            @Qualifier(RetrofitAutoConfiguration.ROOT_CLIENT_BEAN_NAME) OkHttpClient rootClient
+    ) {
+        this.defaultInterceptors = defaultInterceptors;
+        this.defaultConverterFactory = defaultConverterFactory;
+        this.properties = properties;
+        this.defaultLoggingInterceptor = defaultLoggingInterceptor;
+        this.rootClient = rootClient;
+    }
 
     public <T> RetrofitApiBuilder<T> create(String baseUrl, Class<T> definition) {
-        return configure(RetrofitApiBuilder.create(baseUrl, definition, defaultLoggingInterceptor));
+        return configure(RetrofitApiBuilder.create(baseUrl, definition, defaultLoggingInterceptor, rootClient));
     }
 
     public <T> RetrofitApiBuilder<T> create(String baseUrl, Class<T> definition, RetrofitLoggingInterceptor loggingInterceptor) {
-        return configure(RetrofitApiBuilder.create(baseUrl, definition, loggingInterceptor));
+        return configure(RetrofitApiBuilder.create(baseUrl, definition, loggingInterceptor, rootClient));
     }
 
     private <T> RetrofitApiBuilder<T> configure(RetrofitApiBuilder<T> api) {
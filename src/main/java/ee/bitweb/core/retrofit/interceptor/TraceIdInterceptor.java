@@ -1,10 +1,14 @@
 package ee.bitweb.core.retrofit.interceptor;
 
 import ee.bitweb.core.trace.context.TraceIdContext;
+import ee.bitweb.core.trace.invoker.InvokerTraceIdFormConfig;
 import ee.bitweb.core.trace.invoker.http.TraceIdFilterConfig;
-import lombok.RequiredArgsConstructor;
+import ee.bitweb.core.trace.propagation.TracePropagator;
+import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
+import okhttp3.Request;
 import okhttp3.Response;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -12,24 +16,47 @@ import org.springframework.util.StringUtils;
 import java.io.IOException;
 
 @Component
-@RequiredArgsConstructor
 @ConditionalOnExpression(value = "${ee.bitweb.core.trace.auto-configuration:false} and ${ee.bitweb.core.retrofit.auto-configuration:false}")
 public class TraceIdInterceptor implements InterceptorBean {
 
-    private final TraceIdFilterConfig config;
+    private final TracePropagator propagator;
     private final TraceIdContext context;
 
+    @Autowired
+    public TraceIdInterceptor(
+            TraceIdFilterConfig config,
+            InvokerTraceIdFormConfig invokerTraceIdFormConfig,
+            ThreadTraceIdFormConfig threadTraceIdFormConfig,
+            TraceIdContext context
+    ) {
+        this(
+                TracePropagator.of(
+                        config.getPropagation(),
+                        config.getHeaderName(),
+                        invokerTraceIdFormConfig.getDelimiter(),
+                        threadTraceIdFormConfig.getDelimiter()
+                ),
+                context
+        );
+    }
+
+    public TraceIdInterceptor(TraceIdFilterConfig config, TraceIdContext context) {
+        this(TracePropagator.of(config.getPropagation(), config.getHeaderName()), context);
+    }
+
+    public TraceIdInterceptor(TracePropagator propagator, TraceIdContext context) {
+        this.propagator = propagator;
+        this.context = context;
+    }
+
     @Override
     public Response intercept(@NotNull Chain chain) throws IOException {
         assertTraceIdPresent();
 
-        var request = chain
-                .request()
-                .newBuilder()
-                .addHeader(config.getHeaderName(), context.get())
-                .build();
+        Request.Builder builder = chain.request().newBuilder();
+        propagator.inject(context, builder::addHeader);
 
-        return chain.proceed(request);
+        return chain.proceed(builder.build());
     }
 
     private void assertTraceIdPresent() {
@@ -0,0 +1,169 @@
+package ee.bitweb.core.retrofit.interceptor.circuitbreaker;
+
+import ee.bitweb.core.retrofit.RetrofitProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Circuit breaker of a single host. Every state is an immutable {@link State} swapped with compare-and-set, and the
+ * closed state owns its own sliding window, so results of calls started in an earlier state never leak into the
+ * current one and no lock is taken on the request path.
+ */
+@Slf4j
+class CircuitBreaker {
+
+    enum Status {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String host;
+    private final RetrofitProperties.CircuitBreaker properties;
+    private final AtomicReference<State> state;
+
+    CircuitBreaker(String host, RetrofitProperties.CircuitBreaker properties) {
+        this.host = host;
+        this.properties = properties;
+        this.state = new AtomicReference<>(closed());
+    }
+
+    /**
+     * @return permission to execute a call, to be passed to {@link #record} or {@link #release}, or null when the
+     * circuit is open
+     */
+    State tryAcquire() {
+        while (true) {
+            State current = state.get();
+
+            switch (current.status) {
+                case CLOSED:
+                    return current;
+                case HALF_OPEN:
+                    return current.permits.getAndUpdate(permits -> Math.max(0, permits - 1)) > 0 ? current : null;
+                default:
+                    if (System.nanoTime() - current.openedAt < TimeUnit.MILLISECONDS.toNanos(properties.getWaitInOpenState())) {
+                        return null;
+                    }
+
+                    if (state.compareAndSet(current, halfOpen())) {
+                        log.info("Circuit breaker for host {} is half open", host);
+                    }
+            }
+        }
+    }
+
+    void record(State permission, boolean failure, boolean slow) {
+        if (permission.status == Status.CLOSED) {
+            permission.window.record(failure, slow);
+
+            if (permission.window.isTripped()) {
+                open(permission);
+            }
+        } else if (failure || slow) {
+            open(permission);
+        } else if (permission.successes.incrementAndGet() >= properties.getPermittedCallsInHalfOpenState()
+                && state.compareAndSet(permission, closed())) {
+            log.info("Circuit breaker for host {} is closed", host);
+        }
+    }
+
+    /**
+     * Returns the permission of a call that ended without an outcome attributable to the host, e.g. a cancelled call.
+     */
+    void release(State permission) {
+        if (permission.status == Status.HALF_OPEN) {
+            permission.permits.incrementAndGet();
+        }
+    }
+
+    Status getStatus() {
+        return state.get().status;
+    }
+
+    private void open(State from) {
+        if (state.compareAndSet(from, new State(Status.OPEN, System.nanoTime(), null, null, null))) {
+            log.warn("Circuit breaker for host {} is open", host);
+        }
+    }
+
+    private State closed() {
+        return new State(Status.CLOSED, 0, new Window(properties), null, null);
+    }
+
+    private State halfOpen() {
+        return new State(
+                Status.HALF_OPEN,
+                0,
+                null,
+                new AtomicInteger(properties.getPermittedCallsInHalfOpenState()),
+                new AtomicInteger()
+        );
+    }
+
+    static final class State {
+
+        private final Status status;
+        private final long openedAt;
+        private final Window window;
+        private final AtomicInteger permits;
+        private final AtomicInteger successes;
+
+        private State(Status status, long openedAt, Window window, AtomicInteger permits, AtomicInteger successes) {
+            this.status = status;
+            this.openedAt = openedAt;
+            this.window = window;
+            this.permits = permits;
+            this.successes = successes;
+        }
+    }
+
+    /**
+     * Outcomes of the last calls kept in a ring, with running counts of failed and slow calls among them.
+     */
+    private static final class Window {
+
+        private static final int RECORDED = 1;
+        private static final int FAILURE = 2;
+        private static final int SLOW = 4;
+
+        private final RetrofitProperties.CircuitBreaker properties;
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private Window(RetrofitProperties.CircuitBreaker properties) {
+            this.properties = properties;
+            this.outcomes = new AtomicIntegerArray(properties.getWindowSize());
+        }
+
+        private void record(boolean failure, boolean slow) {
+            int outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+            int previous = outcomes.getAndSet((int) (cursor.getAndIncrement() % outcomes.length()), outcome);
+
+            failures.addAndGet(count(outcome, FAILURE) - count(previous, FAILURE));
+            slowCalls.addAndGet(count(outcome, SLOW) - count(previous, SLOW));
+        }
+
+        private boolean isTripped() {
+            long calls = Math.min(cursor.get(), outcomes.length());
+
+            if (calls < properties.getMinimumCalls()) {
+                return false;
+            }
+
+            return failures.get() * 100 >= properties.getFailureRateThreshold() * calls
+                    || slowCalls.get() * 100 >= properties.getSlowCallRateThreshold() * calls;
+        }
+
+        private static int count(int outcome, int flag) {
+            return (outcome & flag) != 0 ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ee.bitweb.core.retrofit.interceptor.circuitbreaker;
+
+import ee.bitweb.core.retrofit.RetrofitProperties;
+import ee.bitweb.core.retrofit.interceptor.InterceptorBean;
+import lombok.Getter;
+import lombok.ToString;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a circuit breaker per host. A closed circuit opens when the share of failed or slow calls among the last
+ * {@code windowSize} calls reaches its threshold. An open circuit fails calls immediately with
+ * {@link CircuitBreakerOpenException}, so callers do not wait for connect and read timeouts of a host that is down.
+ * After {@code waitInOpenState} a few probe calls are let through, all of them succeeding closes the circuit and any
+ * of them failing opens it again.
+ * <p>
+ * Failed calls are calls ending with an I/O error or one of the configured statuses, slow calls are calls whose
+ * response headers took at least {@code slowCallDuration} to arrive.
+ * <p>
+ * Runs inside {@link ee.bitweb.core.retrofit.interceptor.retry.RetryInterceptor}, so every attempt is recorded and
+ * an open circuit is not retried.
+ */
+@Order(Integer.MIN_VALUE + 11)
+@ToString(onlyExplicitlyIncluded = true)
+public class CircuitBreakerInterceptor implements InterceptorBean {
+
+    @Getter
+    @ToString.Include
+    private final RetrofitProperties.CircuitBreaker properties;
+    private final Set<Integer> statuses;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerInterceptor(RetrofitProperties.CircuitBreaker properties) {
+        this.properties = properties;
+        this.statuses = Set.copyOf(properties.getStatuses());
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+        String host = toHost(request.url());
+        CircuitBreaker breaker = breakers.computeIfAbsent(host, key -> new CircuitBreaker(key, properties));
+        CircuitBreaker.State permission = breaker.tryAcquire();
+
+        if (permission == null) {
+            throw new CircuitBreakerOpenException(host);
+        }
+
+        long start = System.nanoTime();
+        Response response;
+
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                breaker.release(permission);
+            } else {
+                breaker.record(permission, true, isSlow(start));
+            }
+
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.release(permission);
+
+            throw e;
+        }
+
+        breaker.record(permission, statuses.contains(response.code()), isSlow(start));
+
+        return response;
+    }
+
+    CircuitBreaker.Status getStatus(HttpUrl url) {
+        CircuitBreaker breaker = breakers.get(toHost(url));
+
+        return breaker != null ? breaker.getStatus() : CircuitBreaker.Status.CLOSED;
+    }
+
+    private boolean isSlow(long start) {
+        return System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowCallDuration());
+    }
+
+    private static String toHost(HttpUrl url) {
+        return url.host() + ":" + url.port();
+    }
+}
@@ -0,0 +1,19 @@
+package ee.bitweb.core.retrofit.interceptor.circuitbreaker;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of executing a request while the circuit of its host is open.
+ */
+@Getter
+public class CircuitBreakerOpenException extends IOException {
+
+    private final String host;
+
+    public CircuitBreakerOpenException(String host) {
+        super("Circuit breaker for host %s is open".formatted(host));
+        this.host = host;
+    }
+}
@@ -0,0 +1,40 @@
+package ee.bitweb.core.retrofit.interceptor.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting retries to a share of the requests. Tokens are kept in thousandths so fractional ratios can
+ * be accumulated in a single atomic value.
+ */
+class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens;
+
+    RetryBudget(double ratio, int maxTokens) {
+        deposit = Math.round(ratio * SCALE);
+        capacity = maxTokens * SCALE;
+        tokens = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        tokens.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+
+        do {
+            current = tokens.get();
+
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+package ee.bitweb.core.retrofit.interceptor.retry;
+
+import ee.bitweb.core.retrofit.RetrofitProperties;
+import ee.bitweb.core.retrofit.interceptor.InterceptorBean;
+import ee.bitweb.core.retrofit.interceptor.circuitbreaker.CircuitBreakerOpenException;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.annotation.Order;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Retries idempotent requests that failed with an I/O error or one of the configured response statuses.
+ * <p>
+ * Delays grow exponentially and are drawn uniformly between zero and the current bound, so clients that failed
+ * together do not retry together. A Retry-After header of the response replaces the computed delay. Retries are
+ * skipped when the delay would outlast the deadline or the remaining call timeout, and every host has its own
+ * {@link RetryBudget}, so an unavailable downstream receives only a bounded share of additional requests. Waiting for
+ * a retry ends early when the call is cancelled.
+ */
+@Slf4j
+@Order(Integer.MIN_VALUE + 10)
+@ToString(onlyExplicitlyIncluded = true)
+public class RetryInterceptor implements InterceptorBean {
+
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final long SLEEP_SLICE_MILLIS = 50;
+
+    @Getter
+    @ToString.Include
+    private final RetrofitProperties.Retry properties;
+    private final Set<Integer> statuses;
+    private final Set<String> methods;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public RetryInterceptor(RetrofitProperties.Retry properties) {
+        this.properties = properties;
+        this.statuses = Set.copyOf(properties.getStatuses());
+        this.methods = properties.getMethods().stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @NotNull
+    @Override
+    public Response intercept(@NotNull Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (!isRetryable(request)) {
+            return chain.proceed(request);
+        }
+
+        long started = System.nanoTime();
+        RetryBudget budget = getBudget(request.url());
+        budget.deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            Response response;
+
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                if (!properties.isRetryOnIoError() || e instanceof CircuitBreakerOpenException || chain.call().isCanceled()) {
+                    throw e;
+                }
+
+                long delay = computeBackoff(attempt);
+
+                if (!acquireRetry(chain, budget, started, attempt, delay)) {
+                    throw e;
+                }
+
+                log.warn("Retrying {} {} in {} ms after attempt {} failed: {}", request.method(), request.url(), delay, attempt, e.toString());
+                sleep(chain.call(), delay);
+
+                continue;
+            }
+
+            if (!statuses.contains(response.code())) {
+                return response;
+            }
+
+            Long retryAfter = parseRetryAfter(response);
+
+            if (retryAfter != null && retryAfter > properties.getMaxRetryAfter()) {
+                return response;
+            }
+
+            long delay = retryAfter != null ? retryAfter : computeBackoff(attempt);
+
+            if (!acquireRetry(chain, budget, started, attempt, delay)) {
+                return response;
+            }
+
+            log.warn("Retrying {} {} in {} ms after attempt {} returned status {}", request.method(), request.url(), delay, attempt, response.code());
+            response.close();
+            sleep(chain.call(), delay);
+        }
+    }
+
+    private boolean isRetryable(Request request) {
+        return methods.contains(request.method()) && (request.body() == null || !request.body().isOneShot());
+    }
+
+    private RetryBudget getBudget(HttpUrl url) {
+        return budgets.computeIfAbsent(
+                url.host() + ":" + url.port(),
+                host -> new RetryBudget(properties.getBudget().getRatio(), properties.getBudget().getMaxTokens())
+        );
+    }
+
+    private boolean acquireRetry(Chain chain, RetryBudget budget, long started, int attempt, long delay) {
+        if (attempt >= properties.getMaxAttempts()) {
+            return false;
+        }
+
+        Timeout timeout = chain.call().timeout();
+        long now = System.nanoTime();
+        long delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+
+        if (timeout.hasDeadline() && timeout.deadlineNanoTime() - now <= delayNanos) {
+            return false;
+        }
+
+        // the call timeout runs from the start of the call, so only its remainder is left for waiting and retrying
+        if (timeout.timeoutNanos() > 0 && timeout.timeoutNanos() - (now - started) <= delayNanos) {
+            return false;
+        }
+
+        if (!budget.tryWithdraw()) {
+            log.warn("Retry budget for host {} exhausted", chain.request().url().host());
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private long computeBackoff(int attempt) {
+        double bound = properties.getInitialBackoff() * Math.pow(properties.getMultiplier(), attempt - 1d);
+        long cap = (long) Math.min(properties.getMaxBackoff(), bound);
+
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static Long parseRetryAfter(Response response) {
+        String value = response.header(RETRY_AFTER);
+
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate(RETRY_AFTER);
+
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : null;
+        }
+    }
+
+    /**
+     * Sleeps in short slices, so a cancelled call does not keep its thread until the whole delay has passed.
+     */
+    private static void sleep(Call call, long delay) throws IOException {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+
+        try {
+            for (long remaining = delay; remaining > 0 && !call.isCanceled(); remaining = TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime())) {
+                Thread.sleep(Math.min(remaining, SLEEP_SLICE_MILLIS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting to retry request");
+        }
+
+        if (call.isCanceled()) {
+            throw new IOException("Canceled");
+        }
+    }
+}
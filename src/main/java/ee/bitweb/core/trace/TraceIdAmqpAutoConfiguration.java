@@ -3,7 +3,10 @@ package ee.bitweb.core.trace;
 import ee.bitweb.core.amqp.CoreExceptionStrategy;
 import ee.bitweb.core.trace.context.TraceIdContext;
 import ee.bitweb.core.trace.creator.TraceIdCreator;
+import ee.bitweb.core.trace.invoker.InvokerTraceIdFormConfig;
 import ee.bitweb.core.trace.invoker.amqp.*;
+import ee.bitweb.core.trace.propagation.TracePropagator;
+import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.MessagePostProcessor;
@@ -31,22 +34,33 @@ public class TraceIdAmqpAutoConfiguration {
     public AmqpTraceIdResolver amqpTraceIdResolver(
             @Qualifier("InvokerTraceIdCreator") TraceIdCreator traceIdCreator,
             TraceIdContext context,
-            AmqpTraceProperties properties
+            AmqpTraceProperties properties,
+            InvokerTraceIdFormConfig invokerTraceIdFormConfig,
+            ThreadTraceIdFormConfig threadTraceIdFormConfig
     ) {
         log.info("Creating default AmqpTraceIdResolver");
 
-        return new AmqpTraceIdResolver(properties, traceIdCreator, context);
+        return new AmqpTraceIdResolver(
+                createPropagator(properties, invokerTraceIdFormConfig, threadTraceIdFormConfig),
+                traceIdCreator,
+                context
+        );
     }
 
     @Bean
     @ConditionalOnMissingBean
     public AmqpTraceBeforePublishMessageProcessor amqpTraceBeforePublishMessageProcessor(
             TraceIdContext context,
-            AmqpTraceProperties properties
+            AmqpTraceProperties properties,
+            InvokerTraceIdFormConfig invokerTraceIdFormConfig,
+            ThreadTraceIdFormConfig threadTraceIdFormConfig
     ) {
         log.info("Creating default AmqpTraceBeforePublishMessageProcessor");
 
-        return new AmqpTraceBeforePublishMessageProcessor(properties, context);
+        return new AmqpTraceBeforePublishMessageProcessor(
+                createPropagator(properties, invokerTraceIdFormConfig, threadTraceIdFormConfig),
+                context
+        );
     }
 
     @Bean
@@ -72,4 +86,17 @@ public class TraceIdAmqpAutoConfiguration {
 
         return handler;
     }
+
+    private static TracePropagator createPropagator(
+            AmqpTraceProperties properties,
+            InvokerTraceIdFormConfig invokerTraceIdFormConfig,
+            ThreadTraceIdFormConfig threadTraceIdFormConfig
+    ) {
+        return TracePropagator.of(
+                properties.getPropagation(),
+                properties.getHeaderName(),
+                invokerTraceIdFormConfig.getDelimiter(),
+                threadTraceIdFormConfig.getDelimiter()
+        );
+    }
 }
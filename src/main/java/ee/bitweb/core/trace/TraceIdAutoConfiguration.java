@@ -1,5 +1,6 @@
 package ee.bitweb.core.trace;
 
+import ee.bitweb.core.trace.context.MDCContextBridge;
 import ee.bitweb.core.trace.context.MDCTraceIdContext;
 import ee.bitweb.core.trace.context.TraceIdContext;
 import ee.bitweb.core.trace.creator.TraceIdCreator;
@@ -9,19 +10,26 @@ import ee.bitweb.core.trace.invoker.amqp.*;
 import ee.bitweb.core.trace.invoker.http.HttpServletRequestTraceIdResolver;
 import ee.bitweb.core.trace.invoker.http.TraceIdFilter;
 import ee.bitweb.core.trace.invoker.http.TraceIdFilterConfig;
+import ee.bitweb.core.trace.invoker.reactive.TraceIdWebFilter;
 import ee.bitweb.core.trace.invoker.scheduler.SchedulerTraceIdFormConfig;
 import ee.bitweb.core.trace.invoker.scheduler.SchedulerTraceIdResolver;
+import ee.bitweb.core.trace.propagation.TracePropagator;
 import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
 import ee.bitweb.core.trace.thread.ThreadTraceIdResolver;
+import ee.bitweb.core.trace.thread.decorator.TraceIdTaskWrapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Slf4j
 @Configuration
 @RequiredArgsConstructor
@@ -40,7 +48,6 @@ public class TraceIdAutoConfiguration {
     private final InvokerTraceIdFormConfig invokerTraceIdFormConfig;
     private final ThreadTraceIdFormConfig threadTraceIdFormConfig;
     private final SchedulerTraceIdFormConfig schedulerTraceIdFormConfig;
-    private final TraceIdFilterConfig traceIdFilterConfig;
 
     @Bean("InvokerTraceIdCreator")
     @ConditionalOnMissingBean(name="InvokerTraceIdCreator")
@@ -66,22 +73,6 @@ public class TraceIdAutoConfiguration {
         return new TraceIdCreatorImpl(schedulerTraceIdFormConfig);
     }
 
-    @Bean
-    @ConditionalOnMissingBean
-    public HttpServletRequestTraceIdResolver httpTraceIdResolver(
-            @Qualifier("InvokerTraceIdCreator") TraceIdCreator creator,
-            TraceIdContext context
-    ) {
-        log.info("Creating default HttpServletRequestTraceIdResolver bean");
-
-        return new HttpServletRequestTraceIdResolver(
-                traceIdFilterConfig.getHeaderName(),
-                context,
-                creator
-
-        );
-    }
-
     @Bean
     @ConditionalOnMissingBean
     public ThreadTraceIdResolver threadTraceIdResolver(
@@ -93,6 +84,14 @@ public class TraceIdAutoConfiguration {
         return new ThreadTraceIdResolver(context, creator);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public TraceIdTaskWrapper traceIdTaskWrapper(ThreadTraceIdResolver resolver) {
+        log.info("Creating default TraceIdTaskWrapper bean");
+
+        return new TraceIdTaskWrapper(resolver);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public SchedulerTraceIdResolver schedulerTraceIdResolver(
@@ -112,11 +111,85 @@ public class TraceIdAutoConfiguration {
         return MDCTraceIdContext.standard();
     }
 
-    @Bean
-    @ConditionalOnMissingBean
-    public TraceIdFilter traceIdFilter(HttpServletRequestTraceIdResolver resolver, TraceIdContext context) {
-        log.info("Creating default TraceIdFilter bean");
+    @Configuration
+    @ConditionalOnClass(name = "jakarta.servlet.Filter")
+    static class ServletTraceIdConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public HttpServletRequestTraceIdResolver httpTraceIdResolver(
+                TraceIdFilterConfig traceIdFilterConfig,
+                InvokerTraceIdFormConfig invokerTraceIdFormConfig,
+                ThreadTraceIdFormConfig threadTraceIdFormConfig,
+                @Qualifier("InvokerTraceIdCreator") TraceIdCreator creator,
+                TraceIdContext context
+        ) {
+            log.info("Creating default HttpServletRequestTraceIdResolver bean");
+
+            return new HttpServletRequestTraceIdResolver(
+                    TracePropagator.of(
+                            traceIdFilterConfig.getPropagation(),
+                            traceIdFilterConfig.getHeaderName(),
+                            invokerTraceIdFormConfig.getDelimiter(),
+                            threadTraceIdFormConfig.getDelimiter()
+                    ),
+                    context,
+                    creator
+            );
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TraceIdFilter traceIdFilter(
+                TraceIdFilterConfig traceIdFilterConfig,
+                HttpServletRequestTraceIdResolver resolver,
+                TraceIdContext context
+        ) {
+            log.info("Creating default TraceIdFilter bean");
 
-        return new TraceIdFilter(traceIdFilterConfig, context, resolver);
+            return new TraceIdFilter(traceIdFilterConfig, context, resolver);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveTraceIdConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public TraceIdWebFilter traceIdWebFilter(
+                TraceIdFilterConfig traceIdFilterConfig,
+                InvokerTraceIdFormConfig invokerTraceIdFormConfig,
+                ThreadTraceIdFormConfig threadTraceIdFormConfig,
+                @Qualifier("InvokerTraceIdCreator") TraceIdCreator creator
+        ) {
+            log.info("Creating default TraceIdWebFilter bean");
+
+            return new TraceIdWebFilter(
+                    traceIdFilterConfig,
+                    TracePropagator.of(
+                            traceIdFilterConfig.getPropagation(),
+                            traceIdFilterConfig.getHeaderName(),
+                            invokerTraceIdFormConfig.getDelimiter(),
+                            threadTraceIdFormConfig.getDelimiter()
+                    ),
+                    creator
+            );
+        }
+
+        @Bean(initMethod = "install", destroyMethod = "uninstall")
+        @ConditionalOnMissingBean
+        @ConditionalOnClass(name = "io.micrometer.context.ContextRegistry")
+        public MDCContextBridge mdcContextBridge() {
+            log.info("Creating default MDCContextBridge bean");
+
+            return new MDCContextBridge(
+                    List.of(
+                            MDCTraceIdContext.DEFAULT_KEY,
+                            TracePropagator.TRACE_FLAGS_KEY,
+                            TracePropagator.TRACE_STATE_KEY
+                    )
+            );
+        }
     }
 }
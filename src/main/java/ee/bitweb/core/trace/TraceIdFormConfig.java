@@ -1,5 +1,7 @@
 package ee.bitweb.core.trace;
 
+import ee.bitweb.core.trace.creator.TraceIdStrategy;
+
 /**
  * Allows creating your own implementation for configuring TraceId. Can be used to create Properties class in Spring Boot
  * context.
@@ -11,4 +13,23 @@ public interface TraceIdFormConfig {
     Character getDelimiter();
 
     Integer getLength();
+
+    default TraceIdStrategy getStrategy() {
+        return TraceIdStrategy.SECURE_RANDOM;
+    }
+
+    /**
+     * Maximum number of delimiter separated segments a trace id may grow to, null for unlimited. Longer trace ids are
+     * compacted, see {@link ee.bitweb.core.trace.creator.TraceIdChain}.
+     */
+    default Integer getMaxSegments() {
+        return null;
+    }
+
+    /**
+     * Maximum length a trace id may grow to, null for unlimited.
+     */
+    default Integer getMaxLength() {
+        return null;
+    }
 }
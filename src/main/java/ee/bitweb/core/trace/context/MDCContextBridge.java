@@ -0,0 +1,78 @@
+package ee.bitweb.core.trace.context;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ThreadLocalAccessor;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import reactor.core.publisher.Hooks;
+
+import java.util.List;
+
+/**
+ * Bridges Reactor {@link reactor.util.context.Context} entries to MDC. Every key is registered as an MDC backed
+ * {@link ThreadLocalAccessor}, and with automatic context propagation enabled Reactor restores the entries into MDC
+ * around every operator, so log statements in reactive pipelines see the trace id of the request they serve.
+ * <p>
+ * Context keys are the MDC keys themselves, see {@link MDCTraceIdContext#DEFAULT_KEY}.
+ * <p>
+ * Both the accessors and the Reactor hook are global, {@link #install()} and {@link #uninstall()} are meant to be
+ * bound to the lifecycle of the owning application context.
+ */
+public class MDCContextBridge {
+
+    private final List<String> keys;
+
+    public MDCContextBridge(List<String> keys) {
+        this.keys = List.copyOf(keys);
+    }
+
+    public void install() {
+        ContextRegistry registry = ContextRegistry.getInstance();
+
+        for (String key : keys) {
+            registry.registerThreadLocalAccessor(new MDCThreadLocalAccessor(key));
+        }
+
+        Hooks.enableAutomaticContextPropagation();
+    }
+
+    public void uninstall() {
+        Hooks.disableAutomaticContextPropagation();
+
+        ContextRegistry registry = ContextRegistry.getInstance();
+
+        for (String key : keys) {
+            registry.removeThreadLocalAccessor(key);
+        }
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    @RequiredArgsConstructor
+    static final class MDCThreadLocalAccessor implements ThreadLocalAccessor<String> {
+
+        private final String key;
+
+        @Override
+        public Object key() {
+            return key;
+        }
+
+        @Override
+        public String getValue() {
+            return MDC.get(key);
+        }
+
+        @Override
+        public void setValue(String value) {
+            MDC.put(key, value);
+        }
+
+        @Override
+        public void setValue() {
+            MDC.remove(key);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ee.bitweb.core.trace.context;
 
+import ee.bitweb.core.trace.creator.TraceIdChain;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.util.StringUtils;
@@ -18,13 +19,23 @@ public final class MDCTraceIdContext implements TraceIdContext {
     public void set(String traceId) {
         String existing = get();
 
-        if (!StringUtils.hasText(existing) || traceId.startsWith(existing)) {
+        if (!StringUtils.hasText(existing) || traceId.startsWith(existing) || isCompactionOf(existing, traceId)) {
             MDC.put(key, traceId);
         } else {
             throw new IllegalStateException("Overriding existing trace id is prohibited, appending is allowed");
         }
     }
 
+    /**
+     * Compacted trace ids keep the whole root segment and the delimiter preceding the elided ancestry marker, see
+     * {@link TraceIdChain}, so the existing trace id must start with both.
+     */
+    private static boolean isCompactionOf(String existing, String traceId) {
+        int marker = traceId.indexOf(TraceIdChain.ELIDED_MARKER);
+
+        return marker > 1 && existing.regionMatches(0, traceId, 0, marker);
+    }
+
     public String get() {
         return MDC.get(key);
     }
@@ -38,4 +49,9 @@ public final class MDCTraceIdContext implements TraceIdContext {
     public void put(String key, String value) {
         MDC.put(key, value);
     }
+
+    @Override
+    public String get(String key) {
+        return MDC.get(key);
+    }
 }
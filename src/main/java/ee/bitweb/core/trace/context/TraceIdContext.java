@@ -8,4 +8,7 @@ public interface TraceIdContext {
     default void put(String key, String value) {
         throw new UnsupportedOperationException("TraceIdContext.put() has not been implemented for this kind of context.");
     }
+    default String get(String key) {
+        return null;
+    }
 }
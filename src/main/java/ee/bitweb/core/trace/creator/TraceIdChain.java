@@ -0,0 +1,186 @@
+package ee.bitweb.core.trace.creator;
+
+/**
+ * Structured view of a trace id made of segments separated by a delimiter: the root segment created by the first
+ * service, the parent segment and the span segment created last. Only segment offsets are recorded when parsing,
+ * segments are cut out of the trace id when asked for.
+ * <p>
+ * Compaction keeps the root and the most recent segments and replaces the elided middle with a single
+ * {@value #ELIDED_MARKER}-prefixed hash of it, so ids created from the same ancestry stay distinguishable while their
+ * length stays bounded. The root is never shortened, so every compacted id still starts with the full root followed
+ * by the delimiter. The compacted form is rendered on first use.
+ */
+public final class TraceIdChain {
+
+    public static final char ELIDED_MARKER = '~';
+
+    static final int MIN_SEGMENTS = 3;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int HASH_LENGTH = 8;
+
+    private final String value;
+    private final char delimiter;
+    private final int[] starts;
+    private final int rootLength;
+
+    private int tail;
+    private String rendered;
+
+    private TraceIdChain(String value, char delimiter, int[] starts) {
+        this.value = value;
+        this.delimiter = delimiter;
+        this.starts = starts;
+        this.tail = starts.length - 1;
+        this.rootLength = segmentEnd(0);
+    }
+
+    public static TraceIdChain parse(String traceId, char delimiter) {
+        int count = 1;
+        for (int i = 0; i < traceId.length(); i++) {
+            if (traceId.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+
+        int[] starts = new int[count];
+        int segment = 1;
+        for (int i = 0; i < traceId.length() && segment < count; i++) {
+            if (traceId.charAt(i) == delimiter) {
+                starts[segment++] = i + 1;
+            }
+        }
+
+        return new TraceIdChain(traceId, delimiter, starts);
+    }
+
+    /**
+     * @return true when the trace id has more segments or characters than allowed, null limits are not checked
+     */
+    public static boolean exceeds(String traceId, char delimiter, Integer maxSegments, Integer maxLength) {
+        if (maxLength != null && traceId.length() > maxLength) {
+            return true;
+        }
+        if (maxSegments == null) {
+            return false;
+        }
+
+        int segments = 1;
+        for (int i = 0; i < traceId.length(); i++) {
+            if (traceId.charAt(i) == delimiter && ++segments > maxSegments) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Compacts the chain to at most {@code maxSegments} segments and, when possible, {@code maxLength} characters. The
+     * root and the span are always kept whole, so {@code maxLength} only bounds the segments between them and is
+     * exceeded when root and span alone do not fit.
+     */
+    public TraceIdChain compact(Integer maxSegments, Integer maxLength) {
+        int segments = starts.length;
+        int limit = maxSegments == null ? segments : Math.max(maxSegments, MIN_SEGMENTS);
+
+        tail = segments > limit ? limit - 2 : segments - 1;
+        rendered = null;
+
+        if (maxLength != null) {
+            while (tail > 1 && length() > maxLength) {
+                tail--;
+            }
+        }
+
+        return this;
+    }
+
+    public String getRoot() {
+        return value.substring(0, segmentEnd(0));
+    }
+
+    /**
+     * @return segment created before the span, or null for a root only trace id
+     */
+    public String getParent() {
+        int index = starts.length - 2;
+
+        return index < 0 ? null : value.substring(starts[index], segmentEnd(index));
+    }
+
+    public String getSpan() {
+        return value.substring(starts[starts.length - 1]);
+    }
+
+    /**
+     * @return number of segments before compaction
+     */
+    public int getDepth() {
+        return starts.length;
+    }
+
+    @Override
+    public String toString() {
+        if (rendered == null) {
+            rendered = render();
+        }
+
+        return rendered;
+    }
+
+    private String render() {
+        int elided = elidedCount();
+
+        if (elided == 0) {
+            return value;
+        }
+
+        StringBuilder builder = new StringBuilder(length());
+        builder.append(value, 0, rootLength);
+
+        if (elided > 0) {
+            int from = starts[1];
+            int to = segmentEnd(elided);
+
+            builder.append(delimiter).append(ELIDED_MARKER);
+            appendHash(builder, from, to);
+        }
+
+        if (tail > 0) {
+            builder.append(value, starts[starts.length - tail] - 1, value.length());
+        }
+
+        return builder.toString();
+    }
+
+    private int length() {
+        int elided = elidedCount();
+        int length = rootLength + (elided > 0 ? 2 + HASH_LENGTH : 0);
+
+        if (tail > 0) {
+            length += value.length() - starts[starts.length - tail] + 1;
+        }
+
+        return length;
+    }
+
+    private int elidedCount() {
+        return starts.length - 1 - tail;
+    }
+
+    private int segmentEnd(int index) {
+        return index + 1 < starts.length ? starts[index + 1] - 1 : value.length();
+    }
+
+    private void appendHash(StringBuilder builder, int from, int to) {
+        int hash = 0x811c9dc5;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ value.charAt(i)) * 0x01000193;
+        }
+
+        for (int shift = 28; shift >= 0; shift -= 4) {
+            builder.append(HEX[(hash >>> shift) & 0xf]);
+        }
+    }
+}
@@ -5,19 +5,53 @@ import ee.bitweb.core.util.StringUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.util.StringUtils;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 @RequiredArgsConstructor
 public final class TraceIdCreatorImpl implements TraceIdCreator {
 
+    static final char[] SORTABLE_CHARS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    static final int TIMESTAMP_LENGTH = TraceIdStrategy.TIMESTAMP_LENGTH;
+
     private final TraceIdFormConfig config;
 
     public String generate(String traceId) {
-        String trace = assemble();
+        String generated = create(traceId);
+
+        if (StringUtils.hasText(traceId) && (config.getMaxSegments() != null || config.getMaxLength() != null)) {
+            return compact(generated);
+        }
+
+        return generated;
+    }
+
+    private String compact(String traceId) {
+        char delimiter = config.getDelimiter();
+
+        if (!TraceIdChain.exceeds(traceId, delimiter, config.getMaxSegments(), config.getMaxLength())) {
+            return traceId;
+        }
+
+        return TraceIdChain.parse(traceId, delimiter)
+                .compact(config.getMaxSegments(), config.getMaxLength())
+                .toString();
+    }
+
+    private String create(String traceId) {
+        TraceIdStrategy strategy = config.getStrategy();
+
+        if (strategy == null || strategy == TraceIdStrategy.SECURE_RANDOM) {
+            String trace = assemble();
+
+            if (StringUtils.hasText(traceId)) {
+                return traceId + config.getDelimiter() + trace;
+            }
 
-        if (StringUtils.hasText(traceId)) {
-            return traceId + config.getDelimiter() + trace;
+            return trace;
         }
 
-        return trace;
+        return assemble(traceId, strategy);
     }
 
     private String assemble() {
@@ -27,4 +61,49 @@ public final class TraceIdCreatorImpl implements TraceIdCreator {
 
         return config.getPrefix() + StringUtil.random(config.getLength() - config.getPrefix().length());
     }
+
+    /**
+     * Writes inbound trace id, delimiter, prefix and the generated part into a single presized array.
+     */
+    private String assemble(String traceId, TraceIdStrategy strategy) {
+        boolean hasInbound = StringUtils.hasText(traceId);
+        String prefix = config.getPrefix();
+        int prefixLength = prefix == null ? 0 : prefix.length();
+        int randomLength = config.getLength() - prefixLength;
+        int inboundLength = hasInbound ? traceId.length() + 1 : 0;
+
+        char[] result = new char[inboundLength + prefixLength + randomLength];
+        int position = 0;
+
+        if (hasInbound) {
+            traceId.getChars(0, traceId.length(), result, 0);
+            result[traceId.length()] = config.getDelimiter();
+            position = inboundLength;
+        }
+
+        if (prefix != null) {
+            prefix.getChars(0, prefixLength, result, position);
+            position += prefixLength;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (strategy == TraceIdStrategy.TIME_ORDERED && randomLength > TIMESTAMP_LENGTH) {
+            writeTimestamp(System.currentTimeMillis(), result, position);
+            position += TIMESTAMP_LENGTH;
+            randomLength -= TIMESTAMP_LENGTH;
+        }
+
+        StringUtil.random(result, position, randomLength, random);
+
+        return new String(result);
+    }
+
+    static void writeTimestamp(long millis, char[] target, int offset) {
+        long value = millis;
+
+        for (int i = offset + TIMESTAMP_LENGTH - 1; i >= offset; i--) {
+            target[i] = SORTABLE_CHARS[(int) (value % SORTABLE_CHARS.length)];
+            value /= SORTABLE_CHARS.length;
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package ee.bitweb.core.trace.creator;
+
+/**
+ * Source of the random part of generated trace ids.
+ */
+public enum TraceIdStrategy {
+
+    /**
+     * Characters drawn from a shared {@link java.security.SecureRandom}, unpredictable but contended under load.
+     */
+    SECURE_RANDOM,
+
+    /**
+     * Characters drawn from {@link java.util.concurrent.ThreadLocalRandom}, no contention between threads.
+     */
+    THREAD_LOCAL_RANDOM,
+
+    /**
+     * Millisecond timestamp encoded in fixed width so that ids sort chronologically, followed by characters drawn from
+     * {@link java.util.concurrent.ThreadLocalRandom}. Ids created within the same millisecond are not ordered. The
+     * generated part must be longer than {@link #TIMESTAMP_LENGTH}.
+     */
+    TIME_ORDERED;
+
+    /**
+     * Length of the timestamp written by {@link #TIME_ORDERED}, 62^7 milliseconds reach into year 2081.
+     */
+    public static final int TIMESTAMP_LENGTH = 7;
+
+    /**
+     * @return true when a generated part of given length is long enough for this strategy
+     */
+    public boolean isValidLength(int length) {
+        return this != TIME_ORDERED || length > TIMESTAMP_LENGTH;
+    }
+}
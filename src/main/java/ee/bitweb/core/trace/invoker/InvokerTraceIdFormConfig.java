@@ -1,6 +1,7 @@
 package ee.bitweb.core.trace.invoker;
 
 import ee.bitweb.core.trace.TraceIdFormConfig;
+import ee.bitweb.core.trace.creator.TraceIdStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -28,8 +29,23 @@ public class InvokerTraceIdFormConfig implements TraceIdFormConfig {
     @NotNull
     private Integer length = MAX_LENGTH;
 
+    @NotNull
+    private TraceIdStrategy strategy = TraceIdStrategy.SECURE_RANDOM;
+
+    @Min(3)
+    private Integer maxSegments;
+
+    @Positive
+    private Integer maxLength;
+
     @AssertTrue(message = "prefix cannot be longer than entire length of trace id")
     public boolean isValidLength() {
         return prefix == null || prefix.length() < length;
     }
+
+    @AssertTrue(message = "time ordered trace id must be longer than prefix and timestamp")
+    public boolean isValidStrategyLength() {
+        return strategy == null || length == null
+                || strategy.isValidLength(length - (prefix == null ? 0 : prefix.length()));
+    }
 }
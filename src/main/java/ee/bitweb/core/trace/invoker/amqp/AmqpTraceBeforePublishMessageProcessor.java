@@ -2,23 +2,31 @@ package ee.bitweb.core.trace.invoker.amqp;
 
 import ee.bitweb.core.amqp.AmqpBeforePublishMessageProcessor;
 import ee.bitweb.core.trace.context.TraceIdContext;
-import lombok.RequiredArgsConstructor;
+import ee.bitweb.core.trace.propagation.TracePropagator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
 
 @Slf4j
-@RequiredArgsConstructor
 public class AmqpTraceBeforePublishMessageProcessor implements AmqpBeforePublishMessageProcessor {
 
-    private final AmqpTraceProperties properties;
+    private final TracePropagator propagator;
     private final TraceIdContext context;
 
+    public AmqpTraceBeforePublishMessageProcessor(AmqpTraceProperties properties, TraceIdContext context) {
+        this(TracePropagator.of(properties.getPropagation(), properties.getHeaderName()), context);
+    }
+
+    public AmqpTraceBeforePublishMessageProcessor(TracePropagator propagator, TraceIdContext context) {
+        this.propagator = propagator;
+        this.context = context;
+    }
+
     @Override
     public Message postProcessMessage(Message message) throws AmqpException {
-        log.debug("Adding trace id  {} to AMQP message header {} ", context.get(), properties.getHeaderName());
+        log.debug("Adding trace id {} to AMQP message headers", context.get());
 
-        message.getMessageProperties().setHeader(properties.getHeaderName(), context.get());
+        propagator.inject(context, message.getMessageProperties()::setHeader);
 
         return message;
     }
@@ -2,21 +2,38 @@ package ee.bitweb.core.trace.invoker.amqp;
 
 import ee.bitweb.core.trace.context.TraceIdContext;
 import ee.bitweb.core.trace.creator.TraceIdCreator;
-import lombok.RequiredArgsConstructor;
+import ee.bitweb.core.trace.propagation.TracePropagator;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 
-@RequiredArgsConstructor
 public class AmqpTraceIdResolver {
 
-    private final AmqpTraceProperties properties;
+    private final TracePropagator propagator;
     private final TraceIdCreator creator;
     private final TraceIdContext context;
 
+    public AmqpTraceIdResolver(AmqpTraceProperties properties, TraceIdCreator creator, TraceIdContext context) {
+        this(TracePropagator.of(properties.getPropagation(), properties.getHeaderName()), creator, context);
+    }
+
+    public AmqpTraceIdResolver(TracePropagator propagator, TraceIdCreator creator, TraceIdContext context) {
+        this.propagator = propagator;
+        this.creator = creator;
+        this.context = context;
+    }
+
     public String resolve(Message message) {
         context.clear();
-        String traceId = creator.generate(message.getMessageProperties().getHeader(properties.getHeaderName()));
+        MessageProperties properties = message.getMessageProperties();
+        String traceId = creator.generate(propagator.extract(name -> getHeader(properties, name), context));
         context.set(traceId);
 
         return traceId;
     }
+
+    private static String getHeader(MessageProperties properties, String name) {
+        Object value = properties.getHeader(name);
+
+        return value == null ? null : value.toString();
+    }
 }
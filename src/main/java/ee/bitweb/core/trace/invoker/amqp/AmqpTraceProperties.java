@@ -1,11 +1,16 @@
 package ee.bitweb.core.trace.invoker.amqp;
 
+import ee.bitweb.core.trace.propagation.TracePropagationFormat;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
 
 @Getter
 @Setter
@@ -17,4 +22,10 @@ public class AmqpTraceProperties {
 
     @NotBlank
     private String headerName = DEFAULT_HEADER_NAME;
+
+    /**
+     * Formats inbound trace ids are read from, in order of preference, and outbound trace ids are written in.
+     */
+    @NotEmpty
+    private List<@NotNull TracePropagationFormat> propagation = new ArrayList<>(List.of(TracePropagationFormat.X_TRACE_ID));
 }
@@ -2,18 +2,28 @@ package ee.bitweb.core.trace.invoker.http;
 
 import ee.bitweb.core.trace.creator.TraceIdCreator;
 import ee.bitweb.core.trace.context.TraceIdContext;
+import ee.bitweb.core.trace.propagation.TracePropagator;
+import ee.bitweb.core.trace.propagation.XTraceIdPropagator;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
 public final class HttpServletRequestTraceIdResolver {
 
-    private final String headerName;
+    private final TracePropagator propagator;
     private final TraceIdContext context;
     private final TraceIdCreator creator;
 
+    public HttpServletRequestTraceIdResolver(String headerName, TraceIdContext context, TraceIdCreator creator) {
+        this(new XTraceIdPropagator(headerName), context, creator);
+    }
+
+    public HttpServletRequestTraceIdResolver(TracePropagator propagator, TraceIdContext context, TraceIdCreator creator) {
+        this.propagator = propagator;
+        this.context = context;
+        this.creator = creator;
+    }
+
     public String resolve(HttpServletRequest request) {
-        String traceId = creator.generate(request.getHeader(headerName));
+        String traceId = creator.generate(propagator.extract(request::getHeader, context));
         context.set(traceId);
 
         return traceId;
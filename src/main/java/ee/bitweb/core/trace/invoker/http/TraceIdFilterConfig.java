@@ -1,5 +1,6 @@
 package ee.bitweb.core.trace.invoker.http;
 
+import ee.bitweb.core.trace.propagation.TracePropagationFormat;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -9,6 +10,7 @@ import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +26,12 @@ public class TraceIdFilterConfig {
     @NotBlank
     private String headerName = DEFAULT_HEADER_NAME;
 
+    /**
+     * Formats inbound trace ids are read from, in order of preference, and outbound trace ids are written in.
+     */
+    @NotEmpty
+    private List<@NotNull TracePropagationFormat> propagation = new ArrayList<>(List.of(TracePropagationFormat.X_TRACE_ID));
+
     @Getter
     @Setter
     @AllArgsConstructor
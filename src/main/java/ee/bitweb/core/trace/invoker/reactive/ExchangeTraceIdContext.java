@@ -0,0 +1,50 @@
+package ee.bitweb.core.trace.invoker.reactive;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+import reactor.util.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the trace id and the values stored by propagators while a single exchange is resolved. Nothing is kept in
+ * thread locals, the entries end up in the Reactor {@link Context} of the exchange instead.
+ */
+final class ExchangeTraceIdContext implements TraceIdContext {
+
+    private final String key;
+    private final Map<String, String> values = new LinkedHashMap<>(4);
+
+    ExchangeTraceIdContext(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void set(String traceId) {
+        values.put(key, traceId);
+    }
+
+    @Override
+    public String get() {
+        return values.get(key);
+    }
+
+    @Override
+    public void clear() {
+        values.clear();
+    }
+
+    @Override
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    Context writeTo(Context context) {
+        return values.isEmpty() ? context : context.putAllMap(values);
+    }
+}
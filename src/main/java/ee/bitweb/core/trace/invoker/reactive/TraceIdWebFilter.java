@@ -0,0 +1,64 @@
+package ee.bitweb.core.trace.invoker.reactive;
+
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import ee.bitweb.core.trace.creator.TraceIdCreator;
+import ee.bitweb.core.trace.invoker.http.TraceIdFilterConfig;
+import ee.bitweb.core.trace.propagation.TracePropagator;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactive counterpart of {@link ee.bitweb.core.trace.invoker.http.TraceIdFilter}. The trace id is stored in the
+ * Reactor {@link reactor.util.context.Context} of the exchange under the MDC key, from where
+ * {@link ee.bitweb.core.trace.context.MDCContextBridge} restores it into MDC for log statements.
+ */
+@Order(Integer.MIN_VALUE + 20)
+public class TraceIdWebFilter implements WebFilter {
+
+    private final TraceIdFilterConfig configuration;
+    private final TracePropagator propagator;
+    private final TraceIdCreator creator;
+
+    public TraceIdWebFilter(TraceIdFilterConfig configuration, TraceIdCreator creator) {
+        this(
+                configuration,
+                TracePropagator.of(configuration.getPropagation(), configuration.getHeaderName()),
+                creator
+        );
+    }
+
+    public TraceIdWebFilter(
+            TraceIdFilterConfig configuration,
+            TracePropagator propagator,
+            TraceIdCreator creator
+    ) {
+        this.configuration = configuration;
+        this.propagator = propagator;
+        this.creator = creator;
+    }
+
+    /**
+     * @return trace id of the exchange the given context belongs to, or null outside of this filter
+     */
+    public static String getTraceId(ContextView context) {
+        return context.getOrDefault(MDCTraceIdContext.DEFAULT_KEY, null);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        ExchangeTraceIdContext context = new ExchangeTraceIdContext(MDCTraceIdContext.DEFAULT_KEY);
+
+        String traceId = creator.generate(propagator.extract(headers::getFirst, context));
+        context.set(traceId);
+
+        exchange.getResponse().getHeaders().add(configuration.getHeaderName(), traceId);
+
+        return chain.filter(exchange).contextWrite(context::writeTo);
+    }
+}
@@ -1,6 +1,7 @@
 package ee.bitweb.core.trace.invoker.scheduler;
 
 import ee.bitweb.core.trace.TraceIdFormConfig;
+import ee.bitweb.core.trace.creator.TraceIdStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -27,6 +28,9 @@ public class SchedulerTraceIdFormConfig implements TraceIdFormConfig {
 
     private String prefix;
 
+    @NotNull
+    private TraceIdStrategy strategy = TraceIdStrategy.SECURE_RANDOM;
+
     @Override
     public Character getDelimiter() {
         throw new IllegalStateException("Scheduler is a root invoker, thus delimiter should never be used");
@@ -36,4 +40,10 @@ public class SchedulerTraceIdFormConfig implements TraceIdFormConfig {
     public boolean isValidLength() {
         return prefix == null || prefix.length() < length;
     }
+
+    @AssertTrue(message = "time ordered trace id must be longer than prefix and timestamp")
+    public boolean isValidStrategyLength() {
+        return strategy == null || length == null
+                || strategy.isValidLength(length - (prefix == null ? 0 : prefix.length()));
+    }
 }
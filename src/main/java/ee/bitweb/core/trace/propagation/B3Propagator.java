@@ -0,0 +1,102 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+import org.springframework.util.StringUtils;
+
+/**
+ * Zipkin B3 propagation. Both the single {@code b3} header and the multi header format are read, the format written is
+ * chosen at construction. 64-bit B3 trace ids are accepted and written back left padded to 128 bits. The delimiters
+ * given at construction separate the root segment of a library trace id from the segments appended on later hops.
+ */
+public final class B3Propagator implements TracePropagator {
+
+    public static final String SINGLE_HEADER = "b3";
+    public static final String TRACE_ID_HEADER = "X-B3-TraceId";
+    public static final String SPAN_ID_HEADER = "X-B3-SpanId";
+    public static final String SAMPLED_HEADER = "X-B3-Sampled";
+    public static final String FLAGS_HEADER = "X-B3-Flags";
+
+    private final boolean singleHeader;
+    private final char[] delimiters;
+
+    public B3Propagator(boolean singleHeader) {
+        this(singleHeader, TraceIds.DEFAULT_DELIMITERS);
+    }
+
+    public B3Propagator(boolean singleHeader, char[] delimiters) {
+        this.singleHeader = singleHeader;
+        this.delimiters = delimiters.clone();
+    }
+
+    @Override
+    public String extract(HeaderReader reader, TraceIdContext context) {
+        String single = reader.get(SINGLE_HEADER);
+
+        if (single != null) {
+            return extractSingle(single, context);
+        }
+
+        String traceId = reader.get(TRACE_ID_HEADER);
+        if (traceId == null || !isTraceId(traceId, 0, traceId.length())) {
+            return null;
+        }
+
+        if ("0".equals(reader.get(SAMPLED_HEADER)) && !"1".equals(reader.get(FLAGS_HEADER))) {
+            TraceIds.put(context, TRACE_FLAGS_KEY, TraceIds.NOT_SAMPLED);
+        }
+
+        return traceId;
+    }
+
+    @Override
+    public void inject(TraceIdContext context, HeaderWriter writer) {
+        String traceId = context.get();
+
+        if (!StringUtils.hasText(traceId)) {
+            return;
+        }
+
+        String b3TraceId = TraceIds.toTraceId(traceId, delimiters);
+        String spanId = TraceIds.newSpanId();
+        boolean sampled = TraceIds.isSampled(context);
+
+        if (singleHeader) {
+            writer.set(SINGLE_HEADER, b3TraceId + '-' + spanId + '-' + (sampled ? '1' : '0'));
+        } else {
+            writer.set(TRACE_ID_HEADER, b3TraceId);
+            writer.set(SPAN_ID_HEADER, spanId);
+            writer.set(SAMPLED_HEADER, sampled ? "1" : "0");
+        }
+    }
+
+    /**
+     * Parses {@code {TraceId}-{SpanId}[-{SamplingState}[-{ParentSpanId}]]}, a lone sampling state carries no trace id.
+     */
+    private static String extractSingle(String value, TraceIdContext context) {
+        int traceEnd = value.indexOf('-');
+
+        if (traceEnd == -1 || !isTraceId(value, 0, traceEnd)) {
+            return null;
+        }
+
+        int spanEnd = value.indexOf('-', traceEnd + 1);
+        int spanLimit = spanEnd == -1 ? value.length() : spanEnd;
+        if (spanLimit - traceEnd - 1 != TraceIds.SPAN_ID_LENGTH
+                || !TraceIds.isValidHex(value, traceEnd + 1, spanLimit)) {
+            return null;
+        }
+
+        if (spanEnd != -1 && spanEnd + 1 < value.length() && value.charAt(spanEnd + 1) == '0') {
+            TraceIds.put(context, TRACE_FLAGS_KEY, TraceIds.NOT_SAMPLED);
+        }
+
+        return value.substring(0, traceEnd);
+    }
+
+    private static boolean isTraceId(String value, int start, int end) {
+        int length = end - start;
+
+        return (length == TraceIds.TRACE_ID_LENGTH || length == TraceIds.SHORT_TRACE_ID_LENGTH)
+                && TraceIds.isValidHex(value, start, end);
+    }
+}
@@ -0,0 +1,37 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+
+import java.util.List;
+
+/**
+ * Extracts with the first propagator whose headers are present, injects with all of them.
+ */
+public final class CompositeTracePropagator implements TracePropagator {
+
+    private final TracePropagator[] propagators;
+
+    public CompositeTracePropagator(List<TracePropagator> propagators) {
+        this.propagators = propagators.toArray(new TracePropagator[0]);
+    }
+
+    @Override
+    public String extract(HeaderReader reader, TraceIdContext context) {
+        for (TracePropagator propagator : propagators) {
+            String traceId = propagator.extract(reader, context);
+
+            if (traceId != null) {
+                return traceId;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void inject(TraceIdContext context, HeaderWriter writer) {
+        for (TracePropagator propagator : propagators) {
+            propagator.inject(context, writer);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+import ee.bitweb.core.trace.invoker.InvokerTraceIdFormConfig;
+import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Conversions between library trace ids and the 128-bit hex trace ids of W3C and B3. Validation works on the header
+ * value in place, no intermediate strings are created.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class TraceIds {
+
+    static final int TRACE_ID_LENGTH = 32;
+    static final int SHORT_TRACE_ID_LENGTH = 16;
+    static final int SPAN_ID_LENGTH = 16;
+
+    static final String SAMPLED = "01";
+    static final String NOT_SAMPLED = "00";
+
+    static final char[] DEFAULT_DELIMITERS = {
+            InvokerTraceIdFormConfig.DEFAULT_DELIMITER,
+            ThreadTraceIdFormConfig.DEFAULT_DELIMITER
+    };
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * @return true when {@code value[start, end)} consists of lowercase hex digits and is not all zeros
+     */
+    static boolean isValidHex(String value, int start, int end) {
+        if (end > value.length()) {
+            return false;
+        }
+
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+
+        return nonZero;
+    }
+
+    /**
+     * Returns the 128-bit trace id shared by the whole trace. Library trace ids grow by a segment on every hop, so the
+     * trace id is derived from the root segment, which ends at the first of the given delimiters: a continued W3C or
+     * B3 trace id is used as is, any other root is hashed.
+     */
+    static String toTraceId(String traceId, char[] delimiters) {
+        int root = 0;
+        while (root < traceId.length() && !isDelimiter(traceId.charAt(root), delimiters)) {
+            root++;
+        }
+
+        if (root == TRACE_ID_LENGTH && isValidHex(traceId, 0, TRACE_ID_LENGTH)) {
+            return traceId.substring(0, TRACE_ID_LENGTH);
+        }
+
+        char[] result = new char[TRACE_ID_LENGTH];
+        if (root == SHORT_TRACE_ID_LENGTH && isValidHex(traceId, 0, SHORT_TRACE_ID_LENGTH)) {
+            for (int i = 0; i < SHORT_TRACE_ID_LENGTH; i++) {
+                result[i] = '0';
+                result[SHORT_TRACE_ID_LENGTH + i] = traceId.charAt(i);
+            }
+
+            return new String(result);
+        }
+
+        long high = FNV_OFFSET;
+        long low = FNV_OFFSET ^ 0x5bd1e995L;
+        for (int i = 0; i < root; i++) {
+            char c = traceId.charAt(i);
+            high = (high ^ c) * FNV_PRIME;
+            low = (low ^ c) * FNV_PRIME;
+            low ^= low >>> 29;
+        }
+
+        writeHex(high, result, 0);
+        writeHex(low == 0 ? 1 : low, result, SHORT_TRACE_ID_LENGTH);
+
+        return new String(result);
+    }
+
+    static String newSpanId() {
+        long value;
+        do {
+            value = ThreadLocalRandom.current().nextLong();
+        } while (value == 0);
+
+        char[] result = new char[SPAN_ID_LENGTH];
+        writeHex(value, result, 0);
+
+        return new String(result);
+    }
+
+    static void writeHex(long value, char[] target, int offset) {
+        for (int i = offset + 15; i >= offset; i--) {
+            target[i] = HEX[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+
+    static boolean isSampled(TraceIdContext context) {
+        return !NOT_SAMPLED.equals(context.get(TracePropagator.TRACE_FLAGS_KEY));
+    }
+
+    static void put(TraceIdContext context, String key, String value) {
+        try {
+            context.put(key, value);
+        } catch (UnsupportedOperationException e) {
+            // context cannot carry additional values, propagation continues with defaults
+        }
+    }
+
+    private static boolean isDelimiter(char c, char[] delimiters) {
+        for (char delimiter : delimiters) {
+            if (c == delimiter) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package ee.bitweb.core.trace.propagation;
+
+/**
+ * Header formats trace ids can be read from and written to.
+ */
+public enum TracePropagationFormat {
+
+    /**
+     * Library's own trace id header, {@code X-Trace-ID} for HTTP and {@code x-trace-id} for AMQP by default.
+     */
+    X_TRACE_ID,
+
+    /**
+     * W3C Trace Context {@code traceparent} and {@code tracestate} headers.
+     */
+    W3C,
+
+    /**
+     * Zipkin B3 multi header format ({@code X-B3-TraceId}, {@code X-B3-SpanId}, {@code X-B3-Sampled}).
+     */
+    B3,
+
+    /**
+     * Zipkin B3 single header format ({@code b3}).
+     */
+    B3_SINGLE
+}
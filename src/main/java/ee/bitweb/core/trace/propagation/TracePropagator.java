@@ -0,0 +1,73 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads inbound trace ids from and writes the current trace id to message headers. Carriers are accessed through
+ * {@link HeaderReader} and {@link HeaderWriter}, so the same propagator serves HTTP requests, AMQP messages and
+ * outgoing Retrofit calls.
+ */
+public interface TracePropagator {
+
+    /**
+     * Context key of W3C trace flags (or the equivalent B3 sampling decision) received from upstream. Only stored when
+     * upstream did not sample the trace.
+     */
+    String TRACE_FLAGS_KEY = "trace_flags";
+
+    /**
+     * Context key of the W3C {@code tracestate} received from upstream.
+     */
+    String TRACE_STATE_KEY = "trace_state";
+
+    /**
+     * @return inbound trace id to be continued by {@link ee.bitweb.core.trace.creator.TraceIdCreator}, or null when the
+     * headers of this format are absent or malformed
+     */
+    String extract(HeaderReader reader, TraceIdContext context);
+
+    void inject(TraceIdContext context, HeaderWriter writer);
+
+    static TracePropagator of(List<TracePropagationFormat> formats, String headerName) {
+        return of(formats, headerName, TraceIds.DEFAULT_DELIMITERS);
+    }
+
+    /**
+     * @param delimiters delimiters of the invoker and thread trace id forms, the root segment of a trace id ends at the
+     *                   first of them
+     */
+    static TracePropagator of(List<TracePropagationFormat> formats, String headerName, char... delimiters) {
+        if (formats == null || formats.isEmpty()) {
+            return new XTraceIdPropagator(headerName);
+        }
+
+        List<TracePropagator> propagators = new ArrayList<>(formats.size());
+        for (TracePropagationFormat format : formats) {
+            propagators.add(
+                    switch (format) {
+                        case X_TRACE_ID -> new XTraceIdPropagator(headerName);
+                        case W3C -> new W3CTraceContextPropagator(delimiters);
+                        case B3 -> new B3Propagator(false, delimiters);
+                        case B3_SINGLE -> new B3Propagator(true, delimiters);
+                    }
+            );
+        }
+
+        return propagators.size() == 1 ? propagators.get(0) : new CompositeTracePropagator(propagators);
+    }
+
+    @FunctionalInterface
+    interface HeaderReader {
+
+        String get(String name);
+    }
+
+    @FunctionalInterface
+    interface HeaderWriter {
+
+        void set(String name, String value);
+    }
+}
@@ -0,0 +1,116 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+import org.springframework.util.StringUtils;
+
+/**
+ * W3C Trace Context propagation. The inbound {@code trace-id} becomes the root of the library trace id, a new
+ * {@code parent-id} is generated for every outgoing call. A not sampled decision and {@code tracestate} are carried
+ * over to outgoing calls through the {@link TraceIdContext}. The delimiters given at construction separate the root
+ * segment of a library trace id from the segments appended on later hops.
+ */
+public final class W3CTraceContextPropagator implements TracePropagator {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String TRACESTATE_HEADER = "tracestate";
+
+    private static final int VERSION_LENGTH = 2;
+    private static final int TRACEPARENT_LENGTH = 55;
+    private static final int TRACE_ID_START = 3;
+    private static final int PARENT_ID_START = TRACE_ID_START + TraceIds.TRACE_ID_LENGTH + 1;
+    private static final int FLAGS_START = PARENT_ID_START + TraceIds.SPAN_ID_LENGTH + 1;
+
+    private final char[] delimiters;
+
+    public W3CTraceContextPropagator() {
+        this(TraceIds.DEFAULT_DELIMITERS);
+    }
+
+    public W3CTraceContextPropagator(char[] delimiters) {
+        this.delimiters = delimiters.clone();
+    }
+
+    @Override
+    public String extract(HeaderReader reader, TraceIdContext context) {
+        String traceparent = reader.get(TRACEPARENT_HEADER);
+
+        if (!isValid(traceparent)) {
+            return null;
+        }
+
+        if ((Character.digit(traceparent.charAt(FLAGS_START + 1), 16) & 1) == 0) {
+            TraceIds.put(context, TRACE_FLAGS_KEY, TraceIds.NOT_SAMPLED);
+        }
+
+        String tracestate = reader.get(TRACESTATE_HEADER);
+        if (StringUtils.hasText(tracestate)) {
+            TraceIds.put(context, TRACE_STATE_KEY, tracestate);
+        }
+
+        return traceparent.substring(TRACE_ID_START, TRACE_ID_START + TraceIds.TRACE_ID_LENGTH);
+    }
+
+    @Override
+    public void inject(TraceIdContext context, HeaderWriter writer) {
+        String traceId = context.get();
+
+        if (!StringUtils.hasText(traceId)) {
+            return;
+        }
+
+        char[] traceparent = new char[TRACEPARENT_LENGTH];
+        traceparent[0] = '0';
+        traceparent[1] = '0';
+        traceparent[2] = '-';
+        TraceIds.toTraceId(traceId, delimiters).getChars(0, TraceIds.TRACE_ID_LENGTH, traceparent, TRACE_ID_START);
+        traceparent[PARENT_ID_START - 1] = '-';
+        TraceIds.newSpanId().getChars(0, TraceIds.SPAN_ID_LENGTH, traceparent, PARENT_ID_START);
+        traceparent[FLAGS_START - 1] = '-';
+        (TraceIds.isSampled(context) ? TraceIds.SAMPLED : TraceIds.NOT_SAMPLED)
+                .getChars(0, 2, traceparent, FLAGS_START);
+
+        writer.set(TRACEPARENT_HEADER, new String(traceparent));
+
+        String tracestate = context.get(TRACE_STATE_KEY);
+        if (StringUtils.hasText(tracestate)) {
+            writer.set(TRACESTATE_HEADER, tracestate);
+        }
+    }
+
+    static boolean isValid(String traceparent) {
+        if (traceparent == null || traceparent.length() < TRACEPARENT_LENGTH) {
+            return false;
+        }
+
+        // version ff is forbidden, version 00 has exactly four fields, later versions may append more
+        if (!isHex(traceparent, 0, VERSION_LENGTH) || (traceparent.charAt(0) == 'f' && traceparent.charAt(1) == 'f')) {
+            return false;
+        }
+        boolean zeroVersion = traceparent.charAt(0) == '0' && traceparent.charAt(1) == '0';
+        if (zeroVersion && traceparent.length() != TRACEPARENT_LENGTH) {
+            return false;
+        }
+        if (!zeroVersion && traceparent.length() > TRACEPARENT_LENGTH && traceparent.charAt(TRACEPARENT_LENGTH) != '-') {
+            return false;
+        }
+
+        return traceparent.charAt(TRACE_ID_START - 1) == '-'
+                && TraceIds.isValidHex(traceparent, TRACE_ID_START, TRACE_ID_START + TraceIds.TRACE_ID_LENGTH)
+                && traceparent.charAt(PARENT_ID_START - 1) == '-'
+                && TraceIds.isValidHex(traceparent, PARENT_ID_START, PARENT_ID_START + TraceIds.SPAN_ID_LENGTH)
+                && traceparent.charAt(FLAGS_START - 1) == '-'
+                && isHex(traceparent, FLAGS_START, FLAGS_START + 2);
+    }
+
+    private static boolean isHex(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.TraceIdContext;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public final class XTraceIdPropagator implements TracePropagator {
+
+    private final String headerName;
+
+    @Override
+    public String extract(HeaderReader reader, TraceIdContext context) {
+        return reader.get(headerName);
+    }
+
+    @Override
+    public void inject(TraceIdContext context, HeaderWriter writer) {
+        writer.set(headerName, context.get());
+    }
+}
@@ -1,6 +1,7 @@
 package ee.bitweb.core.trace.thread;
 
 import ee.bitweb.core.trace.TraceIdFormConfig;
+import ee.bitweb.core.trace.creator.TraceIdStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -10,6 +11,7 @@ import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 @Setter
 @Getter
@@ -31,8 +33,23 @@ public class ThreadTraceIdFormConfig implements TraceIdFormConfig {
     @NotNull
     private Integer length = MAX_LENGTH;
 
+    @NotNull
+    private TraceIdStrategy strategy = TraceIdStrategy.SECURE_RANDOM;
+
+    @Min(3)
+    private Integer maxSegments;
+
+    @Positive
+    private Integer maxLength;
+
     @AssertTrue(message = "prefix cannot be longer than entire length of trace id")
     public boolean isValidLength() {
         return prefix == null || prefix.length() < length;
     }
+
+    @AssertTrue(message = "time ordered trace id must be longer than prefix and timestamp")
+    public boolean isValidStrategyLength() {
+        return strategy == null || length == null
+                || strategy.isValidLength(length - (prefix == null ? 0 : prefix.length()));
+    }
 }
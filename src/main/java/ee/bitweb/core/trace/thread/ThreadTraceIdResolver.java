@@ -4,6 +4,7 @@ import ee.bitweb.core.trace.context.TraceIdContext;
 import ee.bitweb.core.trace.creator.TraceIdCreator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -17,4 +18,13 @@ public final class ThreadTraceIdResolver {
 
         return context.get();
     }
+
+    /**
+     * Keeps the current trace id as is and only creates one when there is none.
+     */
+    public String resolveIfAbsent() {
+        String existing = context.get();
+
+        return StringUtils.hasText(existing) ? existing : resolve();
+    }
 }
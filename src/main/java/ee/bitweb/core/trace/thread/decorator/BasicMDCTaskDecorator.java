@@ -1,26 +1,40 @@
 package ee.bitweb.core.trace.thread.decorator;
 
 import ee.bitweb.core.trace.thread.ThreadTraceIdResolver;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.core.task.TaskDecorator;
 
-import java.util.HashMap;
-import java.util.Map;
-
-@RequiredArgsConstructor
 public class BasicMDCTaskDecorator implements TaskDecorator {
 
     private final ThreadTraceIdResolver resolver;
+    private final boolean childTraceIds;
+
+    public BasicMDCTaskDecorator(ThreadTraceIdResolver resolver) {
+        this(resolver, true);
+    }
+
+    /**
+     * @param childTraceIds when false, tasks decorated with a trace id keep using it instead of resolving a thread
+     *                      segment of their own
+     */
+    public BasicMDCTaskDecorator(ThreadTraceIdResolver resolver, boolean childTraceIds) {
+        this.resolver = resolver;
+        this.childTraceIds = childTraceIds;
+    }
 
     @Override
     public Runnable decorate(Runnable runnable) {
-        final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        final MDCSnapshot snapshot = MDCSnapshot.capture();
 
         return () -> {
             try {
-                MDC.setContextMap(contextMap == null ? new HashMap<>() : contextMap);
-                resolver.resolve();
+                snapshot.install();
+
+                if (childTraceIds) {
+                    resolver.resolve();
+                } else {
+                    resolver.resolveIfAbsent();
+                }
 
                 runnable.run();
             } finally {
@@ -0,0 +1,81 @@
+package ee.bitweb.core.trace.thread.decorator;
+
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.slf4j.MDC;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the MDC of a thread. With Logback the snapshot shares Logback's own copy-on-write read-only map
+ * by reference, so capturing the same unchanged context for many tasks costs no copying at all. Other MDC adapters fall
+ * back to a single copy per capture.
+ * <p>
+ * Installing a snapshot still copies it once into the worker thread, as the MDC API offers no other way to set it.
+ */
+public final class MDCSnapshot {
+
+    private static final boolean LOGBACK_PRESENT = ClassUtils.isPresent(
+            "ch.qos.logback.classic.util.LogbackMDCAdapter",
+            MDCSnapshot.class.getClassLoader()
+    );
+
+    private static final MDCSnapshot EMPTY = new MDCSnapshot(Map.of());
+
+    private final Map<String, String> contextMap;
+
+    private MDCSnapshot(Map<String, String> contextMap) {
+        this.contextMap = contextMap;
+    }
+
+    public static MDCSnapshot capture() {
+        Map<String, String> contextMap = LOGBACK_PRESENT ? LogbackSupport.getReadOnlyMap() : null;
+
+        if (contextMap == null) {
+            contextMap = MDC.getCopyOfContextMap();
+
+            if (contextMap == null || contextMap.isEmpty()) {
+                return EMPTY;
+            }
+            contextMap = Collections.unmodifiableMap(contextMap);
+        }
+
+        return contextMap.isEmpty() ? EMPTY : new MDCSnapshot(contextMap);
+    }
+
+    /**
+     * Replaces the MDC of the current thread with this snapshot.
+     */
+    public void install() {
+        MDC.setContextMap(contextMap);
+    }
+
+    public boolean isEmpty() {
+        return contextMap.isEmpty();
+    }
+
+    public String get(String key) {
+        return contextMap.get(key);
+    }
+
+    public Map<String, String> getContextMap() {
+        return contextMap;
+    }
+
+    /**
+     * Separate class so Logback classes are only loaded when Logback is the MDC adapter in use.
+     */
+    private static final class LogbackSupport {
+
+        private static Map<String, String> getReadOnlyMap() {
+            if (MDC.getMDCAdapter() instanceof LogbackMDCAdapter adapter) {
+                Map<String, String> map = adapter.getPropertyMap();
+
+                return map == null ? Map.of() : map;
+            }
+
+            return null;
+        }
+    }
+}
@@ -1,30 +1,44 @@
 package ee.bitweb.core.trace.thread.decorator;
 
 import ee.bitweb.core.trace.thread.ThreadTraceIdResolver;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.MDC;
 import org.springframework.core.task.TaskDecorator;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.HashMap;
-import java.util.Map;
-
-@RequiredArgsConstructor
 public class SecurityAwareMDCTaskDecorator implements TaskDecorator {
 
     private final ThreadTraceIdResolver resolver;
+    private final boolean childTraceIds;
+
+    public SecurityAwareMDCTaskDecorator(ThreadTraceIdResolver resolver) {
+        this(resolver, true);
+    }
+
+    /**
+     * @param childTraceIds when false, tasks decorated with a trace id keep using it instead of resolving a thread
+     *                      segment of their own
+     */
+    public SecurityAwareMDCTaskDecorator(ThreadTraceIdResolver resolver, boolean childTraceIds) {
+        this.resolver = resolver;
+        this.childTraceIds = childTraceIds;
+    }
 
     @Override
     public Runnable decorate(Runnable runnable) {
-        final Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        final MDCSnapshot snapshot = MDCSnapshot.capture();
         final SecurityContext securityContext = SecurityContextHolder.getContext();
 
         return () -> {
             try {
-                MDC.setContextMap(contextMap == null ? new HashMap<>() : contextMap);
+                snapshot.install();
                 SecurityContextHolder.setContext(securityContext == null ? SecurityContextHolder.createEmptyContext() : securityContext);
-                resolver.resolve();
+
+                if (childTraceIds) {
+                    resolver.resolve();
+                } else {
+                    resolver.resolveIfAbsent();
+                }
 
                 runnable.run();
             } finally {
@@ -0,0 +1,22 @@
+package ee.bitweb.core.trace.thread.decorator;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor which runs every task with the trace context of the thread that submitted it, see
+ * {@link TraceIdTaskWrapper}. Pass it to the {@code *Async} methods of {@link java.util.concurrent.CompletableFuture}
+ * to keep the trace id in dependent stages.
+ */
+@RequiredArgsConstructor
+public class TraceIdPropagatingExecutor implements Executor {
+
+    private final Executor delegate;
+    private final TraceIdTaskWrapper wrapper;
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(wrapper.wrap(command));
+    }
+}
@@ -0,0 +1,117 @@
+package ee.bitweb.core.trace.thread.decorator;
+
+import ee.bitweb.core.trace.thread.ThreadTraceIdResolver;
+import org.slf4j.MDC;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Carries the MDC of the submitting thread, and with it the trace id, over to tasks run by executors and
+ * {@link CompletableFuture}s. The context is captured once on submission as a shareable {@link MDCSnapshot} and a
+ * new thread trace id is resolved when the task starts.
+ * <p>
+ * Unlike {@link BasicMDCTaskDecorator} the MDC the executing thread had before the task is restored afterwards instead
+ * of cleared, so tasks run on the submitting thread (e.g. caller-runs rejection, direct executors) do not wipe its
+ * context, and pooled threads never keep a context of a finished task.
+ */
+public class TraceIdTaskWrapper {
+
+    private final ThreadTraceIdResolver resolver;
+    private final boolean childTraceIds;
+
+    public TraceIdTaskWrapper(ThreadTraceIdResolver resolver) {
+        this(resolver, true);
+    }
+
+    /**
+     * @param childTraceIds when false, tasks submitted with a trace id keep using it instead of resolving a thread
+     *                      segment of their own, which suits large fan-outs of small tasks
+     */
+    public TraceIdTaskWrapper(ThreadTraceIdResolver resolver, boolean childTraceIds) {
+        this.resolver = resolver;
+        this.childTraceIds = childTraceIds;
+    }
+
+    public Runnable wrap(Runnable task) {
+        MDCSnapshot captured = MDCSnapshot.capture();
+
+        return () -> {
+            MDCSnapshot previous = enter(captured);
+
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        MDCSnapshot captured = MDCSnapshot.capture();
+
+        return () -> {
+            MDCSnapshot previous = enter(captured);
+
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public <T> Supplier<T> wrapSupplier(Supplier<T> task) {
+        MDCSnapshot captured = MDCSnapshot.capture();
+
+        return () -> {
+            MDCSnapshot previous = enter(captured);
+
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public Executor decorate(Executor executor) {
+        return new TraceIdPropagatingExecutor(executor, this);
+    }
+
+    public ExecutorService decorate(ExecutorService executor) {
+        return new TraceIdPropagatingExecutorService(executor, this);
+    }
+
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        return CompletableFuture.supplyAsync(wrapSupplier(supplier), executor);
+    }
+
+    public CompletableFuture<Void> runAsync(Runnable runnable, Executor executor) {
+        return CompletableFuture.runAsync(wrap(runnable), executor);
+    }
+
+    private MDCSnapshot enter(MDCSnapshot captured) {
+        MDCSnapshot previous = MDCSnapshot.capture();
+        captured.install();
+
+        if (childTraceIds) {
+            resolver.resolve();
+        } else {
+            resolver.resolveIfAbsent();
+        }
+
+        return previous;
+    }
+
+    private static void restore(MDCSnapshot previous) {
+        if (previous.isEmpty()) {
+            MDC.clear();
+        } else {
+            previous.install();
+        }
+    }
+}
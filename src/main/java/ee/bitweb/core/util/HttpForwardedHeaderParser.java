@@ -9,12 +9,26 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 
+/**
+ * Parser for the RFC 7239 {@code Forwarded} header. The header is tokenized in a single pass: quoted strings may
+ * contain separators and backslash escapes, IPv6 addresses keep their brackets.
+ */
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class HttpForwardedHeaderParser {
 
     public static ForwardedHeader parse(Enumeration<String> headers) {
+        if (!headers.hasMoreElements()) {
+            return merge(List.of());
+        }
+
+        ForwardedHeader first = parse(headers.nextElement());
+        if (!headers.hasMoreElements()) {
+            return distinct(first);
+        }
+
         List<HttpForwardedHeaderParser.ForwardedHeader> results = new ArrayList<>();
+        results.add(first);
 
         while (headers.hasMoreElements()) {
             results.add(parse(headers.nextElement()));
@@ -28,55 +42,7 @@ public final class HttpForwardedHeaderParser {
             throw new InvalidArgumentException("header is required");
         }
 
-        String[] elements = header.split(",");
-
-        List<String> by = new ArrayList<>();
-        List<String> aFor = new ArrayList<>();
-        List<String> host = new ArrayList<>();
-        List<String> proto = new ArrayList<>();
-        List<ForwardedExtension> extensions = new ArrayList<>();
-
-        for (String element : elements) {
-            String[] parameters = element.trim().split(";");
-
-            for (String parameter : parameters) {
-                String[] pair = parameter.split("=");
-                if (pair.length != 2) {
-                    log.debug("'{}' is not recognisable", parameter);
-                    continue;
-                }
-
-                String key = pair[0].toLowerCase();
-                String value = pair[1].replaceAll("^\"|\"$", "");
-
-                switch (key) {
-                    case "by":
-                        by.add(value);
-                        break;
-                    case "for":
-                        aFor.add(value);
-                        break;
-                    case "host":
-                        host.add(value);
-                        break;
-                    case "proto":
-                        proto.add(value);
-                        break;
-                    default:
-                        extensions.add(new ForwardedExtension(key, value));
-                        break;
-                }
-            }
-        }
-
-        var result = new ForwardedHeader();
-        result.setBy(by);
-        result.setFor(aFor);
-        result.setHost(host);
-        result.setProto(proto);
-        result.setExtensions(extensions);
-
-        return result;
+        return tokenize(header);
     }
 
     public static ForwardedHeader merge(List<ForwardedHeader> headers) {
@@ -104,6 +70,205 @@ public final class HttpForwardedHeaderParser {
         return result;
     }
 
+    /**
+     * Same result as merging a single header, but values are only copied when the header repeats one.
+     */
+    private static ForwardedHeader distinct(ForwardedHeader header) {
+        if (isDistinct(header.getBy())
+                && isDistinct(header.getAFor())
+                && isDistinct(header.getHost())
+                && isDistinct(header.getProto())) {
+            return header;
+        }
+
+        return merge(List.of(header));
+    }
+
+    private static boolean isDistinct(List<String> values) {
+        for (int i = 1; i < values.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                if (values.get(i).equals(values.get(j))) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static ForwardedHeader tokenize(String header) {
+        Parsed parsed = new Parsed();
+        int length = header.length();
+        int start = 0;
+
+        while (start <= length) {
+            int end = findPairEnd(header, start);
+            parsePair(header, start, end, parsed);
+            start = end + 1;
+        }
+
+        return parsed.toHeader();
+    }
+
+    /**
+     * @return index of the {@code ;} or {@code ,} ending the pair that starts at {@code start}, or header length
+     */
+    private static int findPairEnd(String header, int start) {
+        boolean quoted = false;
+
+        for (int i = start; i < header.length(); i++) {
+            char c = header.charAt(i);
+
+            if (quoted) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ';' || c == ',') {
+                return i;
+            }
+        }
+
+        return header.length();
+    }
+
+    private static void parsePair(String header, int start, int end, Parsed parsed) {
+        start = skipWhitespace(header, start, end);
+        end = trimWhitespace(header, start, end);
+
+        if (start == end) {
+            return;
+        }
+
+        int separator = -1;
+        boolean quoted = false;
+
+        for (int i = start; i < end; i++) {
+            char c = header.charAt(i);
+
+            if (quoted) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == '=') {
+                if (separator != -1) {
+                    parsed.invalid(header.substring(start, end));
+
+                    return;
+                }
+                separator = i;
+            }
+        }
+
+        if (separator <= start || separator == end - 1) {
+            parsed.invalid(header.substring(start, end));
+
+            return;
+        }
+
+        String key = header.substring(start, separator).toLowerCase(Locale.ROOT);
+        String value = unquote(header, separator + 1, end);
+
+        switch (key) {
+            case "by" -> parsed.by = add(parsed.by, value);
+            case "for" -> parsed.aFor = add(parsed.aFor, value);
+            case "host" -> parsed.host = add(parsed.host, value);
+            case "proto" -> parsed.proto = add(parsed.proto, value);
+            default -> parsed.extensions = add(parsed.extensions, new ForwardedExtension(key, value));
+        }
+    }
+
+    private static String unquote(String header, int start, int end) {
+        if (header.charAt(start) != '"') {
+            return header.substring(start, end);
+        }
+
+        boolean closed = end - start >= 2 && header.charAt(end - 1) == '"';
+        int contentEnd = closed ? end - 1 : end;
+
+        int escape = header.indexOf('\\', start + 1);
+        if (escape == -1 || escape >= contentEnd) {
+            return header.substring(start + 1, contentEnd);
+        }
+
+        StringBuilder builder = new StringBuilder(contentEnd - start - 1);
+        for (int i = start + 1; i < contentEnd; i++) {
+            char c = header.charAt(i);
+
+            if (c == '\\' && i + 1 < contentEnd) {
+                c = header.charAt(++i);
+            }
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    private static int skipWhitespace(String header, int start, int end) {
+        while (start < end && isWhitespace(header.charAt(start))) {
+            start++;
+        }
+
+        return start;
+    }
+
+    private static int trimWhitespace(String header, int start, int end) {
+        while (end > start && isWhitespace(header.charAt(end - 1))) {
+            end--;
+        }
+
+        return end;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private static <T> List<T> add(List<T> list, T value) {
+        List<T> result = list == null ? new ArrayList<>(2) : list;
+        result.add(value);
+
+        return result;
+    }
+
+    /**
+     * Values collected while tokenizing, lists are only allocated for parameters present in the header.
+     */
+    private static final class Parsed {
+
+        private List<String> by;
+        private List<String> aFor;
+        private List<String> host;
+        private List<String> proto;
+        private List<ForwardedExtension> extensions;
+
+        private void invalid(String parameter) {
+            log.debug("'{}' is not recognisable", parameter);
+        }
+
+        private ForwardedHeader toHeader() {
+            var result = new ForwardedHeader();
+            result.by = seal(by);
+            result.aFor = seal(aFor);
+            result.host = seal(host);
+            result.proto = seal(proto);
+            result.extensions = seal(extensions);
+
+            return result;
+        }
+
+        private static <T> List<T> seal(List<T> list) {
+            return list == null ? List.of() : Collections.unmodifiableList(list);
+        }
+    }
+
     @Getter
     @NoArgsConstructor(access = AccessLevel.PROTECTED)
     public static class ForwardedHeader {
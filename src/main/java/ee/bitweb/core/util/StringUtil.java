@@ -4,13 +4,18 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class StringUtil {
 
-    private static final String CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890";
+    private static final char[] CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890".toCharArray();
     private static final SecureRandom RANDOM = new SecureRandom();
 
+    private static final int BITS_PER_CHAR = 6;
+    private static final int CHARS_PER_DRAW = Long.SIZE / BITS_PER_CHAR;
+    private static final int CHAR_MASK = (1 << BITS_PER_CHAR) - 1;
+
     /**
      * Trims whitespace from the given string value.
      *
@@ -22,13 +27,40 @@ public final class StringUtil {
     }
 
     public static String random(int length) {
-        var sb = new StringBuilder();
+        return random(length, RANDOM);
+    }
 
-        while (sb.length() < length) {
-            var index = RANDOM.nextInt(CHARS.length());
-            sb.append(CHARS.charAt(index));
-        }
+    /**
+     * Creates a random alphanumeric string using the given generator, e.g. {@link java.util.concurrent.ThreadLocalRandom}
+     * when the result does not have to be unpredictable.
+     */
+    public static String random(int length, RandomGenerator generator) {
+        char[] result = new char[length];
+        random(result, 0, length, generator);
+
+        return new String(result);
+    }
 
-        return sb.toString();
+    /**
+     * Fills {@code length} characters of {@code target} starting at {@code offset} with random alphanumeric characters.
+     * Each 64-bit draw is split into 6-bit chunks, chunks outside the alphabet are rejected, so a single draw yields up
+     * to 10 characters without any bias.
+     */
+    public static void random(char[] target, int offset, int length, RandomGenerator generator) {
+        int position = offset;
+        int end = offset + length;
+
+        while (position < end) {
+            long bits = generator.nextLong();
+
+            for (int i = 0; i < CHARS_PER_DRAW && position < end; i++) {
+                int index = (int) (bits & CHAR_MASK);
+                bits >>>= BITS_PER_CHAR;
+
+                if (index < CHARS.length) {
+                    target[position++] = CHARS[index];
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,80 @@
+package ee.bitweb.core.audit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AuditLogBlacklistMatcherUnitTests {
+
+    @Test
+    void onFragmentEntriesShouldMatchUriContainingAnyOfThem() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(
+                List.of("/actuator/", "/ignored", "/health", "/he")
+        );
+
+        assertTrue(matcher.isBlacklisted("GET", "/actuator/health"));
+        assertTrue(matcher.isBlacklisted("POST", "/api/ignored/123"));
+        assertTrue(matcher.isBlacklisted("GET", "/api/hello"));
+        assertFalse(matcher.isBlacklisted("GET", "/ushealth"));
+        assertFalse(matcher.isBlacklisted("GET", "/actuator"));
+        assertFalse(matcher.isBlacklisted("GET", "/api/users"));
+    }
+
+    @Test
+    void onOverlappingFragmentsShouldFollowFailureLinks() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(List.of("abcd", "bce"));
+
+        assertTrue(matcher.isBlacklisted("GET", "/abce"));
+        assertFalse(matcher.isBlacklisted("GET", "/abc/e"));
+    }
+
+    @Test
+    void onAntPatternShouldMatchWholeUri() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(List.of("ant:/internal/**", "ant:/files/*/preview"));
+
+        assertTrue(matcher.isBlacklisted("GET", "/internal/metrics/jvm"));
+        assertTrue(matcher.isBlacklisted("GET", "/files/12/preview"));
+        assertFalse(matcher.isBlacklisted("GET", "/api/internal/metrics"));
+        assertFalse(matcher.isBlacklisted("GET", "/files/12/download"));
+    }
+
+    @Test
+    void onUnmarkedEntryWithWildcardShouldKeepSubstringMatching() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(List.of("/files/*"));
+
+        assertTrue(matcher.isBlacklisted("GET", "/api/files/*"));
+        assertFalse(matcher.isBlacklisted("GET", "/files/1"));
+    }
+
+    @Test
+    void onMethodRuleShouldApplyOnlyToThatMethod() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(List.of("GET /status", "head ant:/files/**"));
+
+        assertTrue(matcher.isBlacklisted("GET", "/status"));
+        assertFalse(matcher.isBlacklisted("POST", "/status"));
+        assertTrue(matcher.isBlacklisted("HEAD", "/files/1"));
+        assertFalse(matcher.isBlacklisted("GET", "/files/1"));
+    }
+
+    @Test
+    void patternDecisionCacheShouldStayBounded() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(List.of("ant:/internal/**"));
+
+        for (int i = 0; i < AuditLogBlacklistMatcher.CACHE_SIZE * 3; i++) {
+            assertFalse(matcher.isBlacklisted("GET", "/api/" + i));
+        }
+
+        assertTrue(matcher.getCacheSize() <= AuditLogBlacklistMatcher.CACHE_SIZE);
+    }
+
+    @Test
+    void onEmptyBlacklistShouldNotMatch() {
+        AuditLogBlacklistMatcher matcher = new AuditLogBlacklistMatcher(List.of());
+
+        assertFalse(matcher.isBlacklisted("GET", "/actuator/health"));
+    }
+}
@@ -0,0 +1,81 @@
+package ee.bitweb.core.audit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.audit.mappers.RequestMethodMapper;
+import ee.bitweb.core.utils.MemoryAppender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AuditLogFilterUnitTests {
+
+    private Logger logger;
+    private MemoryAppender memoryAppender;
+
+    @BeforeEach
+    void beforeEach() {
+        logger = (Logger) LoggerFactory.getLogger(AuditLogFilter.class);
+        memoryAppender = new MemoryAppender();
+        memoryAppender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+        logger.addAppender(memoryAppender);
+        memoryAppender.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        logger.detachAppender(memoryAppender);
+    }
+
+    @Test
+    void onMapperOverridingDeprecatedMapShouldWarn() {
+        createFilter(new DeprecatedMapper());
+
+        assertEquals(1, memoryAppender.search(DeprecatedMapper.class.getName(), Level.WARN).size());
+    }
+
+    @Test
+    void onMapperNotOverridingDeprecatedMapShouldNotWarn() {
+        createFilter(new RequestMethodMapper());
+
+        assertEquals(0, memoryAppender.search("no longer called", Level.WARN).size());
+    }
+
+    private static void createFilter(AuditLogDataMapper mapper) {
+        new AuditLogFilter(new AuditLogProperties(), List.of(mapper), container -> {});
+    }
+
+    private static class DeprecatedMapper implements AuditLogDataMapper {
+
+        @Override
+        public String getValue(HttpServletRequest request, HttpServletResponse response) {
+            return null;
+        }
+
+        @Override
+        public String getKey() {
+            return "deprecated";
+        }
+
+        @Override
+        @SuppressWarnings("removal")
+        public void map(ContentCachingRequestWrapper request, ContentCachingResponseWrapper response, Map<String, String> container) {
+            container.put("first", "value");
+            container.put("second", "value");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingPolicy;
+import ee.bitweb.core.audit.writers.AuditLogWriteAdapter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("integration")
+class AuditLogReactiveAutoConfigurationTests {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withClassLoader(new FilteredClassLoader("jakarta.servlet"))
+            .withUserConfiguration(AuditLogAutoConfiguration.class)
+            .withPropertyValues("ee.bitweb.core.audit.auto-configuration=true");
+
+    @Test
+    void withoutServletApiShouldCreateOnlyReactiveBeans() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(AuditLogWebFilter.class);
+            assertThat(context).hasSingleBean(AuditLogWriteAdapter.class);
+            assertThat(context).doesNotHaveBean(AuditLogFilter.class);
+            assertThat(context).doesNotHaveBean(AuditLogSamplingPolicy.class);
+            assertThat(context).doesNotHaveBean(AuditLogDataMapper.class);
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.exception.CoreException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AuditLogRecordUnitTests {
+
+    private static final AuditLogRecord.Layout LAYOUT = AuditLogRecord.Layout.of(List.of("method", "url", "body"));
+
+    @Test
+    void slotValuesShouldBeVisibleThroughMapView() {
+        AuditLogRecord record = new AuditLogRecord(LAYOUT);
+        record.set(0, "GET");
+        record.set(2, null);
+
+        assertEquals(2, record.size());
+        assertEquals("GET", record.get("method"));
+        assertTrue(record.containsKey("body"));
+        assertNull(record.get("body"));
+        assertFalse(record.containsKey("url"));
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("method", "GET");
+        expected.put("body", null);
+        assertEquals(expected, new HashMap<>(record));
+    }
+
+    @Test
+    void durationShouldBeStoredAsPrimitiveAndExposedAsString() {
+        AuditLogRecord record = new AuditLogRecord(LAYOUT);
+        record.setDuration(15);
+
+        assertEquals(15, record.getDuration());
+        assertEquals("15", record.get(AuditLogFilter.DURATION_KEY));
+        assertEquals(1, record.size());
+    }
+
+    @Test
+    void unknownKeysShouldBeStoredInOverflow() {
+        AuditLogRecord record = new AuditLogRecord(LAYOUT);
+        record.set(1, "/api");
+        record.put("audit", "1");
+
+        assertEquals(2, record.size());
+        assertEquals("1", record.get("audit"));
+        assertEquals("1", record.remove("audit"));
+        assertEquals(Map.of("url", "/api"), new HashMap<>(record));
+    }
+
+    @Test
+    void putOnKnownKeyShouldReplaceSlotValue() {
+        AuditLogRecord record = new AuditLogRecord(LAYOUT);
+        record.set(2, "{\"a\":1}");
+
+        assertEquals("{\"a\":1}", record.put("body", "7"));
+        assertEquals("7", record.get(2));
+        assertEquals(1, record.size());
+    }
+
+    @Test
+    void iteratorRemoveShouldClearSlot() {
+        AuditLogRecord record = new AuditLogRecord(LAYOUT);
+        record.set(0, "GET");
+        record.set(1, "/api");
+        record.put("audit", "1");
+
+        record.entrySet().removeIf(entry -> !entry.getKey().equals("url"));
+
+        assertEquals(Map.of("url", "/api"), new HashMap<>(record));
+    }
+
+    @Test
+    void clearShouldResetPrimitiveValues() {
+        AuditLogRecord record = new AuditLogRecord(LAYOUT);
+        record.set(0, "GET");
+        record.put("audit", "1");
+        record.setDuration(15);
+        record.setStatus(200);
+        record.setRequestSize(10);
+        record.setResponseSize(20);
+
+        record.clear();
+
+        assertTrue(record.isEmpty());
+        assertEquals(AuditLogRecord.UNSET, record.getDuration());
+        assertEquals(AuditLogRecord.UNSET, record.getStatus());
+        assertEquals(AuditLogRecord.UNSET, record.getRequestSize());
+        assertEquals(AuditLogRecord.UNSET, record.getResponseSize());
+    }
+
+    @Test
+    void onDuplicateKeysLayoutCreationShouldFail() {
+        List<String> keys = List.of("method", "method");
+
+        CoreException exception = assertThrows(CoreException.class, () -> AuditLogRecord.Layout.of(keys));
+
+        assertEquals("Audit log mappers contain duplicate key method", exception.getMessage());
+    }
+}
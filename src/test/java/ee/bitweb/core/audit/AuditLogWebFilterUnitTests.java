@@ -0,0 +1,131 @@
+package ee.bitweb.core.audit;
+
+import ee.bitweb.core.audit.mappers.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AuditLogWebFilterUnitTests {
+
+    private final List<Map<String, String>> records = new ArrayList<>();
+
+    @Test
+    void onRequestShouldCaptureBodiesAndWriteRecord() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/items?page=1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"name\":\"item\"}")
+        );
+
+        createFilter(new AuditLogProperties())
+                .filter(exchange, AuditLogWebFilterUnitTests::echo)
+                .contextWrite(Context.of(TraceIdMapper.KEY, "trace"))
+                .block();
+
+        assertEquals(1, records.size());
+        Map<String, String> record = records.get(0);
+
+        assertAll(
+                () -> assertEquals("POST", record.get(RequestMethodMapper.KEY)),
+                () -> assertEquals("/api/items?page=1", record.get(RequestUrlDataMapper.KEY)),
+                () -> assertEquals("201", record.get(ResponseStatusMapper.KEY)),
+                () -> assertEquals("{\"name\":\"item\"}", record.get(RequestBodyMapper.KEY)),
+                () -> assertEquals("echo:{\"name\":\"item\"}", record.get(ResponseBodyMapper.KEY)),
+                () -> assertEquals("trace", record.get(TraceIdMapper.KEY)),
+                () -> assertTrue(record.containsKey(AuditLogFilter.DURATION_KEY)),
+                () -> assertFalse(record.containsKey(RequestHeadersMapper.KEY))
+        );
+        assertEquals("echo:{\"name\":\"item\"}", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void onLargeBodyShouldCaptureOnlyPrefix() {
+        AuditLogProperties properties = new AuditLogProperties();
+        properties.setMaxLoggableRequestSize(4);
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/items")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .body(Flux.just(wrap("0123"), wrap("4567"), wrap("89")))
+        );
+
+        createFilter(properties).filter(exchange, AuditLogWebFilterUnitTests::echo).block();
+
+        assertEquals("0123 ... Content size: 10 bytes", records.get(0).get(RequestBodyMapper.KEY));
+        assertEquals("echo:0123456789", exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void onIgnoredContentTypeShouldLogSummary() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/files")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body("binary")
+        );
+
+        createFilter(new AuditLogProperties()).filter(exchange, AuditLogWebFilterUnitTests::echo).block();
+
+        assertEquals(
+                "Content not logged. Content type: application/octet-stream, Content size: 6 bytes",
+                records.get(0).get(RequestBodyMapper.KEY)
+        );
+    }
+
+    @Test
+    void onBlacklistedRequestShouldNotWriteRecord() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        createFilter(new AuditLogProperties()).filter(exchange, e -> Mono.empty()).block();
+
+        assertTrue(records.isEmpty());
+    }
+
+    @Test
+    void onErrorShouldWriteRecordAndPropagateError() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/items"));
+        AuditLogWebFilter filter = createFilter(new AuditLogProperties());
+
+        Mono<Void> result = filter.filter(exchange, e -> Mono.error(new IllegalStateException("failure")));
+
+        assertThrows(IllegalStateException.class, result::block);
+        assertEquals("500", records.get(0).get(ResponseStatusMapper.KEY));
+    }
+
+    private AuditLogWebFilter createFilter(AuditLogProperties properties) {
+        return new AuditLogWebFilter(properties, container -> records.add(new HashMap<>(container)));
+    }
+
+    private static Mono<Void> echo(ServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getRequest().getBody()).flatMap(buffer -> {
+            String body = buffer.toString(StandardCharsets.UTF_8);
+            DataBufferUtils.release(buffer);
+
+            exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+            exchange.getResponse().getHeaders().setContentType(MediaType.TEXT_PLAIN);
+
+            return exchange.getResponse().writeWith(Mono.just(wrap("echo:" + body)));
+        });
+    }
+
+    private static DataBuffer wrap(String value) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package ee.bitweb.core.audit.capture;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class BodyCapturePolicyUnitTests {
+
+    @Test
+    void onMissingContentTypeShouldCapture() {
+        BodyCapturePolicy policy = new BodyCapturePolicy(List.of("application/json"), List.of("image/*"));
+
+        assertTrue(policy.isCapturable(null));
+        assertTrue(policy.isCapturable(" "));
+    }
+
+    @Test
+    void onIgnoredContentTypeShouldNotCapture() {
+        BodyCapturePolicy policy = new BodyCapturePolicy(List.of(), List.of("image/*", "Application/Octet-Stream"));
+
+        assertFalse(policy.isCapturable("image/png"));
+        assertFalse(policy.isCapturable("application/octet-stream; charset=binary"));
+        assertTrue(policy.isCapturable("application/json"));
+    }
+
+    @Test
+    void onAllowListShouldCaptureOnlyListedContentTypes() {
+        BodyCapturePolicy policy = new BodyCapturePolicy(List.of("application/json", "text/*"), List.of("text/event-stream"));
+
+        assertTrue(policy.isCapturable("application/json;charset=UTF-8"));
+        assertTrue(policy.isCapturable("text/plain"));
+        assertFalse(policy.isCapturable("text/event-stream"));
+        assertFalse(policy.isCapturable("application/xml"));
+    }
+
+    @Test
+    void wildcardShouldNotMatchBareType() {
+        BodyCapturePolicy policy = new BodyCapturePolicy(List.of(), List.of("image/*"));
+
+        assertTrue(policy.isCapturable("image"));
+        assertTrue(policy.isCapturable("imagex/png"));
+    }
+}
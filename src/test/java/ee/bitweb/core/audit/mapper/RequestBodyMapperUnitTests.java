@@ -0,0 +1,129 @@
+package ee.bitweb.core.audit.mapper;
+
+import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.capture.AuditLogRequestWrapper;
+import ee.bitweb.core.audit.capture.BodyCapturePolicy;
+import ee.bitweb.core.audit.mappers.RequestBodyMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+@ExtendWith(MockitoExtension.class)
+class RequestBodyMapperUnitTests {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void onConsumedRequestBodyShouldReturnCapturedContent() throws IOException {
+        AuditLogRequestWrapper wrapper = createWrapper("Some content".getBytes(StandardCharsets.UTF_8), null, 100);
+
+        assertArrayEquals("Some content".getBytes(StandardCharsets.UTF_8), wrapper.getInputStream().readAllBytes());
+        assertEquals("Some content", getMapper().getValue(wrapper, response));
+    }
+
+    @Test
+    void onContentLargerThanLimitShouldReturnPrefixAndTotalSize() throws IOException {
+        AuditLogRequestWrapper wrapper = createWrapper("a".repeat(20).getBytes(StandardCharsets.UTF_8), null, 9);
+
+        assertEquals(20, wrapper.getInputStream().readAllBytes().length);
+        assertEquals("aaaaaaaaa ... Content size: 20 bytes", getMapper().getValue(wrapper, response));
+        assertEquals(9, wrapper.getCapturedSize());
+        assertEquals(20, wrapper.getTotalSize());
+    }
+
+    @Test
+    void onLimitSplittingMultiByteCharacterShouldLeaveCharacterOut() throws IOException {
+        AuditLogRequestWrapper wrapper = createWrapper("aää".getBytes(StandardCharsets.UTF_8), null, 4);
+
+        assertEquals(5, wrapper.getInputStream().readAllBytes().length);
+        assertEquals("aä ... Content size: 5 bytes", getMapper().getValue(wrapper, response));
+    }
+
+    @Test
+    void onDeclaredCharsetShouldDecodeCapturedContentWithIt() throws IOException {
+        String content = "T\u00e4pit\u00e4ht \u00f5ige";
+        AuditLogRequestWrapper wrapper = createWrapper(content.getBytes(StandardCharsets.ISO_8859_1), "ISO-8859-1", 100);
+
+        assertEquals(content, wrapper.getReader().readLine());
+        assertEquals(content, getMapper().getValue(wrapper, response));
+    }
+
+    @Test
+    void onUnreadRequestBodyShouldReturnNull() {
+        AuditLogRequestWrapper wrapper = createWrapper("Some content".getBytes(StandardCharsets.UTF_8), null, 100);
+
+        assertNull(getMapper().getValue(wrapper, response));
+    }
+
+    @Test
+    void onFormPostShouldReturnParameters() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/form");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("name", "value");
+
+        AuditLogRequestWrapper wrapper = new AuditLogRequestWrapper(request, 100);
+
+        assertEquals("name=value", getMapper().getValue(wrapper, response));
+    }
+
+    @Test
+    void onIgnoredContentTypeShouldReturnSummaryWithoutCapturing() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("application/octet-stream");
+        request.setContent(new byte[]{1, 2, 3, 4, 5});
+
+        AuditLogRequestWrapper wrapper = new AuditLogRequestWrapper(
+                request,
+                100,
+                new BodyCapturePolicy(List.of(), List.of("application/octet-stream"))
+        );
+
+        assertEquals(5, wrapper.getInputStream().readAllBytes().length);
+        assertTrue(wrapper.isCaptureSkipped());
+        assertEquals(0, wrapper.getCapturedSize());
+        assertEquals(
+                "Content not logged. Content type: application/octet-stream, Content size: 5 bytes",
+                getMapper().getValue(wrapper, response)
+        );
+    }
+
+    @Test
+    void onBinaryContentShouldReturnSummary() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/upload");
+        request.setContentType("application/json");
+        request.setContent(new byte[]{'{', 0, 1, 2, '}'});
+
+        AuditLogRequestWrapper wrapper = new AuditLogRequestWrapper(request, 100);
+
+        assertEquals(5, wrapper.getInputStream().readAllBytes().length);
+        assertFalse(wrapper.isCaptureSkipped());
+        assertEquals(
+                "Content not logged. Content type: application/json, Content size: 5 bytes",
+                getMapper().getValue(wrapper, response)
+        );
+    }
+
+    private static AuditLogRequestWrapper createWrapper(byte[] content, String encoding, int limit) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
+        request.setContent(content);
+        if (encoding != null) {
+            request.setCharacterEncoding(encoding);
+        }
+
+        return new AuditLogRequestWrapper(request, limit);
+    }
+
+    private static RequestBodyMapper getMapper() {
+        return new RequestBodyMapper(new AuditLogProperties());
+    }
+}
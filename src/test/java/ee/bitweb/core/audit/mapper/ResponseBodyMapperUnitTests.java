@@ -1,6 +1,8 @@
 package ee.bitweb.core.audit.mapper;
 
 import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.capture.AuditLogResponseWrapper;
+import ee.bitweb.core.audit.capture.BodyCapturePolicy;
 import ee.bitweb.core.audit.mappers.ResponseBodyMapper;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,8 @@ import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,4 +57,124 @@ class ResponseBodyMapperUnitTests {
         assertEquals("aaaaaaaaa ... Content size: 10 characters", value);
     }
 
+    @Test
+    void onWriteThroughResponseBodyIsWrittenToClientAndCaptured() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(response, 100);
+        wrapper.getWriter().write("Some content");
+        wrapper.flushWriter();
+
+        assertEquals("Some content", response.getContentAsString());
+        assertFalse(response.isCommitted());
+
+        String value = new ResponseBodyMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), wrapper);
+
+        assertEquals("Some content", value);
+    }
+
+    @Test
+    void onWriteThroughContentLargerThanLimitShouldLogPrefixAndTotalSize() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(response, 9);
+        wrapper.getOutputStream().write("a".repeat(10).getBytes());
+
+        String value = new ResponseBodyMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), wrapper);
+
+        assertEquals("a".repeat(10), response.getContentAsString());
+        assertEquals("aaaaaaaaa ... Content size: 10 bytes", value);
+    }
+
+    @Test
+    void onIgnoredContentTypeShouldStreamBodyAndLogOnlySummary() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(
+                response,
+                100,
+                new BodyCapturePolicy(List.of(), List.of("image/*"))
+        );
+        wrapper.setContentType("image/png");
+        wrapper.getOutputStream().write(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+
+        String value = new ResponseBodyMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), wrapper);
+
+        assertEquals(4, response.getContentAsByteArray().length);
+        assertTrue(wrapper.isCaptureSkipped());
+        assertEquals("Content not logged. Content type: image/png, Content size: 4 bytes", value);
+    }
+
+    @Test
+    void onContentTypeNotInAllowListShouldLogOnlySummary() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(
+                response,
+                100,
+                new BodyCapturePolicy(List.of("application/json"), List.of())
+        );
+        wrapper.setContentType("text/html;charset=UTF-8");
+        wrapper.getWriter().write("<html></html>");
+
+        String value = new ResponseBodyMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), wrapper);
+
+        assertEquals("<html></html>", response.getContentAsString());
+        assertEquals("Content not logged. Content type: text/html;charset=UTF-8, Content size: 13 bytes", value);
+    }
+
+    @Test
+    void onResetAfterIgnoredContentTypeShouldCaptureNewBody() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(
+                response,
+                100,
+                new BodyCapturePolicy(List.of(), List.of("image/*"))
+        );
+        wrapper.setContentType("image/png");
+        wrapper.getOutputStream().write(new byte[]{(byte) 0x89, 'P', 'N', 'G'});
+
+        wrapper.reset();
+        wrapper.setContentType("application/json");
+        wrapper.getOutputStream().write("{\"error\":true}".getBytes(StandardCharsets.UTF_8));
+
+        String value = new ResponseBodyMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), wrapper);
+
+        assertFalse(wrapper.isCaptureSkipped());
+        assertEquals("{\"error\":true}", value);
+    }
+
+    @Test
+    void onResetBufferShouldDropCharactersPendingInWriter() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(response, 100);
+        wrapper.getWriter().write("partial");
+
+        wrapper.resetBuffer();
+        wrapper.getWriter().write("{\"error\":true}");
+
+        String value = new ResponseBodyMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), wrapper);
+
+        assertEquals("{\"error\":true}", response.getContentAsString());
+        assertEquals("{\"error\":true}", value);
+    }
+
+    @Test
+    void onSendErrorShouldDropCharactersPendingInWriter() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(response, 100);
+        wrapper.getWriter().write("partial");
+
+        wrapper.sendError(500);
+
+        assertEquals("", wrapper.getCapturedBody());
+        assertEquals(0, wrapper.getTotalSize());
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void onZeroLimitShouldNotReportSkippedCapture() throws IOException {
+        AuditLogResponseWrapper wrapper = new AuditLogResponseWrapper(new MockHttpServletResponse(), 0);
+        wrapper.setContentType("application/json");
+        wrapper.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(wrapper.isCaptureSkipped());
+        assertTrue(wrapper.isTruncated());
+    }
 }
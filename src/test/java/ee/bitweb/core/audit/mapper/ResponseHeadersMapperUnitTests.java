@@ -0,0 +1,69 @@
+package ee.bitweb.core.audit.mapper;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.mappers.ResponseHeadersMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("unit")
+class ResponseHeadersMapperUnitTests {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void noHeadersAreLoggedByDefault() throws JacksonException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("Content-Type", "application/json");
+
+        String resultString = getMapper(new AuditLogProperties()).getValue(new MockHttpServletRequest(), response);
+
+        assertEquals("{}", resultString);
+    }
+
+    @Test
+    void configuredHeadersAreLoggedCaseInsensitively() throws JacksonException {
+        AuditLogProperties properties = new AuditLogProperties();
+        properties.setResponseHeaders(List.of("x-request-id", "Location", "LOCATION", "X-Missing"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("X-Request-Id", "abc");
+        response.addHeader("Location", "/first");
+        response.addHeader("Location", "/second");
+        response.addHeader("Random", "This is unnecessary data");
+
+        String resultString = getMapper(properties).getValue(new MockHttpServletRequest(), response);
+        Map<String, String> result = mapper.readValue(resultString, Map.class);
+
+        assertEquals("abc", result.get("x-request-id"));
+        assertEquals("/first|/second", result.get("Location"));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void sensitiveHeadersAreMasked() throws JacksonException {
+        AuditLogProperties properties = new AuditLogProperties();
+        properties.setResponseHeaders(List.of("Set-Cookie"));
+        properties.getSensitiveHeaders().add("SET-COOKIE");
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("Set-Cookie", "session=secret");
+
+        String resultString = getMapper(properties).getValue(new MockHttpServletRequest(), response);
+        Map<String, String> result = mapper.readValue(resultString, Map.class);
+
+        assertEquals("Len(14)", result.get("Set-Cookie"));
+    }
+
+    private ResponseHeadersMapper getMapper(AuditLogProperties properties) {
+        return new ResponseHeadersMapper(properties, mapper);
+    }
+}
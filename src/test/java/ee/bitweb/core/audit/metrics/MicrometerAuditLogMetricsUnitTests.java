@@ -0,0 +1,100 @@
+package ee.bitweb.core.audit.metrics;
+
+import ee.bitweb.core.audit.AuditLogFilter;
+import ee.bitweb.core.audit.AuditLogProperties;
+import ee.bitweb.core.audit.mappers.AuditLogDataMapper;
+import ee.bitweb.core.audit.mappers.RequestMethodMapper;
+import ee.bitweb.core.audit.mappers.ResponseBodyMapper;
+import ee.bitweb.core.audit.sampling.AuditLogSamplingPolicy;
+import ee.bitweb.core.audit.writers.AuditLogWriteAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class MicrometerAuditLogMetricsUnitTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void auditedRequestShouldRecordMapperWriterAndBodyMetrics() throws Exception {
+        AuditLogFilter filter = createFilter(container -> {});
+
+        filter.doFilter(request("/api"), new MockHttpServletResponse(), echoChain("x".repeat(20)));
+
+        assertAll(
+                () -> assertEquals(1, registry.get("audit.mapper.duration").tag("mapper", RequestMethodMapper.KEY).timer().count()),
+                () -> assertEquals(1, registry.get("audit.mapper.duration").tag("mapper", ResponseBodyMapper.KEY).timer().count()),
+                () -> assertEquals(1, registry.get("audit.writer.duration").tag("outcome", "success").timer().count()),
+                () -> assertEquals(20, registry.get("audit.body.size").tag("direction", "response").summary().totalAmount()),
+                () -> assertEquals(1, registry.get("audit.body.truncated").tag("direction", "response").counter().count()),
+                () -> assertEquals(0, registry.get("audit.body.truncated").tag("direction", "request").counter().count()),
+                () -> assertEquals(1, registry.get("audit.requests.sampled").tag("decision", "full").counter().count())
+        );
+    }
+
+    @Test
+    void writerFailureShouldBeCounted() throws Exception {
+        AuditLogFilter filter = createFilter(container -> {
+            throw new IllegalStateException("failure");
+        });
+
+        filter.doFilter(request("/api"), new MockHttpServletResponse(), echoChain("body"));
+
+        assertEquals(1, registry.get("audit.writer.duration").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void skippedBodyShouldNotBeCountedAsTruncated() throws Exception {
+        AuditLogFilter filter = createFilter(container -> {});
+
+        filter.doFilter(request("/api"), new MockHttpServletResponse(), (request, response) -> {
+            response.setContentType("application/octet-stream");
+            response.getOutputStream().write(new byte[20]);
+        });
+
+        assertAll(
+                () -> assertEquals(20, registry.get("audit.body.size").tag("direction", "response").summary().totalAmount()),
+                () -> assertEquals(0, registry.get("audit.body.truncated").tag("direction", "response").counter().count())
+        );
+    }
+
+    @Test
+    void blacklistedRequestShouldBeCounted() throws Exception {
+        AuditLogFilter filter = createFilter(container -> {});
+
+        filter.doFilter(request("/actuator/health"), new MockHttpServletResponse(), echoChain("UP"));
+
+        assertEquals(1, registry.get("audit.requests.skipped").tag("reason", "blacklisted").counter().count());
+        assertEquals(0, registry.get("audit.writer.duration").tag("outcome", "success").timer().count());
+    }
+
+    private AuditLogFilter createFilter(AuditLogWriteAdapter writer) {
+        AuditLogProperties properties = new AuditLogProperties();
+        properties.setMaxLoggableResponseSize(10);
+        List<AuditLogDataMapper> mappers = List.of(new RequestMethodMapper(), new ResponseBodyMapper(properties));
+
+        return new AuditLogFilter(
+                properties,
+                mappers,
+                writer,
+                AuditLogSamplingPolicy.DEFAULT,
+                new MicrometerAuditLogMetrics(registry, mappers, writer)
+        );
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static FilterChain echoChain(String body) {
+        return (request, response) -> response.getWriter().write(body);
+    }
+}
@@ -0,0 +1,126 @@
+package ee.bitweb.core.audit.sampling;
+
+import ee.bitweb.core.audit.AuditLogProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class RuleBasedAuditLogSamplingPolicyUnitTests {
+
+    @Test
+    void onErrorStatusShouldAlwaysAuditInFull() {
+        RuleBasedAuditLogSamplingPolicy policy = new RuleBasedAuditLogSamplingPolicy(
+                sampling(0.0, rule("/api/**", 0.0, 0))
+        );
+
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("/api/users"), response(500), null));
+        assertEquals(
+                AuditLogSamplingDecision.FULL,
+                policy.decide(request("/api/users"), response(200), new IllegalStateException())
+        );
+    }
+
+    @Test
+    void onZeroRateShouldSkip() {
+        RuleBasedAuditLogSamplingPolicy policy = new RuleBasedAuditLogSamplingPolicy(
+                sampling(1.0, rule("/health/**", 0.0, 0))
+        );
+
+        assertEquals(AuditLogSamplingDecision.SKIP, policy.decide(request("/health/live"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("/api/users"), response(200), null));
+    }
+
+    @Test
+    void onDefaultRateShouldApplyWhenNoRuleMatches() {
+        RuleBasedAuditLogSamplingPolicy policy = new RuleBasedAuditLogSamplingPolicy(sampling(0.0));
+
+        assertEquals(AuditLogSamplingDecision.SKIP, policy.decide(request("/api/users"), response(200), null));
+    }
+
+    @Test
+    void onStatusRuleShouldMatchOnlyListedStatuses() {
+        AuditLogProperties.Sampling.Rule rule = rule("/api/**", 0.0, 0);
+        rule.setStatuses(List.of(204));
+        RuleBasedAuditLogSamplingPolicy policy = new RuleBasedAuditLogSamplingPolicy(sampling(1.0, rule));
+
+        assertEquals(AuditLogSamplingDecision.SKIP, policy.decide(request("/api/users"), response(204), null));
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("/api/users"), response(200), null));
+    }
+
+    @Test
+    void onExhaustedRateLimitShouldDegradeToHeadersOnly() {
+        RuleBasedAuditLogSamplingPolicy policy = new RuleBasedAuditLogSamplingPolicy(
+                sampling(1.0, rule("/api/**", 1.0, 2))
+        );
+
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("/api/users"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("/api/users"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.HEADERS_ONLY, policy.decide(request("/api/users"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("/api/users"), response(404), null));
+    }
+
+    @Test
+    void rateLimitShouldApplyPerEndpoint() {
+        RuleBasedAuditLogSamplingPolicy policy = new RuleBasedAuditLogSamplingPolicy(
+                sampling(1.0, rule("/api/**", 1.0, 1))
+        );
+
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("GET", "/api/users/1", "/api/users/{id}"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.HEADERS_ONLY, policy.decide(request("GET", "/api/users/2", "/api/users/{id}"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("POST", "/api/users/2", "/api/users/{id}"), response(200), null));
+        assertEquals(AuditLogSamplingDecision.FULL, policy.decide(request("GET", "/api/orders", "/api/orders"), response(200), null));
+    }
+
+    @Test
+    void tokenBucketShouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long now = System.nanoTime();
+
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now + 100_000_000L));
+    }
+
+    private static AuditLogProperties.Sampling sampling(double defaultRate, AuditLogProperties.Sampling.Rule... rules) {
+        AuditLogProperties.Sampling sampling = new AuditLogProperties.Sampling();
+        sampling.setEnabled(true);
+        sampling.setDefaultRate(defaultRate);
+        sampling.setRules(List.of(rules));
+
+        return sampling;
+    }
+
+    private static AuditLogProperties.Sampling.Rule rule(String path, double rate, int maxPerSecond) {
+        AuditLogProperties.Sampling.Rule rule = new AuditLogProperties.Sampling.Rule();
+        rule.setPath(path);
+        rule.setRate(rate);
+        rule.setMaxPerSecond(maxPerSecond);
+
+        return rule;
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+
+        return request;
+    }
+
+    private static MockHttpServletResponse response(int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+
+        return response;
+    }
+}
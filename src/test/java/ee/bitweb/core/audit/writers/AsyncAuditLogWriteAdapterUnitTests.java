@@ -0,0 +1,202 @@
+package ee.bitweb.core.audit.writers;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AsyncAuditLogWriteAdapterUnitTests {
+
+    @Test
+    void recordsAreWrittenByConsumerThread() throws Exception {
+        RecordingWriter delegate = new RecordingWriter(null);
+
+        try (AsyncAuditLogWriteAdapter adapter = create(delegate, 16, AuditLogOverflowPolicy.DROP_NEWEST)) {
+            for (int i = 0; i < 10; i++) {
+                adapter.write(Map.of("index", String.valueOf(i)));
+            }
+        }
+
+        assertEquals(10, delegate.getRecords().size());
+        assertEquals("0", delegate.getRecords().get(0).get("index"));
+        assertEquals("9", delegate.getRecords().get(9).get("index"));
+        assertNotEquals(Thread.currentThread().getName(), delegate.getThreadName());
+    }
+
+    @Test
+    void closeShouldCloseCloseableDelegateAfterDraining() throws Exception {
+        List<String> events = new CopyOnWriteArrayList<>();
+        CloseableWriter delegate = new CloseableWriter(events);
+
+        try (AsyncAuditLogWriteAdapter adapter = create(delegate, 16, AuditLogOverflowPolicy.DROP_NEWEST)) {
+            adapter.write(Map.of("index", "1"));
+        }
+
+        assertEquals(List.of("write", "close"), events);
+    }
+
+    @Test
+    void onFullBufferDropNewestShouldDiscardIncomingRecord() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingWriter delegate = new RecordingWriter(release);
+
+        try (AsyncAuditLogWriteAdapter adapter = create(delegate, 2, AuditLogOverflowPolicy.DROP_NEWEST)) {
+            adapter.write(Map.of("index", "blocking"));
+            delegate.awaitFirstWrite();
+
+            adapter.write(Map.of("index", "1"));
+            adapter.write(Map.of("index", "2"));
+            adapter.write(Map.of("index", "3"));
+
+            assertEquals(1, adapter.getDroppedCount());
+            release.countDown();
+        }
+
+        assertEquals(List.of("blocking", "1", "2"), delegate.getIndexes());
+    }
+
+    @Test
+    void onFullBufferDropOldestShouldDiscardQueuedRecord() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingWriter delegate = new RecordingWriter(release);
+
+        try (AsyncAuditLogWriteAdapter adapter = create(delegate, 2, AuditLogOverflowPolicy.DROP_OLDEST)) {
+            adapter.write(Map.of("index", "blocking"));
+            delegate.awaitFirstWrite();
+
+            adapter.write(Map.of("index", "1"));
+            adapter.write(Map.of("index", "2"));
+            adapter.write(Map.of("index", "3"));
+
+            assertEquals(1, adapter.getDroppedCount());
+            release.countDown();
+        }
+
+        assertEquals(List.of("blocking", "2", "3"), delegate.getIndexes());
+    }
+
+    @Test
+    void onFullBufferBlockShouldDiscardRecordAfterTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingWriter delegate = new RecordingWriter(release);
+
+        try (AsyncAuditLogWriteAdapter adapter = create(delegate, 1, AuditLogOverflowPolicy.BLOCK)) {
+            adapter.write(Map.of("index", "blocking"));
+            delegate.awaitFirstWrite();
+
+            adapter.write(Map.of("index", "1"));
+            adapter.write(Map.of("index", "2"));
+
+            assertEquals(1, adapter.getDroppedCount());
+            release.countDown();
+        }
+
+        assertEquals(List.of("blocking", "1"), delegate.getIndexes());
+    }
+
+    @Test
+    void writerExceptionShouldNotStopConsumer() throws Exception {
+        RecordingWriter delegate = new RecordingWriter(null);
+
+        try (AsyncAuditLogWriteAdapter adapter = create(
+                container -> {
+                    if (container.containsKey("fail")) {
+                        throw new IllegalStateException("failure");
+                    }
+                    delegate.write(container);
+                },
+                16,
+                AuditLogOverflowPolicy.DROP_NEWEST
+        )) {
+            adapter.write(Map.of("fail", "true"));
+            waitUntilDrained(adapter);
+            adapter.write(Map.of("index", "1"));
+            waitUntilDrained(adapter);
+
+            assertEquals(1, adapter.getFailedCount());
+        }
+
+        assertEquals(List.of("1"), delegate.getIndexes());
+    }
+
+    private static AsyncAuditLogWriteAdapter create(
+            AuditLogWriteAdapter delegate,
+            int bufferSize,
+            AuditLogOverflowPolicy policy
+    ) {
+        return new AsyncAuditLogWriteAdapter(delegate, bufferSize, 8, policy, Duration.ofMillis(50));
+    }
+
+    private static void waitUntilDrained(AsyncAuditLogWriteAdapter adapter) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (adapter.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+    }
+
+    private static class RecordingWriter implements AuditLogWriteAdapter {
+
+        private final List<Map<String, String>> records = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstWrite = new CountDownLatch(1);
+        private final CountDownLatch release;
+        private volatile String threadName;
+
+        RecordingWriter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(Map<String, String> container) {
+            threadName = Thread.currentThread().getName();
+            records.add(container);
+            firstWrite.countDown();
+
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        void awaitFirstWrite() throws InterruptedException {
+            assertTrue(firstWrite.await(5, TimeUnit.SECONDS));
+        }
+
+        List<Map<String, String>> getRecords() {
+            return records;
+        }
+
+        List<String> getIndexes() {
+            return records.stream().map(r -> r.get("index")).toList();
+        }
+
+        String getThreadName() {
+            return threadName;
+        }
+    }
+
+    private record CloseableWriter(List<String> events) implements AuditLogWriteAdapter, AutoCloseable {
+
+        @Override
+        public void write(Map<String, String> container) {
+            events.add("write");
+        }
+
+        @Override
+        public void close() {
+            events.add("close");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ee.bitweb.core.audit.writers;
+
+import ee.bitweb.core.audit.AuditLogFilter;
+import ee.bitweb.core.audit.AuditLogRecord;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class AuditLogJsonWriterAdapterUnitTests {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    @Test
+    void recordShouldBeWrittenAsFlatJsonWithNumericDuration() {
+        RecordingSink sink = new RecordingSink();
+        AuditLogJsonWriterAdapter writer = new AuditLogJsonWriterAdapter(mapper, sink, AuditLogJsonFormat.JSON, "host");
+
+        writer.write(createRecord());
+
+        JsonNode json = mapper.readTree(sink.getLines().get(0));
+        assertAll(
+                () -> assertEquals("GET", json.get("method").asString()),
+                () -> assertEquals("/api/users", json.get("url").asString()),
+                () -> assertTrue(json.get("request_body").isNull()),
+                () -> assertEquals(12, json.get(AuditLogFilter.DURATION_KEY).asLong()),
+                () -> assertEquals("1", json.get("audit").asString()),
+                () -> assertTrue(json.get("timestamp").isNumber())
+        );
+    }
+
+    @Test
+    void gelfRecordShouldContainMandatoryAndPrefixedAdditionalFields() {
+        RecordingSink sink = new RecordingSink();
+        AuditLogJsonWriterAdapter writer = new AuditLogJsonWriterAdapter(mapper, sink, AuditLogJsonFormat.GELF, "host");
+
+        writer.write(createRecord());
+
+        JsonNode json = mapper.readTree(sink.getLines().get(0));
+        assertAll(
+                () -> assertEquals("1.1", json.get("version").asString()),
+                () -> assertEquals("host", json.get("host").asString()),
+                () -> assertEquals("Method(GET) URL(/api/users) Status(200) Duration(12 ms)", json.get("short_message").asString()),
+                () -> assertEquals(6, json.get("level").asInt()),
+                () -> assertEquals("GET", json.get("_method").asString()),
+                () -> assertEquals(12, json.get("_duration").asLong()),
+                () -> assertFalse(json.has("_request_body"))
+        );
+    }
+
+    @Test
+    void reservedKeysShouldBePrefixed() {
+        RecordingSink sink = new RecordingSink();
+        Map<String, String> container = Map.of("timestamp", "custom", "audit", "custom", "id", "custom");
+
+        new AuditLogJsonWriterAdapter(mapper, sink, AuditLogJsonFormat.JSON, "host").write(container);
+        new AuditLogJsonWriterAdapter(mapper, sink, AuditLogJsonFormat.GELF, "host").write(container);
+
+        JsonNode json = mapper.readTree(sink.getLines().get(0));
+        JsonNode gelf = mapper.readTree(sink.getLines().get(1));
+        assertAll(
+                () -> assertTrue(json.get("timestamp").isNumber()),
+                () -> assertEquals("1", json.get("audit").asString()),
+                () -> assertEquals("custom", json.get("record_timestamp").asString()),
+                () -> assertEquals("custom", json.get("record_audit").asString()),
+                () -> assertEquals("custom", json.get("id").asString()),
+                () -> assertFalse(gelf.has("_id")),
+                () -> assertEquals("custom", gelf.get("_record_id").asString()),
+                () -> assertEquals("1", gelf.get("_audit").asString()),
+                () -> assertEquals("custom", gelf.get("_record_audit").asString()),
+                () -> assertEquals("custom", gelf.get("_timestamp").asString())
+        );
+    }
+
+    @Test
+    void writeShouldNotTouchMdcOrRecord() {
+        MDC.put("existing", "value");
+        try {
+            AuditLogRecord record = createRecord();
+            new AuditLogJsonWriterAdapter(mapper, new RecordingSink(), AuditLogJsonFormat.JSON, "host").write(record);
+
+            assertEquals(Map.of("existing", "value"), MDC.getCopyOfContextMap());
+            assertFalse(record.containsKey(AuditLogLoggerWriterAdapter.AUDIT_KEY));
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Test
+    void fileSinkShouldAppendOneRecordPerLine(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("audit.log");
+
+        try (AuditLogJsonWriterAdapter writer = new AuditLogJsonWriterAdapter(
+                mapper,
+                new FileChannelAuditLogJsonSink(file),
+                AuditLogJsonFormat.JSON,
+                "host"
+        )) {
+            writer.write(createRecord());
+            writer.write(createRecord());
+        }
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("GET", mapper.readTree(lines.get(1)).get("method").asString());
+    }
+
+    private static AuditLogRecord createRecord() {
+        AuditLogRecord record = new AuditLogRecord(
+                AuditLogRecord.Layout.of(List.of("method", "url", "response_status", "request_body"))
+        );
+        record.set(0, "GET");
+        record.set(1, "/api/users");
+        record.set(2, "200");
+        record.set(3, null);
+        record.setDuration(12);
+
+        return record;
+    }
+
+    private static class RecordingSink implements AuditLogJsonSink {
+
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void write(byte[] bytes, int length) {
+            lines.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+
+        List<String> getLines() {
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ee.bitweb.core.client_ip;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("integration")
+class ClientIpReactiveAutoConfigurationTests {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withClassLoader(new FilteredClassLoader("jakarta.servlet"))
+            .withUserConfiguration(ClientIpAutoConfiguration.class)
+            .withPropertyValues("ee.bitweb.core.client-ip.auto-configuration=true");
+
+    @Test
+    void withoutServletApiShouldNotCreateServletBeans() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(ClientIpFilter.class);
+            assertThat(context).doesNotHaveBean(ClientIpResolver.class);
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package ee.bitweb.core.client_ip;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class ClientIpResolverUnitTests {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(
+            new TrustedProxies(List.of("10.0.0.0/8", "fd00::/8"))
+    );
+
+    @Test
+    void onUntrustedRemoteAddressShouldIgnoreForwardingHeaders() {
+        MockHttpServletRequest request = createRequest("203.0.113.10");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        assertEquals("203.0.113.10", resolver.resolve(request));
+    }
+
+    @Test
+    void onXForwardedForShouldReturnFirstUntrustedHopFromRight() {
+        MockHttpServletRequest request = createRequest("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "198.51.100.1, 203.0.113.5, 10.0.0.7");
+
+        assertEquals("203.0.113.5", resolver.resolve(request));
+    }
+
+    @Test
+    void onMultipleXForwardedForHeadersShouldTreatThemAsOneChain() {
+        MockHttpServletRequest request = createRequest("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+        request.addHeader("X-Forwarded-For", "10.0.0.8");
+
+        assertEquals("198.51.100.1", resolver.resolve(request));
+    }
+
+    @Test
+    void onForwardedHeaderShouldPreferItAndStripPorts() {
+        MockHttpServletRequest request = createRequest("10.0.0.1");
+        request.addHeader("Forwarded", "for=\"[2001:db8:cafe::17]:4711\", for=\"[fd00::2]\";proto=https");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        assertEquals("2001:db8:cafe::17", resolver.resolve(request));
+    }
+
+    @Test
+    void onObfuscatedHopShouldStopAtLastKnownAddress() {
+        MockHttpServletRequest request = createRequest("10.0.0.1");
+        request.addHeader("Forwarded", "for=198.51.100.1, for=_hidden, for=10.0.0.3:8080");
+
+        assertEquals("10.0.0.3", resolver.resolve(request));
+    }
+
+    @Test
+    void onAllHopsTrustedShouldReturnLeftmostHop() {
+        MockHttpServletRequest request = createRequest("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "10.0.0.3, 10.0.0.2");
+
+        assertEquals("10.0.0.3", resolver.resolve(request));
+    }
+
+    @Test
+    void resultShouldBeCachedAsRequestAttribute() {
+        MockHttpServletRequest request = createRequest("10.0.0.1");
+        request.addHeader("X-Forwarded-For", "198.51.100.1");
+
+        assertEquals("198.51.100.1", resolver.resolve(request));
+        assertEquals("198.51.100.1", ClientIpResolver.getResolved(request));
+
+        request.setRemoteAddr("203.0.113.10");
+
+        assertEquals("198.51.100.1", resolver.resolve(request));
+    }
+
+    private static MockHttpServletRequest createRequest(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+
+        return request;
+    }
+}
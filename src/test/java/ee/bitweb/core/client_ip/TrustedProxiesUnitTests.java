@@ -0,0 +1,73 @@
+package ee.bitweb.core.client_ip;
+
+import ee.bitweb.core.exception.CoreException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TrustedProxiesUnitTests {
+
+    @Test
+    void onIpv4RangesShouldMatchCoveredAddressesOnly() {
+        TrustedProxies proxies = new TrustedProxies(List.of("10.0.0.0/8", "192.168.1.0/24", "172.16.0.5"));
+
+        assertTrue(proxies.isTrusted("10.1.2.3"));
+        assertTrue(proxies.isTrusted("192.168.1.255"));
+        assertTrue(proxies.isTrusted("172.16.0.5"));
+        assertFalse(proxies.isTrusted("172.16.0.6"));
+        assertFalse(proxies.isTrusted("192.168.2.1"));
+        assertFalse(proxies.isTrusted("11.0.0.1"));
+    }
+
+    @Test
+    void onIpv6RangesShouldMatchCoveredAddressesOnly() {
+        TrustedProxies proxies = new TrustedProxies(List.of("fd00::/8", "::1/128"));
+
+        assertTrue(proxies.isTrusted("fd12:3456::1"));
+        assertTrue(proxies.isTrusted("::1"));
+        assertTrue(proxies.isTrusted("fd00::1%eth0"));
+        assertFalse(proxies.isTrusted("2001:db8::1"));
+        assertFalse(proxies.isTrusted("10.0.0.1"));
+    }
+
+    @Test
+    void onIpv4MappedAddressShouldUseIpv4Ranges() {
+        TrustedProxies proxies = new TrustedProxies(List.of("::ffff:10.0.0.0/104"));
+
+        assertTrue(proxies.isTrusted("10.20.30.40"));
+        assertTrue(proxies.isTrusted("::ffff:10.20.30.40"));
+        assertFalse(proxies.isTrusted("11.20.30.40"));
+    }
+
+    @Test
+    void onZeroPrefixShouldTrustWholeFamily() {
+        TrustedProxies proxies = new TrustedProxies(List.of("0.0.0.0/0"));
+
+        assertTrue(proxies.isTrusted("203.0.113.7"));
+        assertFalse(proxies.isTrusted("2001:db8::1"));
+    }
+
+    @Test
+    void onNonLiteralShouldNotTrust() {
+        TrustedProxies proxies = new TrustedProxies(List.of("0.0.0.0/0", "::/0"));
+
+        assertFalse(proxies.isTrusted("localhost"));
+        assertFalse(proxies.isTrusted("unknown"));
+        assertFalse(proxies.isTrusted("_hidden"));
+        assertFalse(proxies.isTrusted("1.2.3"));
+        assertFalse(proxies.isTrusted("1.2.3.256"));
+        assertFalse(proxies.isTrusted(""));
+        assertFalse(proxies.isTrusted((String) null));
+    }
+
+    @Test
+    void onInvalidRangeShouldThrow() {
+        assertThrows(CoreException.class, () -> new TrustedProxies(List.of("10.0.0.0/33")));
+        assertThrows(CoreException.class, () -> new TrustedProxies(List.of("10.0.0.0/x")));
+        assertThrows(CoreException.class, () -> new TrustedProxies(List.of("proxy.local/24")));
+    }
+}
@@ -1,18 +1,24 @@
 package ee.bitweb.core.retrofit;
 
 import ee.bitweb.core.TestSpringApplication;
+import ee.bitweb.core.retrofit.interceptor.InterceptorBean;
 import ee.bitweb.core.retrofit.interceptor.TraceIdInterceptor;
 import ee.bitweb.core.retrofit.interceptor.auth.AuthTokenInjectInterceptor;
 import ee.bitweb.core.retrofit.interceptor.auth.criteria.AuthTokenCriteria;
 import ee.bitweb.core.retrofit.interceptor.auth.criteria.WhitelistCriteria;
+import ee.bitweb.core.retrofit.interceptor.circuitbreaker.CircuitBreakerInterceptor;
+import ee.bitweb.core.retrofit.interceptor.retry.RetryInterceptor;
+import okhttp3.OkHttpClient;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import retrofit2.Converter;
 import retrofit2.converter.jackson.JacksonConverterFactory;
 
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,7 +31,12 @@ import static org.junit.jupiter.api.Assertions.*;
                 "ee.bitweb.core.retrofit.auto-configuration=true",
                 "ee.bitweb.core.retrofit.auth-token-injector.auto-configuration=true",
                 "ee.bitweb.core.retrofit.auth-token-injector.headerName=some-header-name",
-                "ee.bitweb.core.retrofit.auth-token-injector.whitelist-urls[0]=^http?:\\\\/\\\\/localhost:\\\\d{3,5}\\\\/.*"
+                "ee.bitweb.core.retrofit.auth-token-injector.whitelist-urls[0]=^http?:\\\\/\\\\/localhost:\\\\d{3,5}\\\\/.*",
+                "ee.bitweb.core.retrofit.dispatcher.max-requests-per-host=20",
+                "ee.bitweb.core.retrofit.retry.auto-configuration=true",
+                "ee.bitweb.core.retrofit.retry.max-attempts=4",
+                "ee.bitweb.core.retrofit.circuit-breaker.auto-configuration=true",
+                "ee.bitweb.core.retrofit.circuit-breaker.window-size=50"
         }
 )
 @ActiveProfiles("retrofit")
@@ -43,6 +54,19 @@ class RetrofitAutoConfigurationTests {
     @Autowired
     private AuthTokenInjectInterceptor interceptor;
 
+    @Autowired
+    @Qualifier(RetrofitAutoConfiguration.ROOT_CLIENT_BEAN_NAME)
+    private OkHttpClient rootClient;
+
+    @Autowired
+    private RetryInterceptor retryInterceptor;
+
+    @Autowired
+    private CircuitBreakerInterceptor circuitBreakerInterceptor;
+
+    @Autowired
+    private List<InterceptorBean> interceptors;
+
     @Test
     void onEnabledAutoConfigurationItWorksAsIntended() {
         assertAll(
@@ -51,7 +75,17 @@ class RetrofitAutoConfigurationTests {
                 () -> assertEquals(WhitelistCriteria.class, whiteListCriteria.getClass()),
                 () -> assertEquals("some-header-name", interceptor.getHeader()),
                 () -> assertEquals(whiteListCriteria, interceptor.getCriteria()),
-                () -> assertEquals(Pattern.compile("^http?:\\/\\/localhost:\\d{3,5}\\/.*").toString(), ((WhitelistCriteria)whiteListCriteria).getWhitelist().get(0).toString())
+                () -> assertEquals(Pattern.compile("^http?:\\/\\/localhost:\\d{3,5}\\/.*").toString(), ((WhitelistCriteria)whiteListCriteria).getWhitelist().get(0).toString()),
+                () -> assertEquals(20, rootClient.dispatcher().getMaxRequestsPerHost()),
+                () -> assertEquals(64, rootClient.dispatcher().getMaxRequests()),
+                () -> assertEquals(4, retryInterceptor.getProperties().getMaxAttempts()),
+                () -> assertEquals(50, circuitBreakerInterceptor.getProperties().getWindowSize())
         );
     }
+
+    @Test
+    void retryInterceptorShouldWrapCircuitBreakerInterceptor() {
+        assertTrue(interceptors.indexOf(retryInterceptor) < interceptors.indexOf(circuitBreakerInterceptor));
+        assertTrue(interceptors.indexOf(circuitBreakerInterceptor) < interceptors.indexOf(interceptor));
+    }
 }
@@ -1,18 +1,33 @@
 package ee.bitweb.core.retrofit;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
 import ee.bitweb.core.retrofit.builder.RetrofitApiBuilder;
 import ee.bitweb.core.retrofit.helpers.ExternalServiceApi;
+import ee.bitweb.core.retrofit.interceptor.circuitbreaker.CircuitBreakerOpenException;
+import ee.bitweb.core.utils.MemoryAppender;
 import ee.bitweb.http.server.mock.MockServer;
 import io.netty.handler.codec.http.HttpMethod;
 import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
+import retrofit2.Call;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 
 @Tag("unit")
 @ExtendWith(MockitoExtension.class)
@@ -24,10 +39,17 @@ class RetrofitExecutorTests {
     private static final MockServer server = new MockServer(HttpMethod.GET, "/data-request");
 
     private static ExternalServiceApi api;
+    private static ExecutorService executor;
 
     @BeforeAll
     public static void beforeAll() {
         api = RetrofitApiBuilder.create(BASE_URL + server.getPort(), ExternalServiceApi.class, null).build();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterAll
+    public static void afterAll() {
+        executor.shutdownNow();
     }
 
     @Test
@@ -159,6 +181,153 @@ class RetrofitExecutorTests {
         );
     }
 
+    @Test
+    void onOpenCircuitShouldThrowRetrofitExceptionWithDistinctCode() {
+        ExternalServiceApi api = RetrofitApiBuilder.create(
+                "http://some-random-url",
+                ExternalServiceApi.class,
+                null
+        ).add(chain -> {
+            throw new CircuitBreakerOpenException("some-random-url:80");
+        }).build();
+
+        RetrofitException exception = Assertions.assertThrows(
+                RetrofitException.class,
+                () -> RetrofitRequestExecutor.executeRaw(api.get())
+        );
+
+        Assertions.assertEquals(
+                "CIRCUIT_BREAKER_OPEN_ERROR : Request url: http://some-random-url/request, status: null, body: null",
+                exception.getMessage()
+        );
+    }
+
+    @Test
+    void onSuccessfulAsyncRequestShouldCompleteWithResult() throws Exception {
+        server.mock(
+                server.requestBuilder(),
+                server.responseBuilder(200, wrapInResponse(createPayload("message", 1)))
+        );
+
+        ExternalServiceApi.Payload response = RetrofitRequestExecutor.executeAsync(
+                api.getWrappedInResponse(),
+                executor
+        ).get(5, TimeUnit.SECONDS);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("message", response.getMessage()),
+                () -> Assertions.assertEquals(1, response.getValue())
+        );
+    }
+
+    @Test
+    void onServiceErrorWithAsyncRequestShouldCompleteWithRetrofitException() {
+        server.mock(
+                server.requestBuilder("/request"),
+                server.responseBuilder(500)
+                        .withBody("SOME CUSTOM ERROR MESSAGE")
+        );
+
+        CompletableFuture<ExternalServiceApi.Payload> future = RetrofitRequestExecutor.executeRawAsync(api.get(), executor);
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS)
+        );
+
+        RetrofitException cause = Assertions.assertInstanceOf(RetrofitException.class, exception.getCause());
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, cause.getHttpStatus()),
+                () -> Assertions.assertEquals("SOME CUSTOM ERROR MESSAGE", cause.getErrorBody())
+        );
+    }
+
+    @Test
+    void asyncRequestShouldPropagateMdcToDependentStages() throws Exception {
+        server.mock(
+                server.requestBuilder("/request"),
+                server.responseBuilder(200, createPayload("message", 1))
+        );
+        List<Runnable> tasks = new ArrayList<>();
+
+        MDC.put("trace_id", "async-trace-id");
+        CompletableFuture<String> future;
+        try {
+            future = RetrofitRequestExecutor.executeRawAsync(api.get(), tasks::add)
+                    .thenApply(payload -> MDC.get("trace_id"));
+        } finally {
+            MDC.clear();
+        }
+        executor.execute(tasks.get(0));
+
+        Assertions.assertEquals("async-trace-id", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancellingAsyncRequestShouldCancelCall() {
+        Call<ExternalServiceApi.Payload> call = api.get();
+
+        RetrofitRequestExecutor.executeRawAsync(call, task -> {}).cancel(true);
+
+        Assertions.assertTrue(call.isCanceled());
+    }
+
+    @Test
+    void errorInAsyncRequestShouldCompleteFuture() throws Exception {
+        @SuppressWarnings("unchecked")
+        Call<ExternalServiceApi.Payload> call = Mockito.mock(Call.class);
+        Mockito.when(call.execute()).thenThrow(new NoClassDefFoundError("missing"));
+        List<Runnable> tasks = new ArrayList<>();
+
+        CompletableFuture<ExternalServiceApi.Payload> future = RetrofitRequestExecutor.executeRawAsync(call, tasks::add);
+
+        Assertions.assertThrows(NoClassDefFoundError.class, () -> tasks.get(0).run());
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS)
+        );
+        Assertions.assertInstanceOf(NoClassDefFoundError.class, exception.getCause());
+    }
+
+    @Test
+    void rejectedAsyncRequestShouldCompleteWithRejectionAsCause() {
+        CompletableFuture<ExternalServiceApi.Payload> future = RetrofitRequestExecutor.executeRawAsync(
+                api.get(),
+                task -> {
+                    throw new RejectedExecutionException("queue full");
+                }
+        );
+
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS)
+        );
+
+        RetrofitException cause = Assertions.assertInstanceOf(RetrofitException.class, exception.getCause());
+        Assertions.assertInstanceOf(RejectedExecutionException.class, cause.getCause());
+    }
+
+    @Test
+    void cancelledRequestShouldNotBeLoggedAsError() throws Exception {
+        @SuppressWarnings("unchecked")
+        Call<ExternalServiceApi.Payload> call = Mockito.mock(Call.class);
+        Mockito.when(call.execute()).thenThrow(new IOException("Canceled"));
+        Mockito.when(call.isCanceled()).thenReturn(true);
+
+        Logger logger = (Logger) LoggerFactory.getLogger(RetrofitRequestExecutor.class);
+        MemoryAppender memoryAppender = new MemoryAppender();
+        memoryAppender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+        logger.addAppender(memoryAppender);
+        memoryAppender.start();
+
+        try {
+            Assertions.assertThrows(RetrofitException.class, () -> RetrofitRequestExecutor.executeRaw(call));
+        } finally {
+            logger.detachAppender(memoryAppender);
+        }
+
+        Assertions.assertEquals(0, memoryAppender.search("Request failed", Level.ERROR).size());
+    }
+
     private static JSONObject wrapInResponse(JSONObject data) {
         JSONObject response = new JSONObject();
         response.put("data", data);
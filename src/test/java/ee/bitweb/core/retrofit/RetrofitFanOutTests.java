@@ -0,0 +1,140 @@
+package ee.bitweb.core.retrofit;
+
+import ee.bitweb.core.retrofit.builder.RetrofitApiBuilder;
+import ee.bitweb.core.retrofit.helpers.ExternalServiceApi;
+import ee.bitweb.http.server.mock.MockServer;
+import io.netty.handler.codec.http.HttpMethod;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Tag("unit")
+class RetrofitFanOutTests {
+
+    private static final String BASE_URL = "http://localhost:";
+
+    @RegisterExtension
+    private static final MockServer server = new MockServer(HttpMethod.GET, "/data-request");
+
+    private static ExternalServiceApi api;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void beforeAll() {
+        api = RetrofitApiBuilder.create(BASE_URL + server.getPort(), ExternalServiceApi.class, null).build();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void onSuccessfulRequestsShouldReturnAllResults() {
+        server.mock(server.requestBuilder(), server.responseBuilder(200, wrapInResponse(createPayload("wrapped", 1))));
+        server.mock(server.requestBuilder("/request"), server.responseBuilder(200, createPayload("raw", 2)));
+
+        RetrofitFanOut fanOut = new RetrofitFanOut(executor, Duration.ofSeconds(5), RetrofitFanOut.Mode.FAIL_FAST);
+        RetrofitFanOut.Result<ExternalServiceApi.Payload> wrapped = fanOut.add(api.getWrappedInResponse());
+        RetrofitFanOut.Result<ExternalServiceApi.Payload> raw = fanOut.addRaw(api.get());
+
+        fanOut.execute();
+
+        Assertions.assertAll(
+                () -> Assertions.assertTrue(wrapped.isSuccessful()),
+                () -> Assertions.assertEquals("wrapped", wrapped.get().getMessage()),
+                () -> Assertions.assertEquals("raw", raw.get().getMessage()),
+                () -> Assertions.assertNull(raw.getError()),
+                () -> Assertions.assertEquals(2, fanOut.getResults().size())
+        );
+    }
+
+    @Test
+    void onFailureInFailFastModeShouldCancelRemainingRequestsAndThrow() {
+        server.mock(
+                server.requestBuilder(),
+                server.responseBuilder(200, wrapInResponse(createPayload("slow", 1))).withDelay(TimeUnit.SECONDS, 5)
+        );
+        server.mock(server.requestBuilder("/request"), server.responseBuilder(500).withBody("FAILURE"));
+
+        RetrofitFanOut fanOut = new RetrofitFanOut(executor, Duration.ofSeconds(10), RetrofitFanOut.Mode.FAIL_FAST);
+        RetrofitFanOut.Result<ExternalServiceApi.Payload> slow = fanOut.add(api.getWrappedInResponse());
+        fanOut.addRaw(api.get());
+
+        long start = System.nanoTime();
+        RetrofitException exception = Assertions.assertThrows(RetrofitException.class, fanOut::execute);
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getHttpStatus()),
+                () -> Assertions.assertEquals("FAILURE", exception.getErrorBody()),
+                () -> Assertions.assertFalse(slow.isSuccessful()),
+                () -> Assertions.assertTrue(
+                        slow.getError().getMessage().startsWith(RetrofitFanOut.CANCELLED_REQUEST_ERROR)
+                ),
+                () -> Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4))
+        );
+    }
+
+    @Test
+    void onDeadlineInCollectPartialModeShouldReturnCompletedResults() {
+        server.mock(
+                server.requestBuilder(),
+                server.responseBuilder(200, wrapInResponse(createPayload("slow", 1))).withDelay(TimeUnit.SECONDS, 5)
+        );
+        server.mock(server.requestBuilder("/request"), server.responseBuilder(200, createPayload("fast", 2)));
+
+        RetrofitFanOut fanOut = new RetrofitFanOut(
+                executor,
+                Duration.ofMillis(500),
+                RetrofitFanOut.Mode.COLLECT_PARTIAL
+        );
+        RetrofitFanOut.Result<ExternalServiceApi.Payload> slow = fanOut.add(api.getWrappedInResponse());
+        RetrofitFanOut.Result<ExternalServiceApi.Payload> fast = fanOut.addRaw(api.get());
+
+        long start = System.nanoTime();
+        fanOut.execute();
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("fast", fast.get().getMessage()),
+                () -> Assertions.assertNotNull(slow.getError()),
+                () -> Assertions.assertThrows(RetrofitException.class, slow::get),
+                () -> Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4))
+        );
+    }
+
+    @Test
+    void executingTwiceShouldFail() {
+        RetrofitFanOut fanOut = new RetrofitFanOut(executor, Duration.ofSeconds(1), RetrofitFanOut.Mode.FAIL_FAST);
+        fanOut.execute();
+
+        Assertions.assertThrows(IllegalStateException.class, fanOut::execute);
+        Assertions.assertThrows(IllegalStateException.class, () -> fanOut.addRaw(api.get()));
+    }
+
+    private static JSONObject wrapInResponse(JSONObject data) {
+        JSONObject response = new JSONObject();
+        response.put("data", data);
+
+        return response;
+    }
+
+    private static JSONObject createPayload(String message, Integer value) {
+        JSONObject payload = new JSONObject();
+
+        payload.put("message", message);
+        payload.put("value", value);
+
+        return payload;
+    }
+}
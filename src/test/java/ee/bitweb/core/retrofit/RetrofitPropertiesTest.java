@@ -1,17 +1,23 @@
 package ee.bitweb.core.retrofit;
 
 import ee.bitweb.core.retrofit.builder.LoggingLevel;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @Tag("unit")
 class RetrofitPropertiesTest {
 
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @Test
     @DisplayName("Must return correct mappers with default config")
     void testLoggingReturnsCorrectMappersWithDefaultConfiguration() {
@@ -40,4 +46,21 @@ class RetrofitPropertiesTest {
         assertEquals(6, properties.getMappers().size());
         assertTrue(properties.getMappers().contains("custom-mapper"));
     }
+
+    @Test
+    @DisplayName("Must not allow more minimum calls than circuit breaker window size")
+    void testCircuitBreakerMinimumCallsLargerThanWindowSizeIsInvalid() {
+        RetrofitProperties.CircuitBreaker properties = new RetrofitProperties.CircuitBreaker();
+        properties.setWindowSize(5);
+        properties.setMinimumCalls(6);
+
+        Set<ConstraintViolation<RetrofitProperties.CircuitBreaker>> errors = validator.validate(properties);
+
+        assertEquals(1, errors.size());
+        assertEquals("minimum calls cannot be larger than window size", errors.iterator().next().getMessage());
+
+        properties.setMinimumCalls(5);
+
+        assertEquals(0, validator.validate(properties).size());
+    }
 }
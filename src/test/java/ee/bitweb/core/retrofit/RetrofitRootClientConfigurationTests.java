@@ -0,0 +1,63 @@
+package ee.bitweb.core.retrofit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.bitweb.core.retrofit.builder.SpringAwareRetrofitBuilder;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("integration")
+class RetrofitRootClientConfigurationTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(RetrofitAutoConfiguration.class, SpringAwareRetrofitBuilder.class)
+            .withBean(ObjectMapper.class, ObjectMapper::new)
+            .withPropertyValues(
+                    "ee.bitweb.core.retrofit.auto-configuration=true",
+                    "ee.bitweb.core.retrofit.retry.auto-configuration=true"
+            );
+
+    @Test
+    void unrelatedOkHttpClientBeansShouldNotReplaceRootClient() {
+        contextRunner
+                .withBean("firstClient", OkHttpClient.class, OkHttpClient::new)
+                .withBean("secondClient", OkHttpClient.class, OkHttpClient::new)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasBean(RetrofitAutoConfiguration.ROOT_CLIENT_BEAN_NAME);
+                    assertThat(context).hasSingleBean(SpringAwareRetrofitBuilder.class);
+                    assertThat(context).getBeans(OkHttpClient.class).hasSize(3);
+                });
+    }
+
+    @Test
+    void rootClientShouldBeShutDownOnContextClose() {
+        AtomicReference<OkHttpClient> client = new AtomicReference<>();
+
+        contextRunner.run(context -> client.set(
+                context.getBean(RetrofitAutoConfiguration.ROOT_CLIENT_BEAN_NAME, OkHttpClient.class)
+        ));
+
+        assertThat(client.get().dispatcher().executorService().isShutdown()).isTrue();
+        assertThat(client.get().connectionPool().connectionCount()).isZero();
+    }
+
+    @Test
+    void applicationRootClientShouldNotBeShutDownOnContextClose() {
+        OkHttpClient client = new OkHttpClient();
+
+        contextRunner
+                .withBean(RetrofitAutoConfiguration.ROOT_CLIENT_BEAN_NAME, OkHttpClient.class, () -> client)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context.getBean(RetrofitAutoConfiguration.ROOT_CLIENT_BEAN_NAME)).isSameAs(client);
+                });
+
+        assertThat(client.dispatcher().executorService().isShutdown()).isFalse();
+    }
+}
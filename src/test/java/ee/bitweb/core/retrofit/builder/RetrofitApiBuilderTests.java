@@ -246,6 +246,33 @@ class RetrofitApiBuilderTests {
         Assertions.assertEquals(999, clientRef.get().writeTimeoutMillis());
     }
 
+    @Test
+    void clientDerivedFromRootClientSharesConnectionPoolAndDispatcher() {
+        OkHttpClient root = new OkHttpClient();
+        OkHttpClient.Builder clientBuilder = Mockito.spy(root.newBuilder());
+        OkHttpClient rootSpy = Mockito.spy(root);
+        AtomicReference<OkHttpClient> clientRef = new AtomicReference<>();
+
+        Mockito.doReturn(clientBuilder).when(rootSpy).newBuilder();
+        Mockito.doAnswer(answer -> {
+            OkHttpClient client = (OkHttpClient) answer.callRealMethod();
+            clientRef.set(client);
+            return client;
+        }).when(clientBuilder).build();
+
+        RetrofitApiBuilder
+                .create(BASE_URL + server.getPort(), ExternalServiceApi.class, null, rootSpy)
+                .readTimeout(999)
+                .build();
+
+        Assertions.assertAll(
+                () -> Assertions.assertSame(root.connectionPool(), clientRef.get().connectionPool()),
+                () -> Assertions.assertSame(root.dispatcher(), clientRef.get().dispatcher()),
+                () -> Assertions.assertEquals(999, clientRef.get().readTimeoutMillis()),
+                () -> Assertions.assertEquals(10_000, root.readTimeoutMillis())
+        );
+    }
+
     @Test
     void addedCustomConverterIsApplied() throws Exception {
         mockServerGet("message", 1.1);
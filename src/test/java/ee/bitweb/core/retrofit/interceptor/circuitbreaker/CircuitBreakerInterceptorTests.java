@@ -0,0 +1,191 @@
+package ee.bitweb.core.retrofit.interceptor.circuitbreaker;
+
+import ee.bitweb.core.retrofit.RetrofitProperties;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+@Tag("unit")
+class CircuitBreakerInterceptorTests {
+
+    private static final Request REQUEST = new Request.Builder().url("http://localhost/request").build();
+    private static final Request OTHER_HOST_REQUEST = new Request.Builder().url("http://remotehost/request").build();
+
+    private RetrofitProperties.CircuitBreaker properties;
+    private Call call;
+    private Interceptor.Chain chain;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new RetrofitProperties.CircuitBreaker();
+        properties.setWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setWaitInOpenState(50L);
+        properties.setPermittedCallsInHalfOpenState(2);
+
+        call = Mockito.mock(Call.class);
+
+        chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.call()).thenReturn(call);
+        Mockito.when(chain.request()).thenReturn(REQUEST);
+    }
+
+    @Test
+    void onFailureRateBelowThresholdShouldStayClosed() throws Exception {
+        Mockito.when(chain.proceed(REQUEST)).thenReturn(response(503), response(200), response(200), response(200));
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(properties);
+
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(chain);
+        }
+
+        Assertions.assertEquals(CircuitBreaker.Status.CLOSED, interceptor.getStatus(REQUEST.url()));
+    }
+
+    @Test
+    void onFailureRateAtThresholdShouldOpenAndFailFast() throws Exception {
+        Mockito.when(chain.proceed(REQUEST))
+                .thenReturn(response(200), response(503), response(200))
+                .thenThrow(new ConnectException("refused"));
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(properties);
+
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(chain);
+        }
+        Assertions.assertThrows(ConnectException.class, () -> interceptor.intercept(chain));
+
+        CircuitBreakerOpenException exception = Assertions.assertThrows(
+                CircuitBreakerOpenException.class,
+                () -> interceptor.intercept(chain)
+        );
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals(CircuitBreaker.Status.OPEN, interceptor.getStatus(REQUEST.url())),
+                () -> Assertions.assertEquals("localhost:80", exception.getHost()),
+                () -> Mockito.verify(chain, Mockito.times(4)).proceed(REQUEST)
+        );
+    }
+
+    @Test
+    void onSlowCallRateAtThresholdShouldOpen() throws Exception {
+        properties.setSlowCallDuration(1L);
+        properties.setSlowCallRateThreshold(100);
+        Mockito.when(chain.proceed(REQUEST)).thenAnswer(invocation -> {
+            Thread.sleep(5);
+
+            return response(200);
+        });
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(properties);
+
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(chain);
+        }
+
+        Assertions.assertEquals(CircuitBreaker.Status.OPEN, interceptor.getStatus(REQUEST.url()));
+    }
+
+    @Test
+    void onSuccessfulProbesShouldClose() throws Exception {
+        CircuitBreakerInterceptor interceptor = openCircuit();
+        Mockito.when(chain.proceed(REQUEST)).thenReturn(response(200));
+
+        Thread.sleep(100);
+        interceptor.intercept(chain);
+
+        Assertions.assertEquals(CircuitBreaker.Status.HALF_OPEN, interceptor.getStatus(REQUEST.url()));
+
+        interceptor.intercept(chain);
+
+        Assertions.assertEquals(CircuitBreaker.Status.CLOSED, interceptor.getStatus(REQUEST.url()));
+    }
+
+    @Test
+    void onFailedProbeShouldOpenAgain() throws Exception {
+        CircuitBreakerInterceptor interceptor = openCircuit();
+        Mockito.when(chain.proceed(REQUEST)).thenReturn(response(502));
+
+        Thread.sleep(100);
+        interceptor.intercept(chain);
+
+        Assertions.assertEquals(CircuitBreaker.Status.OPEN, interceptor.getStatus(REQUEST.url()));
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> interceptor.intercept(chain));
+    }
+
+    @Test
+    void halfOpenCircuitShouldLimitProbesAndReturnPermitsOfCancelledCalls() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("localhost:80", properties);
+        CircuitBreaker.State closed = breaker.tryAcquire();
+
+        for (int i = 0; i < 4; i++) {
+            breaker.record(closed, true, false);
+        }
+        Thread.sleep(100);
+
+        CircuitBreaker.State first = breaker.tryAcquire();
+        CircuitBreaker.State second = breaker.tryAcquire();
+
+        Assertions.assertNotNull(first);
+        Assertions.assertNotNull(second);
+        Assertions.assertNull(breaker.tryAcquire());
+
+        breaker.release(first);
+
+        Assertions.assertNotNull(breaker.tryAcquire());
+    }
+
+    @Test
+    void onCancelledCallShouldNotRecordFailure() throws Exception {
+        Mockito.when(call.isCanceled()).thenReturn(true);
+        Mockito.when(chain.proceed(REQUEST)).thenThrow(new IOException("Canceled"));
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(properties);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThrows(IOException.class, () -> interceptor.intercept(chain));
+        }
+
+        Assertions.assertEquals(CircuitBreaker.Status.CLOSED, interceptor.getStatus(REQUEST.url()));
+    }
+
+    @Test
+    void openCircuitShouldNotAffectOtherHosts() throws Exception {
+        CircuitBreakerInterceptor interceptor = openCircuit();
+        Mockito.when(chain.request()).thenReturn(OTHER_HOST_REQUEST);
+        Mockito.when(chain.proceed(OTHER_HOST_REQUEST)).thenReturn(response(200));
+
+        Assertions.assertEquals(200, interceptor.intercept(chain).code());
+        Assertions.assertEquals(CircuitBreaker.Status.CLOSED, interceptor.getStatus(OTHER_HOST_REQUEST.url()));
+    }
+
+    private CircuitBreakerInterceptor openCircuit() throws Exception {
+        Mockito.when(chain.proceed(REQUEST)).thenReturn(response(503));
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(properties);
+
+        for (int i = 0; i < 4; i++) {
+            interceptor.intercept(chain);
+        }
+
+        Assertions.assertEquals(CircuitBreaker.Status.OPEN, interceptor.getStatus(REQUEST.url()));
+
+        return interceptor;
+    }
+
+    private static Response response(int code) {
+        return new Response.Builder()
+                .request(REQUEST)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("status " + code)
+                .build();
+    }
+}
@@ -0,0 +1,214 @@
+package ee.bitweb.core.retrofit.interceptor.retry;
+
+import ee.bitweb.core.retrofit.RetrofitProperties;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Timeout;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.TimeUnit;
+
+@Tag("unit")
+class RetryInterceptorTests {
+
+    private static final Request GET = new Request.Builder().url("http://localhost/request").build();
+
+    private RetrofitProperties.Retry properties;
+    private Call call;
+    private Interceptor.Chain chain;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new RetrofitProperties.Retry();
+        properties.setInitialBackoff(1L);
+        properties.setMaxBackoff(5L);
+
+        call = Mockito.mock(Call.class);
+        Mockito.when(call.timeout()).thenReturn(new Timeout());
+
+        chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.call()).thenReturn(call);
+        Mockito.when(chain.request()).thenReturn(GET);
+    }
+
+    @Test
+    void onRetryableStatusShouldRetryUntilSuccess() throws Exception {
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503), response(200));
+
+        Response response = new RetryInterceptor(properties).intercept(chain);
+
+        Assertions.assertEquals(200, response.code());
+        Mockito.verify(chain, Mockito.times(2)).proceed(GET);
+    }
+
+    @Test
+    void onIoErrorShouldRetryUntilSuccess() throws Exception {
+        Mockito.when(chain.proceed(GET))
+                .thenThrow(new ConnectException("refused"))
+                .thenThrow(new ConnectException("refused"))
+                .thenReturn(response(200));
+
+        Response response = new RetryInterceptor(properties).intercept(chain);
+
+        Assertions.assertEquals(200, response.code());
+        Mockito.verify(chain, Mockito.times(3)).proceed(GET);
+    }
+
+    @Test
+    void onExhaustedAttemptsShouldReturnLastResponse() throws Exception {
+        Mockito.when(chain.proceed(GET)).thenReturn(response(502));
+
+        Response response = new RetryInterceptor(properties).intercept(chain);
+
+        Assertions.assertEquals(502, response.code());
+        Mockito.verify(chain, Mockito.times(3)).proceed(GET);
+    }
+
+    @Test
+    void onNonRetryableStatusShouldNotRetry() throws Exception {
+        Mockito.when(chain.proceed(GET)).thenReturn(response(500));
+
+        Assertions.assertEquals(500, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(1)).proceed(GET);
+    }
+
+    @Test
+    void onNonIdempotentMethodShouldNotRetry() throws Exception {
+        Request post = new Request.Builder().url("http://localhost/request").post(RequestBody.create(new byte[0], null)).build();
+        Mockito.when(chain.request()).thenReturn(post);
+        Mockito.when(chain.proceed(post)).thenReturn(response(503));
+
+        Assertions.assertEquals(503, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(1)).proceed(post);
+    }
+
+    @Test
+    void onCancelledCallShouldNotRetry() throws Exception {
+        Mockito.when(call.isCanceled()).thenReturn(true);
+        Mockito.when(chain.proceed(GET)).thenThrow(new IOException("Canceled"));
+
+        RetryInterceptor interceptor = new RetryInterceptor(properties);
+
+        Assertions.assertThrows(IOException.class, () -> interceptor.intercept(chain));
+        Mockito.verify(chain, Mockito.times(1)).proceed(GET);
+    }
+
+    @Test
+    void onRetryAfterAboveLimitShouldNotRetry() throws Exception {
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503, "120"), response(200));
+
+        Assertions.assertEquals(503, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(1)).proceed(GET);
+    }
+
+    @Test
+    void onRetryAfterWithinLimitShouldRetry() throws Exception {
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503, "0"), response(200));
+
+        Assertions.assertEquals(200, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(2)).proceed(GET);
+    }
+
+    @Test
+    void onDeadlineBeforeBackoffShouldNotRetry() throws Exception {
+        properties.setInitialBackoff(10_000L);
+        properties.setMaxBackoff(10_000L);
+        Mockito.when(call.timeout()).thenReturn(new Timeout().deadline(1, TimeUnit.MILLISECONDS));
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503, "5"), response(200));
+
+        Assertions.assertEquals(503, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(1)).proceed(GET);
+    }
+
+    @Test
+    void onCallTimeoutBeforeBackoffShouldNotRetry() throws Exception {
+        Mockito.when(call.timeout()).thenReturn(new Timeout().timeout(1, TimeUnit.SECONDS));
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503, "5"), response(200));
+
+        Assertions.assertEquals(503, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(1)).proceed(GET);
+    }
+
+    @Test
+    void onCallTimeoutAfterBackoffShouldRetry() throws Exception {
+        Mockito.when(call.timeout()).thenReturn(new Timeout().timeout(10, TimeUnit.SECONDS));
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503, "0"), response(200));
+
+        Assertions.assertEquals(200, new RetryInterceptor(properties).intercept(chain).code());
+        Mockito.verify(chain, Mockito.times(2)).proceed(GET);
+    }
+
+    @Test
+    void onCancelWhileWaitingShouldStopWaiting() throws Exception {
+        Mockito.when(call.isCanceled()).thenReturn(false, true);
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503, "5"), response(200));
+
+        RetryInterceptor interceptor = new RetryInterceptor(properties);
+        long started = System.nanoTime();
+
+        IOException exception = Assertions.assertThrows(IOException.class, () -> interceptor.intercept(chain));
+
+        Assertions.assertAll(
+                () -> Assertions.assertEquals("Canceled", exception.getMessage()),
+                () -> Assertions.assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5)),
+                () -> Mockito.verify(chain, Mockito.times(1)).proceed(GET)
+        );
+    }
+
+    @Test
+    void onExhaustedBudgetShouldNotRetry() throws Exception {
+        properties.getBudget().setMaxTokens(1);
+        properties.getBudget().setRatio(0.0);
+        Mockito.when(chain.proceed(GET)).thenReturn(response(503));
+
+        RetryInterceptor interceptor = new RetryInterceptor(properties);
+        interceptor.intercept(chain);
+        interceptor.intercept(chain);
+
+        Mockito.verify(chain, Mockito.times(3)).proceed(GET);
+    }
+
+    @Test
+    void budgetShouldBeReplenishedByRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+
+        Assertions.assertTrue(budget.tryWithdraw());
+        Assertions.assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        Assertions.assertFalse(budget.tryWithdraw());
+
+        budget.deposit();
+        budget.deposit();
+        Assertions.assertTrue(budget.tryWithdraw());
+        Assertions.assertFalse(budget.tryWithdraw());
+    }
+
+    private static Response response(int code) {
+        return response(code, null);
+    }
+
+    private static Response response(int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+                .request(GET)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("status " + code);
+
+        if (retryAfter != null) {
+            builder.header("Retry-After", retryAfter);
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,48 @@
+package ee.bitweb.core.trace;
+
+import ee.bitweb.core.trace.context.MDCContextBridge;
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import ee.bitweb.core.trace.invoker.http.HttpServletRequestTraceIdResolver;
+import ee.bitweb.core.trace.invoker.http.TraceIdFilter;
+import ee.bitweb.core.trace.invoker.reactive.TraceIdWebFilter;
+import io.micrometer.context.ContextRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("integration")
+class ReactiveAutoConfigurationTests {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withClassLoader(new FilteredClassLoader("jakarta.servlet"))
+            .withUserConfiguration(TraceIdAutoConfiguration.class)
+            .withPropertyValues("ee.bitweb.core.trace.auto-configuration=true");
+
+    @Test
+    void withoutServletApiShouldCreateOnlyReactiveBeans() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(TraceIdWebFilter.class);
+            assertThat(context).doesNotHaveBean(TraceIdFilter.class);
+            assertThat(context).doesNotHaveBean(HttpServletRequestTraceIdResolver.class);
+        });
+    }
+
+    @Test
+    void mdcContextBridgeShouldBeUninstalledOnContextClose() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(MDCContextBridge.class);
+            assertThat(isRegistered(MDCTraceIdContext.DEFAULT_KEY)).isTrue();
+        });
+
+        assertThat(isRegistered(MDCTraceIdContext.DEFAULT_KEY)).isFalse();
+    }
+
+    private static boolean isRegistered(String key) {
+        return ContextRegistry.getInstance().getThreadLocalAccessors().stream()
+                .anyMatch(accessor -> key.equals(accessor.key()));
+    }
+}
@@ -68,4 +68,55 @@ class MDCTraceIdContextTests {
             mdc.verify(() -> MDC.put("trace_id", "ssas_dsadadbh"));
         }
     }
+
+    @Test
+    @DisplayName("Test exception is not thrown when existing trace id is replaced by its compacted form")
+    void testExceptionNotThrownWhenMDCTraceIdIsCompacted() {
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+
+        try (MockedStatic<MDC> mdc = Mockito.mockStatic(MDC.class)) {
+            mdc.when(() -> MDC.get("trace_id")).thenReturn("root_a_b_c");
+            context.set("root_~1a2b3c4d_c_d");
+
+            mdc.verify(() -> MDC.put("trace_id", "root_~1a2b3c4d_c_d"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test exception is thrown when compacted trace id has a different root")
+    void testExceptionThrownWhenCompactedTraceIdHasDifferentRoot() {
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+
+        try (MockedStatic<MDC> mdc = Mockito.mockStatic(MDC.class)) {
+            mdc.when(() -> MDC.get("trace_id")).thenReturn("root_a_b_c");
+
+            assertThrows(IllegalStateException.class, () -> context.set("other_~1a2b3c4d_c_d"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test exception is thrown when compacted trace id has a shortened root")
+    void testExceptionThrownWhenCompactedTraceIdHasShortenedRoot() {
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+
+        try (MockedStatic<MDC> mdc = Mockito.mockStatic(MDC.class)) {
+            mdc.when(() -> MDC.get("trace_id")).thenReturn("root_a_b_c");
+
+            assertThrows(IllegalStateException.class, () -> context.set("roo_~1a2b3c4d_c_d"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test exception is not thrown when root with one segment is appended beyond maximum length")
+    void testExceptionNotThrownWhenLongRootIsAppended() {
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+        String parent = "0af7651916cd43dd8448eb211c80319c_AbCdEfGhIj";
+
+        try (MockedStatic<MDC> mdc = Mockito.mockStatic(MDC.class)) {
+            mdc.when(() -> MDC.get("trace_id")).thenReturn(parent);
+            context.set(parent + ":thread1234");
+
+            mdc.verify(() -> MDC.put("trace_id", parent + ":thread1234"));
+        }
+    }
 }
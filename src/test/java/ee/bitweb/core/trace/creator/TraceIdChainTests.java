@@ -0,0 +1,87 @@
+package ee.bitweb.core.trace.creator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TraceIdChainTests {
+
+    @Test
+    @DisplayName("Parsed chain must expose root, parent and span")
+    void onParseShouldExposeSegments() {
+        TraceIdChain chain = TraceIdChain.parse("root_a_b_span", '_');
+
+        assertEquals("root", chain.getRoot());
+        assertEquals("b", chain.getParent());
+        assertEquals("span", chain.getSpan());
+        assertEquals(4, chain.getDepth());
+        assertEquals("root_a_b_span", chain.toString());
+    }
+
+    @Test
+    @DisplayName("Root only chain must have no parent")
+    void onRootOnlyShouldHaveNoParent() {
+        TraceIdChain chain = TraceIdChain.parse("root", '_');
+
+        assertNull(chain.getParent());
+        assertEquals("root", chain.getSpan());
+    }
+
+    @Test
+    @DisplayName("Too many segments, must keep root and last segments and hash the rest")
+    void onTooManySegmentsShouldElideMiddle() {
+        String compacted = TraceIdChain.parse("root_a_b_c_d_e", '_').compact(4, null).toString();
+
+        assertTrue(compacted.matches("root_~[0-9a-f]{8}_d_e"), compacted);
+        assertFalse(TraceIdChain.exceeds(compacted, '_', 4, null));
+    }
+
+    @Test
+    @DisplayName("Different elided ancestry, must produce different hash")
+    void onDifferentAncestryShouldProduceDifferentHash() {
+        String first = TraceIdChain.parse("root_a_b_c_d_e", '_').compact(4, null).toString();
+        String second = TraceIdChain.parse("root_x_b_c_d_e", '_').compact(4, null).toString();
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Too long, must elide segments until it fits")
+    void onTooLongShouldElideUntilFits() {
+        String traceId = "root_aaaaaaaaaa_bbbbbbbbbb_cccccccccc_dddddddddd";
+
+        String compacted = TraceIdChain.parse(traceId, '_').compact(null, 30).toString();
+
+        assertTrue(compacted.matches("root_~[0-9a-f]{8}_dddddddddd"), compacted);
+        assertTrue(compacted.length() <= 30);
+    }
+
+    @Test
+    @DisplayName("Root alone does not fit, must keep whole root and elide the middle")
+    void onLongRootShouldKeepRoot() {
+        String root = "r".repeat(100);
+
+        String compacted = TraceIdChain.parse(root + "_aaaaaaaaaa_span", '_').compact(null, 30).toString();
+
+        assertTrue(compacted.matches(root + "_~[0-9a-f]{8}_span"), compacted);
+    }
+
+    @Test
+    @DisplayName("Root and span only, must not change even when too long")
+    void onRootAndSpanOnlyShouldNotChange() {
+        String traceId = "0af7651916cd43dd8448eb211c80319c_AbCdEfGhIj:thread1234";
+
+        assertEquals(traceId, TraceIdChain.parse(traceId, ':').compact(null, 40).toString());
+    }
+
+    @Test
+    @DisplayName("Within limits, must return trace id unchanged")
+    void onWithinLimitsShouldNotChange() {
+        assertFalse(TraceIdChain.exceeds("root_a_b", '_', 3, 10));
+        assertTrue(TraceIdChain.exceeds("root_a_b_c", '_', 3, null));
+        assertEquals("root_a_b", TraceIdChain.parse("root_a_b", '_').compact(3, 10).toString());
+    }
+}
@@ -1,7 +1,9 @@
 package ee.bitweb.core.trace.creator;
 
 import ee.bitweb.core.trace.TraceIdFormConfig;
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
 import ee.bitweb.core.trace.invoker.InvokerTraceIdFormConfig;
+import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
 import ee.bitweb.core.util.StringUtil;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
 
 @Tag("unit")
 @ExtendWith(MockitoExtension.class)
@@ -128,4 +131,84 @@ class TraceIdCreatorImplTests {
             Assertions.assertEquals("inbound-id_MY-PREFIXd4s5da48d7", creator.generate("inbound-id"));
         }
     }
+
+    @Test
+    @DisplayName("Thread local random strategy, inbound and prefix present, must assemble correct trace id")
+    void onThreadLocalRandomStrategyShouldGenerateWithPrefixAndDelimiter() {
+        InvokerTraceIdFormConfig config = new InvokerTraceIdFormConfig();
+        config.setPrefix("MY-PREFIX");
+        config.setStrategy(TraceIdStrategy.THREAD_LOCAL_RANDOM);
+        TraceIdCreator creator = new TraceIdCreatorImpl(config);
+
+        String result = creator.generate("inbound-id");
+
+        Assertions.assertTrue(result.startsWith("inbound-id_MY-PREFIX"));
+        Assertions.assertEquals("inbound-id_".length() + InvokerTraceIdFormConfig.MAX_LENGTH, result.length());
+        Assertions.assertTrue(result.substring("inbound-id_MY-PREFIX".length()).matches("[A-Za-z0-9]+"));
+    }
+
+    @Test
+    @DisplayName("Time ordered strategy, must generate trace ids which sort chronologically")
+    void onTimeOrderedStrategyShouldGenerateChronologicallySortedTraceIds() {
+        char[] earlier = new char[TraceIdCreatorImpl.TIMESTAMP_LENGTH];
+        char[] later = new char[TraceIdCreatorImpl.TIMESTAMP_LENGTH];
+        TraceIdCreatorImpl.writeTimestamp(1_700_000_000_000L, earlier, 0);
+        TraceIdCreatorImpl.writeTimestamp(1_700_000_000_001L, later, 0);
+
+        Assertions.assertTrue(new String(earlier).compareTo(new String(later)) < 0);
+
+        InvokerTraceIdFormConfig config = new InvokerTraceIdFormConfig();
+        config.setStrategy(TraceIdStrategy.TIME_ORDERED);
+        TraceIdCreator creator = new TraceIdCreatorImpl(config);
+
+        long before = System.currentTimeMillis();
+        String result = creator.generate(null);
+
+        char[] minimum = new char[TraceIdCreatorImpl.TIMESTAMP_LENGTH];
+        TraceIdCreatorImpl.writeTimestamp(before, minimum, 0);
+
+        Assertions.assertEquals(InvokerTraceIdFormConfig.MAX_LENGTH, result.length());
+        Assertions.assertTrue(result.substring(0, TraceIdCreatorImpl.TIMESTAMP_LENGTH).compareTo(new String(minimum)) >= 0);
+    }
+
+    @Test
+    @DisplayName("Maximum segments configured, deep inbound trace id must be compacted")
+    void onDeepInboundTraceIdShouldCompact() {
+        InvokerTraceIdFormConfig config = new InvokerTraceIdFormConfig();
+        config.setMaxSegments(4);
+        TraceIdCreator creator = new TraceIdCreatorImpl(config);
+
+        try (MockedStatic<StringUtil> util = Mockito.mockStatic(StringUtil.class)) {
+            util.when(() -> StringUtil.random(InvokerTraceIdFormConfig.MAX_LENGTH)).thenReturn("d4s5da48d7");
+
+            String result = creator.generate("root_a_b_c");
+
+            Assertions.assertTrue(result.matches("root_~[0-9a-f]{8}_c_d4s5da48d7"), result);
+            Assertions.assertEquals("inbound_d4s5da48d7", creator.generate("inbound"));
+        }
+    }
+
+    @Test
+    @DisplayName("Maximum length configured, root with one segment must be kept whole and accepted by context")
+    void onLongRootWithOneSegmentShouldKeepRoot() {
+        ThreadTraceIdFormConfig config = new ThreadTraceIdFormConfig();
+        config.setMaxLength(40);
+        TraceIdCreator creator = new TraceIdCreatorImpl(config);
+        MDCTraceIdContext context = MDCTraceIdContext.standard();
+        String parent = "0af7651916cd43dd8448eb211c80319c_AbCdEfGhIj";
+
+        try (MockedStatic<StringUtil> util = Mockito.mockStatic(StringUtil.class)) {
+            util.when(() -> StringUtil.random(ThreadTraceIdFormConfig.MAX_LENGTH)).thenReturn("thread1234");
+
+            String result = creator.generate(parent);
+
+            Assertions.assertEquals(parent + ":thread1234", result);
+
+            context.set(parent);
+            context.set(result);
+            Assertions.assertEquals(result, context.get());
+        } finally {
+            MDC.clear();
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package ee.bitweb.core.trace.invoker.reactive;
+
+import ee.bitweb.core.trace.invoker.http.TraceIdFilterConfig;
+import ee.bitweb.core.trace.propagation.TracePropagationFormat;
+import ee.bitweb.core.trace.propagation.TracePropagator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Tag("unit")
+class TraceIdWebFilterTests {
+
+    @Test
+    void onMissingInboundTraceIdShouldStoreGeneratedTraceIdInContext() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/this"));
+        AtomicReference<String> traceId = new AtomicReference<>();
+
+        createFilter(new TraceIdFilterConfig()).filter(
+                exchange,
+                e -> Mono.deferContextual(context -> {
+                    traceId.set(TraceIdWebFilter.getTraceId(context));
+
+                    return Mono.empty();
+                })
+        ).block();
+
+        assertEquals("generated", traceId.get());
+        assertEquals("generated", exchange.getResponse().getHeaders().getFirst("X-Trace-ID"));
+    }
+
+    @Test
+    void onInboundTraceIdShouldContinueIt() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/this").header("X-Trace-ID", "inbound")
+        );
+        AtomicReference<String> traceId = new AtomicReference<>();
+
+        createFilter(new TraceIdFilterConfig()).filter(
+                exchange,
+                e -> Mono.deferContextual(context -> {
+                    traceId.set(TraceIdWebFilter.getTraceId(context));
+
+                    return Mono.empty();
+                })
+        ).block();
+
+        assertEquals("inbound_generated", traceId.get());
+        assertEquals("inbound_generated", exchange.getResponse().getHeaders().getFirst("X-Trace-ID"));
+    }
+
+    @Test
+    void onSampledOutW3CTraceShouldStoreTraceFlagsInContext() {
+        TraceIdFilterConfig config = new TraceIdFilterConfig();
+        config.setPropagation(List.of(TracePropagationFormat.W3C));
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/this")
+                        .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00")
+        );
+        AtomicReference<String> flags = new AtomicReference<>();
+
+        createFilter(config).filter(
+                exchange,
+                e -> Mono.deferContextual(context -> {
+                    flags.set(context.getOrDefault(TracePropagator.TRACE_FLAGS_KEY, null));
+
+                    return Mono.empty();
+                })
+        ).block();
+
+        assertEquals("00", flags.get());
+    }
+
+    @Test
+    void contextShouldNotLeakOutsideOfFilter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/this"));
+
+        String outside = createFilter(new TraceIdFilterConfig())
+                .filter(exchange, e -> Mono.empty())
+                .then(Mono.deferContextual(context -> Mono.justOrEmpty(TraceIdWebFilter.getTraceId(context))))
+                .block();
+
+        assertNull(outside);
+    }
+
+    private static TraceIdWebFilter createFilter(TraceIdFilterConfig config) {
+        return new TraceIdWebFilter(
+                config,
+                traceId -> traceId == null ? "generated" : traceId + "_generated"
+        );
+    }
+}
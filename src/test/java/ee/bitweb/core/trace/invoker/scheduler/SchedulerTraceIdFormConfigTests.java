@@ -1,6 +1,7 @@
 package ee.bitweb.core.trace.invoker.scheduler;
 
 import ee.bitweb.core.trace.TraceIdFormConfig;
+import ee.bitweb.core.trace.creator.TraceIdStrategy;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -89,6 +90,21 @@ class SchedulerTraceIdFormConfigTests {
         assertEquals("AssertTrue", getValidatorName(errors.get(0)));
     }
 
+    @Test
+    void onTimeOrderedStrategyWithoutRoomForRandomPartShouldNotBeValid() {
+        SchedulerTraceIdFormConfig config = new SchedulerTraceIdFormConfig();
+        config.setStrategy(TraceIdStrategy.TIME_ORDERED);
+        config.setLength(10);
+        config.setPrefix("ABC");
+
+        List<ConstraintViolation<SchedulerTraceIdFormConfig>> errors = new ArrayList<>(validator.validate(config));
+
+        assertEquals(1, errors.size());
+        assertEquals("time ordered trace id must be longer than prefix and timestamp", errors.get(0).getMessage());
+        assertEquals("validStrategyLength", getPropertyName(errors.get(0)));
+        assertEquals("AssertTrue", getValidatorName(errors.get(0)));
+    }
+
     private String getPropertyName(ConstraintViolation<?> error) {
         return error.getPropertyPath().toString();
     }
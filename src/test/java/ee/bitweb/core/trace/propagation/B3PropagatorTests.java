@@ -0,0 +1,96 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class B3PropagatorTests {
+
+    private static final String TRACE_ID = "80f198ee56343ba864fe8b2a57d3eff7";
+    private static final String SHORT_TRACE_ID = "a3ce929d0e0e4736";
+
+    private final MDCTraceIdContext context = MDCTraceIdContext.standard();
+
+    @AfterEach
+    void afterEach() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Single b3 header, must return trace id and record sampling decision")
+    void onSingleHeaderShouldExtractTraceId() {
+        Map<String, String> headers = Map.of("b3", TRACE_ID + "-e457b5a2e4d86bd1-0-05e3ac9a4f6e3b90");
+
+        assertEquals(TRACE_ID, new B3Propagator(false).extract(headers::get, context));
+        assertEquals("00", context.get(TracePropagator.TRACE_FLAGS_KEY));
+    }
+
+    @Test
+    @DisplayName("Multi b3 headers with 64-bit trace id, must return trace id")
+    void onMultiHeadersShouldExtractTraceId() {
+        Map<String, String> headers = Map.of(
+                "X-B3-TraceId", SHORT_TRACE_ID,
+                "X-B3-SpanId", "e457b5a2e4d86bd1",
+                "X-B3-Sampled", "1"
+        );
+
+        assertEquals(SHORT_TRACE_ID, new B3Propagator(true).extract(headers::get, context));
+        assertNull(context.get(TracePropagator.TRACE_FLAGS_KEY));
+    }
+
+    @Test
+    @DisplayName("Malformed b3 headers, must be ignored")
+    void onMalformedHeadersShouldReturnNull() {
+        B3Propagator propagator = new B3Propagator(false);
+
+        assertNull(propagator.extract(Map.of("b3", "0")::get, context));
+        assertNull(propagator.extract(Map.of("b3", TRACE_ID + "-e457b5a2")::get, context));
+        assertNull(propagator.extract(Map.of("X-B3-TraceId", "not-a-trace-id")::get, context));
+        assertNull(propagator.extract(Map.<String, String>of()::get, context));
+    }
+
+    @Test
+    @DisplayName("64-bit inbound trace id, must be written back padded to 128 bits")
+    void onShortTraceIdShouldInjectPaddedTraceId() {
+        context.set(SHORT_TRACE_ID + "_abcdefghij");
+
+        Map<String, String> multi = new HashMap<>();
+        new B3Propagator(false).inject(context, multi::put);
+        Map<String, String> single = new HashMap<>();
+        new B3Propagator(true).inject(context, single::put);
+
+        assertEquals("0000000000000000" + SHORT_TRACE_ID, multi.get("X-B3-TraceId"));
+        assertEquals(16, multi.get("X-B3-SpanId").length());
+        assertEquals("1", multi.get("X-B3-Sampled"));
+        assertTrue(single.get("b3").matches("0{16}" + SHORT_TRACE_ID + "-[0-9a-f]{16}-1"));
+    }
+
+    @Test
+    @DisplayName("Composite propagator, must extract with first present format and inject all")
+    void onCompositePropagatorShouldPreferConfiguredOrder() {
+        TracePropagator propagator = TracePropagator.of(
+                List.of(TracePropagationFormat.X_TRACE_ID, TracePropagationFormat.B3),
+                "X-Trace-ID"
+        );
+
+        assertEquals(TRACE_ID, propagator.extract(Map.of("X-B3-TraceId", TRACE_ID)::get, context));
+        assertEquals("own-id", propagator.extract(Map.of("X-B3-TraceId", TRACE_ID, "X-Trace-ID", "own-id")::get, context));
+
+        context.set("own-id");
+        Map<String, String> outbound = new HashMap<>();
+        propagator.inject(context, outbound::put);
+
+        assertEquals("own-id", outbound.get("X-Trace-ID"));
+        assertEquals(32, outbound.get("X-B3-TraceId").length());
+    }
+}
@@ -0,0 +1,115 @@
+package ee.bitweb.core.trace.propagation;
+
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class W3CTraceContextPropagatorTests {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final MDCTraceIdContext context = MDCTraceIdContext.standard();
+    private final W3CTraceContextPropagator propagator = new W3CTraceContextPropagator();
+
+    @AfterEach
+    void afterEach() {
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Valid traceparent, must return trace-id part")
+    void onValidTraceparentShouldExtractTraceId() {
+        Map<String, String> headers = Map.of("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+
+        assertEquals(TRACE_ID, propagator.extract(headers::get, context));
+        assertNull(context.get(TracePropagator.TRACE_FLAGS_KEY));
+    }
+
+    @Test
+    @DisplayName("Malformed traceparent, must be ignored")
+    void onMalformedTraceparentShouldReturnNull() {
+        assertNull(extract("00-" + TRACE_ID + "-00f067aa0ba902b7-0"));
+        assertNull(extract("00-" + TRACE_ID.toUpperCase() + "-00f067aa0ba902b7-01"));
+        assertNull(extract("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(extract("00-" + TRACE_ID + "-0000000000000000-01"));
+        assertNull(extract("ff-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+        assertNull(extract("00-" + TRACE_ID + "-00f067aa0ba902b7-01-extra"));
+        assertNull(extract("00_" + TRACE_ID + "-00f067aa0ba902b7-01"));
+        assertNull(extract(null));
+    }
+
+    @Test
+    @DisplayName("Future version with additional fields, must return trace-id part")
+    void onFutureVersionShouldAcceptAdditionalFields() {
+        assertEquals(TRACE_ID, extract("01-" + TRACE_ID + "-00f067aa0ba902b7-01-extra"));
+    }
+
+    @Test
+    @DisplayName("Not sampled trace with tracestate, must carry both to outbound traceparent")
+    void onNotSampledTraceShouldPropagateFlagsAndTracestate() {
+        Map<String, String> inbound = Map.of(
+                "traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-00",
+                "tracestate", "congo=t61rcWkgMzE"
+        );
+        context.set(propagator.extract(inbound::get, context) + "_abcdefghij");
+
+        Map<String, String> outbound = new HashMap<>();
+        propagator.inject(context, outbound::put);
+
+        String traceparent = outbound.get("traceparent");
+        assertTrue(W3CTraceContextPropagator.isValid(traceparent));
+        assertTrue(traceparent.startsWith("00-" + TRACE_ID + "-"));
+        assertTrue(traceparent.endsWith("-00"));
+        assertNotEquals("00f067aa0ba902b7", traceparent.substring(36, 52));
+        assertEquals("congo=t61rcWkgMzE", outbound.get("tracestate"));
+    }
+
+    @Test
+    @DisplayName("Locally created trace id, must derive the same W3C trace id on every hop")
+    void onLocalTraceIdShouldDeriveStableTraceId() {
+        context.set("AbCdEfGhIj0123456789");
+        Map<String, String> first = new HashMap<>();
+        propagator.inject(context, first::put);
+
+        context.set("AbCdEfGhIj0123456789_klmnopqrst");
+        Map<String, String> second = new HashMap<>();
+        propagator.inject(context, second::put);
+
+        assertTrue(W3CTraceContextPropagator.isValid(first.get("traceparent")));
+        assertTrue(first.get("traceparent").endsWith("-01"));
+        assertEquals(first.get("traceparent").substring(3, 35), second.get("traceparent").substring(3, 35));
+        assertFalse(second.containsKey("tracestate"));
+    }
+
+    @Test
+    @DisplayName("Configured delimiters, must derive trace id from the segment before the first delimiter")
+    void onConfiguredDelimitersShouldSplitRootOnThem() {
+        W3CTraceContextPropagator custom = new W3CTraceContextPropagator(new char[]{'-', '/'});
+
+        context.set("AbCdEfGhIj");
+        Map<String, String> first = new HashMap<>();
+        custom.inject(context, first::put);
+
+        context.set("AbCdEfGhIj-klmnopqrst/thread");
+        Map<String, String> second = new HashMap<>();
+        custom.inject(context, second::put);
+
+        assertEquals(first.get("traceparent").substring(3, 35), second.get("traceparent").substring(3, 35));
+    }
+
+    private String extract(String traceparent) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("traceparent", traceparent);
+
+        return propagator.extract(headers::get, context);
+    }
+}
@@ -61,4 +61,14 @@ class BasicMDCTaskDecoratorTest {
 
         Mockito.verifyNoMoreInteractions(resolver);
     }
+
+    @Test
+    void onChildTraceIdsDisabledShouldKeepExistingTraceId() {
+        Mockito.when(resolver.resolveIfAbsent()).thenReturn(null);
+
+        new BasicMDCTaskDecorator(resolver, false).decorate(() -> {}).run();
+
+        Mockito.verify(resolver, Mockito.never()).resolve();
+        Mockito.verify(resolver).resolveIfAbsent();
+    }
 }
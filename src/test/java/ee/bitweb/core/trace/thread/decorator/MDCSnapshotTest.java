@@ -0,0 +1,67 @@
+package ee.bitweb.core.trace.thread.decorator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class MDCSnapshotTest {
+
+    @AfterEach
+    void afterEach() {
+        MDC.clear();
+    }
+
+    @Test
+    void testUnchangedContextIsSharedBetweenSnapshots() {
+        MDC.put("trace_id", "root");
+
+        MDCSnapshot first = MDCSnapshot.capture();
+        MDCSnapshot second = MDCSnapshot.capture();
+
+        assertSame(first.getContextMap(), second.getContextMap());
+
+        MDC.put("custom-key", "custom-value");
+        MDCSnapshot third = MDCSnapshot.capture();
+
+        assertNotSame(first.getContextMap(), third.getContextMap());
+        assertNull(first.get("custom-key"));
+        assertEquals("custom-value", third.get("custom-key"));
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        MDC.put("trace_id", "root");
+
+        MDCSnapshot snapshot = MDCSnapshot.capture();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getContextMap().put("key", "value"));
+    }
+
+    @Test
+    void testInstallReplacesContext() {
+        MDC.put("trace_id", "root");
+        MDCSnapshot snapshot = MDCSnapshot.capture();
+        MDC.clear();
+        MDC.put("other", "value");
+
+        snapshot.install();
+
+        assertEquals("root", MDC.get("trace_id"));
+        assertNull(MDC.get("other"));
+    }
+
+    @Test
+    void testEmptyContextCapturesEmptySnapshot() {
+        MDCSnapshot snapshot = MDCSnapshot.capture();
+
+        assertTrue(snapshot.isEmpty());
+
+        snapshot.install();
+
+        assertNotNull(MDC.getCopyOfContextMap());
+    }
+}
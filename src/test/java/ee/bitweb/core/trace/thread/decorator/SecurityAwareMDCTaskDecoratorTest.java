@@ -82,4 +82,14 @@ class SecurityAwareMDCTaskDecoratorTest {
 
         Mockito.verifyNoMoreInteractions(resolver);
     }
+
+    @Test
+    void onChildTraceIdsDisabledShouldKeepExistingTraceId() {
+        Mockito.when(resolver.resolveIfAbsent()).thenReturn(null);
+
+        new SecurityAwareMDCTaskDecorator(resolver, false).decorate(() -> {}).run();
+
+        Mockito.verify(resolver, Mockito.never()).resolve();
+        Mockito.verify(resolver).resolveIfAbsent();
+    }
 }
@@ -0,0 +1,97 @@
+package ee.bitweb.core.trace.thread.decorator;
+
+import ee.bitweb.core.trace.context.MDCTraceIdContext;
+import ee.bitweb.core.trace.creator.TraceIdCreatorImpl;
+import ee.bitweb.core.trace.thread.ThreadTraceIdFormConfig;
+import ee.bitweb.core.trace.thread.ThreadTraceIdResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("unit")
+class TraceIdTaskWrapperTest {
+
+    private final TraceIdTaskWrapper wrapper = new TraceIdTaskWrapper(
+            new ThreadTraceIdResolver(
+                    MDCTraceIdContext.standard(),
+                    new TraceIdCreatorImpl(new ThreadTraceIdFormConfig())
+            )
+    );
+
+    @AfterEach
+    void afterEach() {
+        MDC.clear();
+    }
+
+    @Test
+    void testTaskRunsWithSubmittingThreadContextAndNewSegment() throws Exception {
+        MDC.put("trace_id", "root");
+        MDC.put("custom-key", "custom-value");
+
+        ExecutorService executor = wrapper.decorate(Executors.newSingleThreadExecutor());
+        try {
+            Callable<String> task = () -> MDC.get("custom-key") + "|" + MDC.get("trace_id");
+            String result = executor.submit(task).get(5, TimeUnit.SECONDS);
+
+            assertTrue(result.startsWith("custom-value|root:"), result);
+
+            Callable<String> leftover = () -> String.valueOf(MDC.get("custom-key"));
+            MDC.clear();
+
+            assertEquals("null", executor.invokeAll(List.of(leftover)).get(0).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPreviousContextIsRestoredWhenTaskRunsOnSameThread() {
+        MDC.put("trace_id", "root");
+        Runnable task = wrapper.wrap((Runnable) () -> {
+            MDC.put("task-key", "task-value");
+            assertTrue(MDC.get("trace_id").startsWith("root:"));
+        });
+
+        MDC.put("caller-key", "caller-value");
+        task.run();
+
+        assertEquals("root", MDC.get("trace_id"));
+        assertEquals("caller-value", MDC.get("caller-key"));
+        assertNull(MDC.get("task-key"));
+    }
+
+    @Test
+    void testCompletableFutureRunsWithContext() throws Exception {
+        MDC.put("trace_id", "root");
+
+        String result = wrapper.supplyAsync(() -> MDC.get("trace_id"), ForkJoinPool.commonPool())
+                .get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.startsWith("root:"), result);
+    }
+
+    @Test
+    void testChildTraceIdIsNotCreatedWhenDisabled() {
+        TraceIdTaskWrapper sharing = new TraceIdTaskWrapper(
+                new ThreadTraceIdResolver(
+                        MDCTraceIdContext.standard(),
+                        new TraceIdCreatorImpl(new ThreadTraceIdFormConfig())
+                ),
+                false
+        );
+
+        MDC.put("trace_id", "root");
+        Runnable withTraceId = sharing.wrap((Runnable) () -> assertEquals("root", MDC.get("trace_id")));
+        withTraceId.run();
+
+        MDC.clear();
+        Runnable withoutTraceId = sharing.wrap((Runnable) () -> assertNotNull(MDC.get("trace_id")));
+        withoutTraceId.run();
+    }
+}
@@ -286,4 +286,59 @@ class HttpForwardedHeaderParserTest {
                 () -> assertEquals(0, result.getExtensions().size(), "'extensions' does not have correct number of elements")
         );
     }
+
+    @Test
+    @DisplayName("Given quoted values with separators and escapes should keep them in the value")
+    void testParseQuotedValues() {
+        ForwardedHeader result = HttpForwardedHeaderParser.parse(
+                "for=\"[2001:db8:cafe::17]:4711\";note=\"a;b,c=d\";quote=\"say \\\"hi\\\"\", for=10.1.2.3"
+        );
+
+        assertAll(
+                () -> assertEquals(List.of("[2001:db8:cafe::17]:4711", "10.1.2.3"), result.getAFor()),
+                () -> assertEquals(2, result.getExtensions().size(), "'extensions' does not have correct number of elements"),
+                () -> assertEquals("note=a;b,c=d", result.getExtensions().get(0).toString(), "'extensions[0]' is not correct"),
+                () -> assertEquals("quote=say \"hi\"", result.getExtensions().get(1).toString(), "'extensions[1]' is not correct"),
+                () -> assertEquals(0, memoryAppender.getSize())
+        );
+    }
+
+    @Test
+    @DisplayName("Given whitespace and empty pairs should ignore them")
+    void testParseWhitespaceAndEmptyPairs() {
+        ForwardedHeader result = HttpForwardedHeaderParser.parse(" for=192.0.2.43 ; proto=https;; , ,for=10.1.2.3");
+
+        assertAll(
+                () -> assertEquals(List.of("192.0.2.43", "10.1.2.3"), result.getAFor()),
+                () -> assertEquals(List.of("https"), result.getProto()),
+                () -> assertEquals(0, memoryAppender.getSize())
+        );
+    }
+
+    @Test
+    @DisplayName("Given same header twice should return separate results and log invalid parameters both times")
+    void testParseSameHeaderTwice() {
+        String header = "for=192.0.2.43;by=";
+
+        ForwardedHeader first = HttpForwardedHeaderParser.parse(header);
+        ForwardedHeader second = HttpForwardedHeaderParser.parse(header);
+        first.setFor(List.of("changed"));
+
+        assertAll(
+                () -> assertNotSame(first, second),
+                () -> assertEquals(List.of("192.0.2.43"), second.getAFor()),
+                () -> assertEquals(2, memoryAppender.search("'by=' is not recognisable", Level.DEBUG).size())
+        );
+    }
+
+    @Test
+    @DisplayName("Given single header with repeated values should remove duplicates like merge does")
+    void testParseEnumerationRemovesDuplicates() {
+        ForwardedHeader result = HttpForwardedHeaderParser.parse(Collections.enumeration(List.of(
+                "for=192.0.2.43, for=192.0.2.43;proto=https"
+        )));
+
+        assertEquals(List.of("192.0.2.43"), result.getAFor());
+        assertEquals(List.of("https"), result.getProto());
+    }
 }
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @Tag("unit")
@@ -76,5 +79,26 @@ class StringUtilTest {
                 assertEquals(30, StringUtil.random(30).length());
             }
         }
+
+        @Test
+        @DisplayName("generates alphanumeric characters only with any generator")
+        void generatesAlphanumericCharacters() {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(StringUtil.random(30).matches("[A-Za-z0-9]{30}"));
+                assertTrue(StringUtil.random(30, ThreadLocalRandom.current()).matches("[A-Za-z0-9]{30}"));
+            }
+        }
+
+        @Test
+        @DisplayName("fills only the requested range of target array")
+        void fillsRequestedRange() {
+            char[] target = "xxxxxxxxxx".toCharArray();
+
+            StringUtil.random(target, 2, 5, new SplittableRandom(1));
+
+            assertEquals("xx", new String(target, 0, 2));
+            assertEquals("xxx", new String(target, 7, 3));
+            assertTrue(new String(target, 2, 5).matches("[A-Za-z0-9]{5}"));
+        }
     }
 }